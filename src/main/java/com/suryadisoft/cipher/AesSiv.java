@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher;
+
+import com.suryadisoft.cipher.exception.CipherException;
+
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * <code>AesSiv</code> is a deterministic authenticated encryption implementation of AES-SIV (RFC 5297). The same
+ * plain text and associated data always give the same cipher text, which is the synthetic iv computed by S2V over
+ * AES-CMAC followed by the AES-CTR encryption of the plain text:
+ * <pre>
+ *     siv (16) | AES-CTR(plain text)
+ * </pre>
+ * The key is 32, 48 or 64 bytes, its first half keys the CMAC and its second half keys the CTR encryption. Every
+ * thread reuses its own ciphers initialized with the same keys.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class AesSiv {
+
+    private static final int BLOCK_SIZE = 16;
+    private static final byte[] ZERO_BLOCK = new byte[BLOCK_SIZE];
+
+    private final SecretKeySpec macKey;
+    private final SecretKeySpec ctrKey;
+    private final byte[] subKey1;
+    private final byte[] subKey2;
+    private final ThreadLocal<javax.crypto.Cipher> macCiphers = ThreadLocal.withInitial(this::newMacCipher);
+    private final ThreadLocal<javax.crypto.Cipher> ctrCiphers = ThreadLocal.withInitial(() -> newCipher("AES/CTR/NoPadding"));
+
+    /**
+     * Creates an instance of {@link AesSiv} for a given key.
+     *
+     * @param key 32, 48 or 64 bytes key
+     */
+    public AesSiv(final byte[] key) {
+        if (key.length != 32 && key.length != 48 && key.length != 64) {
+            throw new CipherException("AES-SIV key must be 32, 48 or 64 bytes!");
+        }
+        this.macKey = new SecretKeySpec(key, 0, key.length / 2, "AES");
+        this.ctrKey = new SecretKeySpec(key, key.length / 2, key.length / 2, "AES");
+        // CMAC sub keys
+        this.subKey1 = dbl(encryptBlock(ZERO_BLOCK));
+        this.subKey2 = dbl(this.subKey1);
+    }
+
+    /**
+     * Encrypts the plain text with the associated data.
+     *
+     * @param plainText      Plain text
+     * @param associatedData Associated data authenticated with the plain text
+     * @return Synthetic iv followed by the cipher text
+     */
+    public byte[] encrypt(final byte[] plainText, final byte[]... associatedData) {
+        final byte[] siv = s2v(plainText, associatedData);
+        final byte[] cipherText = Arrays.copyOf(siv, BLOCK_SIZE + plainText.length);
+        ctr(siv, plainText, 0, plainText.length, cipherText, BLOCK_SIZE);
+        return cipherText;
+    }
+
+    /**
+     * Decrypts and authenticates the cipher text with the associated data.
+     *
+     * @param cipherText     Synthetic iv followed by the cipher text
+     * @param associatedData Associated data authenticated with the plain text
+     * @return Plain text
+     */
+    public byte[] decrypt(final byte[] cipherText, final byte[]... associatedData) {
+        if (cipherText.length < BLOCK_SIZE) {
+            throw new CipherException("Invalid AES-SIV cipher text!");
+        }
+        final byte[] siv = Arrays.copyOf(cipherText, BLOCK_SIZE);
+        final byte[] plainText = new byte[cipherText.length - BLOCK_SIZE];
+        ctr(siv, cipherText, BLOCK_SIZE, plainText.length, plainText, 0);
+        if (!MessageDigest.isEqual(siv, s2v(plainText, associatedData))) {
+            Arrays.fill(plainText, (byte) 0);
+            throw new CipherException("AES-SIV authentication failed!");
+        }
+        return plainText;
+    }
+
+    /**
+     * Computes the synthetic iv of the plain text and associated data.
+     */
+    private byte[] s2v(final byte[] plainText, final byte[]... associatedData) {
+        byte[] d = cmac(ZERO_BLOCK);
+        for (final byte[] data : associatedData) {
+            d = xor(dbl(d), cmac(data));
+        }
+        final byte[] t;
+        if (plainText.length >= BLOCK_SIZE) {
+            // xor the last block of the plain text with d
+            t = plainText.clone();
+            final int offset = t.length - BLOCK_SIZE;
+            for (int i = 0; i < BLOCK_SIZE; i++) {
+                t[offset + i] ^= d[i];
+            }
+        } else {
+            t = xor(dbl(d), pad(plainText));
+        }
+        return cmac(t);
+    }
+
+    /**
+     * Computes the AES-CMAC (RFC 4493) of the message.
+     */
+    private byte[] cmac(final byte[] message) {
+        final int blocks = Math.max(1, (message.length + BLOCK_SIZE - 1) / BLOCK_SIZE);
+        final boolean complete = message.length > 0 && message.length % BLOCK_SIZE == 0;
+        final byte[] lastBlock = complete ? Arrays.copyOfRange(message, message.length - BLOCK_SIZE, message.length)
+                : pad(Arrays.copyOfRange(message, (blocks - 1) * BLOCK_SIZE, message.length));
+        final byte[] subKey = complete ? this.subKey1 : this.subKey2;
+        final byte[] x = new byte[BLOCK_SIZE];
+        try {
+            final javax.crypto.Cipher cipher = this.macCiphers.get();
+            for (int block = 0; block < blocks - 1; block++) {
+                for (int i = 0; i < BLOCK_SIZE; i++) {
+                    x[i] ^= message[block * BLOCK_SIZE + i];
+                }
+                cipher.doFinal(x, 0, BLOCK_SIZE, x, 0);
+            }
+            for (int i = 0; i < BLOCK_SIZE; i++) {
+                x[i] ^= lastBlock[i] ^ subKey[i];
+            }
+            cipher.doFinal(x, 0, BLOCK_SIZE, x, 0);
+            return x;
+        } catch (GeneralSecurityException e) {
+            throw new CipherException(e.getMessage(), e);
+        }
+    }
+
+    private void ctr(final byte[] siv, final byte[] input, final int inputOffset, final int length,
+                     final byte[] output, final int outputOffset) {
+        // Clear the 31st and 63rd bits of the counter
+        final byte[] counter = siv.clone();
+        counter[8] &= 0x7f;
+        counter[12] &= 0x7f;
+        try {
+            final javax.crypto.Cipher cipher = this.ctrCiphers.get();
+            cipher.init(javax.crypto.Cipher.ENCRYPT_MODE, this.ctrKey, new IvParameterSpec(counter));
+            cipher.doFinal(input, inputOffset, length, output, outputOffset);
+        } catch (GeneralSecurityException e) {
+            throw new CipherException(e.getMessage(), e);
+        }
+    }
+
+    private byte[] encryptBlock(final byte[] block) {
+        try {
+            return this.macCiphers.get().doFinal(block);
+        } catch (GeneralSecurityException e) {
+            throw new CipherException(e.getMessage(), e);
+        }
+    }
+
+    private javax.crypto.Cipher newMacCipher() {
+        final javax.crypto.Cipher cipher = newCipher("AES/ECB/NoPadding");
+        try {
+            cipher.init(javax.crypto.Cipher.ENCRYPT_MODE, this.macKey);
+            return cipher;
+        } catch (GeneralSecurityException e) {
+            throw new CipherException(e.getMessage(), e);
+        }
+    }
+
+    private static javax.crypto.Cipher newCipher(final String transformation) {
+        try {
+            return javax.crypto.Cipher.getInstance(transformation);
+        } catch (GeneralSecurityException e) {
+            throw new CipherException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Doubles the block in GF(2^128).
+     */
+    private static byte[] dbl(final byte[] block) {
+        final byte[] result = new byte[BLOCK_SIZE];
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            result[i] = (byte) ((block[i] << 1) | (i + 1 < BLOCK_SIZE ? (block[i + 1] & 0xff) >>> 7 : 0));
+        }
+        if ((block[0] & 0x80) != 0) {
+            result[BLOCK_SIZE - 1] ^= (byte) 0x87;
+        }
+        return result;
+    }
+
+    private static byte[] xor(final byte[] a, final byte[] b) {
+        final byte[] result = new byte[BLOCK_SIZE];
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            result[i] = (byte) (a[i] ^ b[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Pads an incomplete block with a single 1 bit followed by 0 bits.
+     */
+    private static byte[] pad(final byte[] bytes) {
+        final byte[] block = Arrays.copyOf(bytes, BLOCK_SIZE);
+        block[bytes.length] = (byte) 0x80;
+        return block;
+    }
+}
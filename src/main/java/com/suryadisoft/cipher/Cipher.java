@@ -14,6 +14,11 @@ package com.suryadisoft.cipher;
 
 import com.suryadisoft.cipher.data.CipherData;
 import com.suryadisoft.cipher.data.CipherKey;
+import com.suryadisoft.cipher.exception.CipherException;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
 
 /**
  * <code>Cipher</code> is an envelope encryption interface for encrypting plain text and decrypting encrypted text
@@ -43,6 +48,38 @@ public interface Cipher {
      */
     CipherData encrypt(final byte[] unencryptedData, final CipherKey cipherKey);
 
+    /**
+     * Encrypt a bytes array value with a new data key, authenticating associated data that is not encrypted.
+     *
+     * @param unencryptedData Unencrypted bytes array data
+     * @param associatedData Authenticated associated data, or <code>null</code>
+     *
+     * @return {@link CipherData} instance
+     */
+    default CipherData encrypt(final byte[] unencryptedData, final byte[] associatedData) {
+        if (associatedData != null) {
+            throw new CipherException("Associated data is not supported by this cipher");
+        }
+        return encrypt(unencryptedData);
+    }
+
+    /**
+     * Encrypt a bytes array value with a given {@link CipherKey}, authenticating associated data that is not
+     * encrypted.
+     *
+     * @param unencryptedData Unencrypted bytes array data
+     * @param cipherKey {@link CipherKey} instance
+     * @param associatedData Authenticated associated data, or <code>null</code>
+     *
+     * @return {@link CipherData} instance
+     */
+    default CipherData encrypt(final byte[] unencryptedData, final CipherKey cipherKey, final byte[] associatedData) {
+        if (associatedData != null) {
+            throw new CipherException("Associated data is not supported by this cipher");
+        }
+        return encrypt(unencryptedData, cipherKey);
+    }
+
     /**
      * Decrypt a given {@link CipherData} instance.
      *
@@ -52,6 +89,33 @@ public interface Cipher {
      */
     byte[] decrypt(final CipherData cipherData);
 
+    /**
+     * Decrypt a given {@link CipherData} instance, authenticating the associated data it was encrypted with.
+     *
+     * @param cipherData {@link CipherData} instance
+     * @param associatedData Authenticated associated data, or <code>null</code>
+     *
+     * @return Decrypted {@link CipherData} instance in bytes array
+     */
+    default byte[] decrypt(final CipherData cipherData, final byte[] associatedData) {
+        if (associatedData != null) {
+            throw new CipherException("Associated data is not supported by this cipher");
+        }
+        return decrypt(cipherData);
+    }
+
+    /**
+     * Create a cipher initialized to decrypt the texts encrypted with a given {@link CipherKey}. The cipher can
+     * decrypt any number of texts one after the other, but it must not be shared by concurrent threads.
+     *
+     * @param cipherKey {@link CipherKey} instance
+     *
+     * @return Initialized cipher, or <code>null</code> if this implementation does not support it
+     */
+    default javax.crypto.Cipher decryptor(final CipherKey cipherKey) {
+        return null;
+    }
+
     /**
      * Create a hash string of a given plaintext and salt.
      *
@@ -62,4 +126,40 @@ public interface Cipher {
      */
     String hash(final String plaintext, final String salt);
 
+    /**
+     * Create the hash strings of given plaintexts with the same salt.
+     *
+     * @param plaintexts Plain text values
+     * @param salt Salt string
+     *
+     * @return Hash strings, in the order of the plaintexts
+     */
+    default List<String> hashAll(final List<String> plaintexts, final String salt) {
+        return plaintexts.stream().map(plaintext -> hash(plaintext, salt)).toList();
+    }
+
+    /**
+     * Create a hash string of the remaining bytes of a given buffer and salt.
+     *
+     * @param buffer Bytes buffer
+     * @param salt Salt string
+     *
+     * @return Hash string
+     */
+    default String hash(final ByteBuffer buffer, final String salt) {
+        throw new CipherException("Buffer hashing is not supported by this cipher");
+    }
+
+    /**
+     * Create a hash string of the content of a given file and salt.
+     *
+     * @param file File path
+     * @param salt Salt string
+     *
+     * @return Hash string
+     */
+    default String hash(final Path file, final String salt) {
+        throw new CipherException("File hashing is not supported by this cipher");
+    }
+
 }
@@ -15,8 +15,10 @@ import javax.crypto.BadPaddingException;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
 import javax.crypto.spec.GCMParameterSpec;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.security.*;
+import java.util.List;
 
 /**
  * <code>CipherImpl</code> is a default {@link Cipher} interface implementation.
@@ -27,12 +29,13 @@ import java.security.*;
 public class CipherImpl implements Cipher {
 
     private final CipherConfig config;
+    private final HashEngine hashEngine;
 
     /**
      * Creates a new instance of {@link CipherImpl}.
      */
     public CipherImpl() {
-        this.config = new CipherConfig();
+        this(new CipherConfig());
     }
 
     /**
@@ -40,21 +43,35 @@ public class CipherImpl implements Cipher {
      */
     public CipherImpl(final CipherConfig config) {
         this.config = config;
+        this.hashEngine = new HashEngine(config.hashAlgorithm());
     }
 
     @Override
     public CipherData encrypt(final byte[] unencryptedData) {
-        final CipherKey key = CipherKey.valueOf(CipherUtil.generateNewKey(this.config.algorithm()));
-        return encrypt(unencryptedData, key);
+        return encrypt(unencryptedData, (byte[]) null);
     }
 
     @Override
     public CipherData encrypt(final byte[] unencryptedData, final CipherKey cipherKey) {
+        return encrypt(unencryptedData, cipherKey, null);
+    }
+
+    @Override
+    public CipherData encrypt(final byte[] unencryptedData, final byte[] associatedData) {
+        final CipherKey key = CipherKey.valueOf(CipherUtil.generateNewKey(this.config.algorithm()));
+        return encrypt(unencryptedData, key, associatedData);
+    }
+
+    @Override
+    public CipherData encrypt(final byte[] unencryptedData, final CipherKey cipherKey, final byte[] associatedData) {
         try {
             final javax.crypto.Cipher cipher = javax.crypto.Cipher.getInstance(this.config.transformation());
             final GCMParameterSpec ivspec = new GCMParameterSpec(128, cipherKey.iv());
             final Key dataKey = KeyGenerator.createDataKey(cipherKey.dataKey(), this.config.algorithm());
             cipher.init(javax.crypto.Cipher.ENCRYPT_MODE, dataKey, ivspec);
+            if (associatedData != null) {
+                cipher.updateAAD(associatedData);
+            }
             final byte[] ciphertext = cipher.doFinal(unencryptedData);
 
             return new CipherData(cipherKey, ciphertext);
@@ -66,6 +83,11 @@ public class CipherImpl implements Cipher {
 
     @Override
     public byte[] decrypt(final CipherData cipherData) {
+        return decrypt(cipherData, null);
+    }
+
+    @Override
+    public byte[] decrypt(final CipherData cipherData, final byte[] associatedData) {
         try {
             final CipherKey key = cipherData.dataKey();
             final javax.crypto.Cipher cipher = javax.crypto.Cipher.getInstance(this.config.transformation());
@@ -73,6 +95,9 @@ public class CipherImpl implements Cipher {
             final GCMParameterSpec ivspec = new GCMParameterSpec(128, iv);
             final Key dataKey = KeyGenerator.createDataKey(key.dataKey(), this.config.algorithm());
             cipher.init(javax.crypto.Cipher.DECRYPT_MODE, dataKey, ivspec);
+            if (associatedData != null) {
+                cipher.updateAAD(associatedData);
+            }
 
             return cipher.doFinal(cipherData.cipherText());
         } catch (NoSuchAlgorithmException | NoSuchPaddingException | InvalidKeyException
@@ -82,17 +107,38 @@ public class CipherImpl implements Cipher {
     }
 
     @Override
-    public String hash(final String plaintext, final String salt) {
+    public javax.crypto.Cipher decryptor(final CipherKey cipherKey) {
         try {
-            final MessageDigest digest = MessageDigest.getInstance(this.config.hashAlgorithm());
-            digest.update(Base64.decodeBase64(salt));
-            final byte[] hashbytes = digest.digest(plaintext.getBytes(StandardCharsets.UTF_8));
+            final javax.crypto.Cipher cipher = javax.crypto.Cipher.getInstance(this.config.transformation());
+            final GCMParameterSpec ivspec = new GCMParameterSpec(128, cipherKey.iv());
+            final Key dataKey = KeyGenerator.createDataKey(cipherKey.dataKey(), this.config.algorithm());
+            cipher.init(javax.crypto.Cipher.DECRYPT_MODE, dataKey, ivspec);
 
-            return Base64.encodeBase64URLSafeString(hashbytes);
-        } catch (NoSuchAlgorithmException e) {
+            return cipher;
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException | InvalidKeyException
+                 | InvalidAlgorithmParameterException e) {
             throw new CipherException(e.getMessage(), e);
         }
+    }
+
+    @Override
+    public String hash(final String plaintext, final String salt) {
+        return this.hashEngine.hash(plaintext, salt);
+    }
 
+    @Override
+    public List<String> hashAll(final List<String> plaintexts, final String salt) {
+        return this.hashEngine.hashAll(plaintexts, salt);
+    }
+
+    @Override
+    public String hash(final ByteBuffer buffer, final String salt) {
+        return Base64.encodeBase64URLSafeString(this.hashEngine.hash(buffer, salt));
+    }
+
+    @Override
+    public String hash(final Path file, final String salt) {
+        return Base64.encodeBase64URLSafeString(this.hashEngine.hash(file, salt));
     }
 
 }
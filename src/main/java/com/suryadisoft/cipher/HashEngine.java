@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher;
+
+import com.suryadisoft.cipher.exception.CipherException;
+import org.apache.commons.codec.binary.Base64;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <code>HashEngine</code> computes salted digests. Every thread keeps a digest per recently used salt with the salt
+ * already absorbed, so hashing a value only clones that digest state instead of looking up the algorithm, decoding
+ * the salt and absorbing it again. Files are hashed through memory-mapped windows.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class HashEngine {
+
+    private static final int MAX_SALTS = 64;
+    private static final long MAP_WINDOW = 64L * 1024 * 1024;
+
+    private final String hashAlgorithm;
+    private final ThreadLocal<Map<String, MessageDigest>> saltedDigests = ThreadLocal.withInitial(() ->
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, MessageDigest> eldest) {
+                    return size() > MAX_SALTS;
+                }
+            });
+
+    /**
+     * Creates an instance of {@link HashEngine} for a given digest algorithm, e.g. "SHA3-256".
+     *
+     * @param hashAlgorithm Digest algorithm
+     */
+    public HashEngine(final String hashAlgorithm) {
+        this.hashAlgorithm = hashAlgorithm;
+    }
+
+    /**
+     * Hashes the plain text with the salt.
+     *
+     * @param plainText Plain text
+     * @param salt      Salt in base64 string
+     * @return Hash in base64 string
+     */
+    public String hash(final String plainText, final String salt) {
+        return Base64.encodeBase64URLSafeString(hash(plainText.getBytes(StandardCharsets.UTF_8), salt));
+    }
+
+    /**
+     * Hashes every plain text with the same salt.
+     *
+     * @param plainTexts Plain texts
+     * @param salt       Salt in base64 string
+     * @return Hashes in base64 string, in the order of the plain texts
+     */
+    public List<String> hashAll(final List<String> plainTexts, final String salt) {
+        final MessageDigest saltedDigest = saltedDigest(salt);
+        return plainTexts.stream()
+                .map(plainText -> Base64.encodeBase64URLSafeString(
+                        copy(saltedDigest, salt).digest(plainText.getBytes(StandardCharsets.UTF_8))))
+                .toList();
+    }
+
+    /**
+     * Hashes the bytes array with the salt.
+     *
+     * @param bytes Bytes array
+     * @param salt  Salt in base64 string
+     * @return Hash
+     */
+    public byte[] hash(final byte[] bytes, final String salt) {
+        return newDigest(salt).digest(bytes);
+    }
+
+    /**
+     * Hashes the remaining bytes of the buffer with the salt.
+     *
+     * @param buffer Bytes buffer
+     * @param salt   Salt in base64 string
+     * @return Hash
+     */
+    public byte[] hash(final ByteBuffer buffer, final String salt) {
+        final MessageDigest digest = newDigest(salt);
+        digest.update(buffer);
+        return digest.digest();
+    }
+
+    /**
+     * Hashes the content of the file with the salt.
+     *
+     * @param file File
+     * @param salt Salt in base64 string
+     * @return Hash
+     */
+    public byte[] hash(final Path file, final String salt) {
+        final MessageDigest digest = newDigest(salt);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            for (long position = 0; position < size; position += MAP_WINDOW) {
+                final MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(MAP_WINDOW, size - position));
+                digest.update(window);
+            }
+            return digest.digest();
+        } catch (IOException e) {
+            throw new CipherException("Unable to hash the file", e);
+        }
+    }
+
+    private MessageDigest newDigest(final String salt) {
+        return copy(saltedDigest(salt), salt);
+    }
+
+    private MessageDigest saltedDigest(final String salt) {
+        return this.saltedDigests.get().computeIfAbsent(salt, this::absorb);
+    }
+
+    private MessageDigest absorb(final String salt) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance(this.hashAlgorithm);
+            digest.update(Base64.decodeBase64(salt));
+            return digest;
+        } catch (NoSuchAlgorithmException e) {
+            throw new CipherException(e.getMessage(), e);
+        }
+    }
+
+    private MessageDigest copy(final MessageDigest saltedDigest, final String salt) {
+        try {
+            return (MessageDigest) saltedDigest.clone();
+        } catch (CloneNotSupportedException e) {
+            // Digests of some providers cannot be cloned
+            return absorb(salt);
+        }
+    }
+}
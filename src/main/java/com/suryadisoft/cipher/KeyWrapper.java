@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher;
+
+import com.suryadisoft.cipher.data.CipherKey;
+import com.suryadisoft.cipher.exception.CipherException;
+
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+/**
+ * <code>KeyWrapper</code> encrypts data keys with a local master key using AES-GCM with a random 96-bit nonce for
+ * every data key. Only the raw data key and iv bytes are encrypted, so the wrapped data key has a constant size of
+ * <code>30 + data key length + iv length</code> bytes:
+ * <pre>
+ *     version (1) | nonce (12) | AES-GCM(data key length (1) | data key | iv) | tag (16)
+ * </pre>
+ * The version byte is authenticated as additional data. Every thread reuses its own AES-GCM cipher initialized with
+ * the same master key, so the master key schedule is expanded once per thread rather than once per data key.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class KeyWrapper {
+
+    private static final byte VERSION = 1;
+    private static final int NONCE_LENGTH = 12;
+    private static final int TAG_LENGTH = 16;
+    private static final int OVERHEAD = 1 + NONCE_LENGTH + 1 + TAG_LENGTH;
+    private static final int MAX_LENGTH = OVERHEAD + 32 + 16;
+    private static final byte[] AAD = {VERSION};
+
+    private final SecretKeySpec masterKey;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final ThreadLocal<javax.crypto.Cipher> ciphers = ThreadLocal.withInitial(() -> {
+        try {
+            return javax.crypto.Cipher.getInstance("AES/GCM/NoPadding");
+        } catch (GeneralSecurityException e) {
+            throw new CipherException(e.getMessage(), e);
+        }
+    });
+
+    /**
+     * Creates an instance of {@link KeyWrapper} for a given master key.
+     *
+     * @param masterKey Master key
+     */
+    public KeyWrapper(final CipherKey masterKey) {
+        this.masterKey = new SecretKeySpec(masterKey.dataKey(), "AES");
+    }
+
+    /**
+     * Returns <code>true</code> if the encrypted data key was wrapped by a {@link KeyWrapper}. Data keys encrypted
+     * as serialized {@link CipherKey} objects by previous versions are always longer than the wrapped data keys.
+     *
+     * @param wrappedKey Encrypted data key
+     * @return <code>true</code> if the data key is wrapped
+     */
+    public static boolean isWrapped(final byte[] wrappedKey) {
+        return wrappedKey.length > OVERHEAD && wrappedKey.length <= MAX_LENGTH && wrappedKey[0] == VERSION;
+    }
+
+    /**
+     * Encrypts the data key with the master key.
+     *
+     * @param dataKey Data key
+     * @return Wrapped data key
+     */
+    public byte[] wrap(final CipherKey dataKey) {
+        final byte[] keyBytes = dataKey.dataKey();
+        final byte[] iv = dataKey.iv();
+        final ByteBuffer wrappedKey = ByteBuffer.allocate(OVERHEAD + keyBytes.length + iv.length);
+        final byte[] nonce = new byte[NONCE_LENGTH];
+        this.secureRandom.nextBytes(nonce);
+        wrappedKey.put(VERSION).put(nonce);
+        final ByteBuffer rawKey = ByteBuffer.allocate(1 + keyBytes.length + iv.length);
+        rawKey.put((byte) keyBytes.length).put(keyBytes).put(iv).flip();
+        try {
+            final javax.crypto.Cipher cipher = this.ciphers.get();
+            cipher.init(javax.crypto.Cipher.ENCRYPT_MODE, this.masterKey, new GCMParameterSpec(TAG_LENGTH * 8, nonce));
+            cipher.updateAAD(AAD);
+            cipher.doFinal(rawKey, wrappedKey);
+            return wrappedKey.array();
+        } catch (GeneralSecurityException e) {
+            throw new CipherException(e.getMessage(), e);
+        } finally {
+            Arrays.fill(rawKey.array(), (byte) 0);
+        }
+    }
+
+    /**
+     * Decrypts the wrapped data key with the master key.
+     *
+     * @param wrappedKey Wrapped data key
+     * @return Data key
+     */
+    public CipherKey unwrap(final byte[] wrappedKey) {
+        if (!isWrapped(wrappedKey)) {
+            throw new CipherException("Invalid wrapped data key!");
+        }
+        byte[] rawKey = null;
+        try {
+            final javax.crypto.Cipher cipher = this.ciphers.get();
+            cipher.init(javax.crypto.Cipher.DECRYPT_MODE, this.masterKey,
+                    new GCMParameterSpec(TAG_LENGTH * 8, wrappedKey, 1, NONCE_LENGTH));
+            cipher.updateAAD(AAD);
+            rawKey = cipher.doFinal(wrappedKey, 1 + NONCE_LENGTH, wrappedKey.length - 1 - NONCE_LENGTH);
+            final int keyLength = rawKey[0] & 0xff;
+            if (keyLength >= rawKey.length) {
+                throw new CipherException("Invalid wrapped data key!");
+            }
+            return new CipherKey(Arrays.copyOfRange(rawKey, 1, 1 + keyLength),
+                    Arrays.copyOfRange(rawKey, 1 + keyLength, rawKey.length));
+        } catch (GeneralSecurityException e) {
+            throw new CipherException(e.getMessage(), e);
+        } finally {
+            if (rawKey != null) {
+                Arrays.fill(rawKey, (byte) 0);
+            }
+        }
+    }
+}
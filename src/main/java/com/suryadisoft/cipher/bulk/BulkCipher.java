@@ -0,0 +1,408 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.bulk;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.suryadisoft.cipher.exception.CipherException;
+import com.suryadisoft.cipher.provider.CipherProvider;
+import com.suryadisoft.cipher.util.CipherUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.UnaryOperator;
+
+/**
+ * <code>BulkCipher</code> encrypts or decrypts selected columns of CSV files, or selected fields of JSON lines files.
+ * The input file is memory-mapped and split into chunks of about <code>bulkChunkSize</code> bytes ending on a line
+ * boundary, the chunks are processed by <code>bulkConcurrency</code> threads, which also bounds the number of
+ * concurrent kms calls, and the output is written in the input order.
+ * <p>
+ * CSV files must start with a header line, columns are selected by their header name, and quoted values must not
+ * contain line breaks. JSON lines fields are selected by their name, nested fields by their dotted path, e.g.
+ * <code>address.street</code>. Empty CSV values and <code>null</code> JSON values are kept as is. JSON numbers and
+ * booleans are encrypted as their JSON text, and their encrypted text is prefixed with <code>json:</code> so they are
+ * restored with their original type when decrypted.
+ * <p>
+ * Usage: <code>BulkCipher encrypt|decrypt inputFile outputFile columns propertiesFile [LOCAL|GOOGLE_KMS]</code>,
+ * where the columns are comma separated and the file format is CSV for <code>.csv</code> files and JSON lines
+ * otherwise. The number of rows processed per second is reported on the standard error.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class BulkCipher implements AutoCloseable {
+
+    /**
+     * Input file format.
+     */
+    public enum Format {CSV, JSONL}
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    /**
+     * Prefix of the encrypted JSON values that are not strings.
+     */
+    static final String JSON_VALUE_PREFIX = "json:";
+    private static final int BOUNDARY_WINDOW = 65536;
+    private static final long REPORT_INTERVAL = 10000;
+
+    private final CipherUtil cipherUtil;
+    private final Format format;
+    private final List<String> columns;
+    private final BulkConfig bulkConfig;
+    private final ExecutorService executor;
+    private volatile boolean reporting;
+
+    /**
+     * Creates an instance of {@link BulkCipher}.
+     *
+     * @param cipherUtil {@link CipherUtil} instance
+     * @param format     Input file format
+     * @param columns    Names of the CSV columns or paths of the JSON fields to process
+     * @param bulkConfig {@link BulkConfig} instance
+     */
+    public BulkCipher(final CipherUtil cipherUtil, final Format format, final List<String> columns,
+                      final BulkConfig bulkConfig) {
+        this.cipherUtil = cipherUtil;
+        this.format = format;
+        this.columns = List.copyOf(columns);
+        this.bulkConfig = bulkConfig;
+        this.executor = Executors.newFixedThreadPool(bulkConfig.bulkConcurrency(), new ThreadFactoryBuilder()
+                .setDaemon(true).setNameFormat("cipher-bulk-%d").build());
+    }
+
+    /**
+     * Encrypts the selected columns of the input file into the output file.
+     *
+     * @param inputFile  Input file
+     * @param outputFile Output file
+     * @return Number of rows processed
+     */
+    public long encrypt(final Path inputFile, final Path outputFile) {
+        return process(inputFile, outputFile, true, this.cipherUtil::encrypt);
+    }
+
+    /**
+     * Decrypts the selected columns of the input file into the output file.
+     *
+     * @param inputFile  Input file
+     * @param outputFile Output file
+     * @return Number of rows processed
+     */
+    public long decrypt(final Path inputFile, final Path outputFile) {
+        return process(inputFile, outputFile, false,
+                cipherText -> new String(this.cipherUtil.decrypt(cipherText, false)));
+    }
+
+    private long process(final Path inputFile, final Path outputFile, final boolean encrypting,
+                         final UnaryOperator<String> transform) {
+        final long startTime = System.currentTimeMillis();
+        long reportTime = startTime;
+        long rows = 0;
+        try (FileChannel in = FileChannel.open(inputFile, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(outputFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            final long size = in.size();
+            long position = 0;
+            final RecordTransformer transformer;
+            if (this.format == Format.CSV) {
+                position = nextBoundary(in, 0, size);
+                final String header = decode(in, 0, position);
+                transformer = new CsvTransformer(header, this.columns, transform);
+                out.write(ByteBuffer.wrap(header.getBytes(StandardCharsets.UTF_8)));
+            } else {
+                transformer = new JsonTransformer(this.columns, encrypting, transform);
+            }
+            final Queue<CompletableFuture<Chunk>> chunks = new ArrayDeque<>();
+            while (position < size || !chunks.isEmpty()) {
+                // Keep every thread busy while bounding the chunks held in memory
+                while (position < size && chunks.size() < 2 * this.bulkConfig.bulkConcurrency()) {
+                    final long start = position;
+                    final long end = nextBoundary(in, Math.min(size, start + this.bulkConfig.bulkChunkSize()), size);
+                    chunks.add(CompletableFuture.supplyAsync(() -> transformChunk(in, start, end, transformer), this.executor));
+                    position = end;
+                }
+                final Chunk chunk = join(chunks.poll());
+                out.write(ByteBuffer.wrap(chunk.output()));
+                rows += chunk.rows();
+                final long now = System.currentTimeMillis();
+                if (this.reporting && now - reportTime >= REPORT_INTERVAL) {
+                    report(rows, now - startTime);
+                    reportTime = now;
+                }
+            }
+        } catch (IOException e) {
+            throw new CipherException("Unable to process the file " + inputFile, e);
+        }
+        if (this.reporting) {
+            report(rows, System.currentTimeMillis() - startTime);
+        }
+        return rows;
+    }
+
+    private static Chunk transformChunk(final FileChannel in, final long start, final long end,
+                                        final RecordTransformer transformer) {
+        final String text;
+        try {
+            text = decode(in, start, end);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final StringBuilder output = new StringBuilder(text.length() * 2);
+        int rows = 0;
+        int lineStart = 0;
+        while (lineStart < text.length()) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            lineEnd = lineEnd < 0 ? text.length() : lineEnd;
+            final int contentEnd = lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            final String line = text.substring(lineStart, contentEnd);
+            if (line.isBlank()) {
+                output.append(line);
+            } else {
+                output.append(transformer.transform(line));
+                rows++;
+            }
+            output.append(text, contentEnd, Math.min(lineEnd + 1, text.length()));
+            lineStart = lineEnd + 1;
+        }
+        return new Chunk(output.toString().getBytes(StandardCharsets.UTF_8), rows);
+    }
+
+    private static String decode(final FileChannel in, final long start, final long end) throws IOException {
+        if (start == end) {
+            return "";
+        }
+        final MappedByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+
+    /**
+     * Gets the position following the first line break at or after the given position.
+     */
+    private static long nextBoundary(final FileChannel in, final long position, final long size) throws IOException {
+        long windowStart = position;
+        while (windowStart < size) {
+            final MappedByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, windowStart,
+                    Math.min(BOUNDARY_WINDOW, size - windowStart));
+            for (int i = 0; i < window.limit(); i++) {
+                if (window.get(i) == '\n') {
+                    return windowStart + i + 1;
+                }
+            }
+            windowStart += window.limit();
+        }
+        return size;
+    }
+
+    private static Chunk join(final CompletableFuture<Chunk> chunk) {
+        try {
+            return chunk.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof CipherException cipherException ? cipherException
+                    : new CipherException("Unable to process the file chunk", e.getCause());
+        }
+    }
+
+    private static void report(final long rows, final long elapsed) {
+        System.err.printf("%d rows in %.1f s (%.0f rows/sec)%n", rows, elapsed / 1000.0,
+                elapsed == 0 ? 0.0 : rows * 1000.0 / elapsed);
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Command line entry point.
+     *
+     * @param args Mode, input file, output file, columns, properties file and kms provider type
+     * @throws IOException if the properties file cannot be read
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 5 || !(args[0].equals("encrypt") || args[0].equals("decrypt"))) {
+            System.err.println("Usage: BulkCipher encrypt|decrypt inputFile outputFile columns propertiesFile [LOCAL|GOOGLE_KMS]");
+            System.exit(1);
+        }
+        final Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(Paths.get(args[4]))) {
+            properties.load(in);
+        }
+        final CipherProvider.Type providerType = args.length > 5 ? CipherProvider.Type.valueOf(args[5])
+                : CipherProvider.Type.LOCAL;
+        final Path inputFile = Paths.get(args[1]);
+        final Format format = inputFile.getFileName().toString().toLowerCase().endsWith(".csv") ? Format.CSV
+                : Format.JSONL;
+        try (BulkCipher bulkCipher = new BulkCipher(CipherUtil.getNewInstance(providerType, properties), format,
+                Arrays.asList(args[3].split(",")), BulkConfig.valueOf(properties))) {
+            bulkCipher.reporting = true;
+            if (args[0].equals("encrypt")) {
+                bulkCipher.encrypt(inputFile, Paths.get(args[2]));
+            } else {
+                bulkCipher.decrypt(inputFile, Paths.get(args[2]));
+            }
+        }
+    }
+
+    /**
+     * Processed chunk output and number of rows.
+     */
+    private record Chunk(byte[] output, int rows) {
+    }
+
+    /**
+     * Transforms the selected values of a line.
+     */
+    private interface RecordTransformer {
+        String transform(String line);
+    }
+
+    /**
+     * CSV line transformer.
+     */
+    private static class CsvTransformer implements RecordTransformer {
+
+        private final boolean[] selected;
+        private final UnaryOperator<String> transform;
+
+        CsvTransformer(final String header, final List<String> columns, final UnaryOperator<String> transform) {
+            final List<String> names = split(header.strip()).stream().map(CsvTransformer::unquote).toList();
+            this.selected = new boolean[names.size()];
+            for (final String column : columns) {
+                final int index = names.indexOf(column);
+                if (index < 0) {
+                    throw new CipherException("Column " + column + " not found in the CSV header");
+                }
+                this.selected[index] = true;
+            }
+            this.transform = transform;
+        }
+
+        @Override
+        public String transform(final String line) {
+            final List<String> cells = split(line);
+            final StringBuilder output = new StringBuilder(line.length() * 2);
+            for (int i = 0; i < cells.size(); i++) {
+                if (i > 0) {
+                    output.append(',');
+                }
+                final String cell = cells.get(i);
+                output.append(i < this.selected.length && this.selected[i] && !cell.isEmpty()
+                        ? quote(this.transform.apply(unquote(cell))) : cell);
+            }
+            return output.toString();
+        }
+
+        /**
+         * Splits a CSV line into its raw cells, quotes included.
+         */
+        static List<String> split(final String line) {
+            final List<String> cells = new ArrayList<>();
+            int start = 0;
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                final char c = line.charAt(i);
+                if (c == '"') {
+                    quoted = !quoted;
+                } else if (c == ',' && !quoted) {
+                    cells.add(line.substring(start, i));
+                    start = i + 1;
+                }
+            }
+            cells.add(line.substring(start));
+            return cells;
+        }
+
+        static String unquote(final String cell) {
+            return cell.length() >= 2 && cell.startsWith("\"") && cell.endsWith("\"")
+                    ? cell.substring(1, cell.length() - 1).replace("\"\"", "\"") : cell;
+        }
+
+        static String quote(final String value) {
+            return value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0
+                    || value.indexOf('\r') >= 0 ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+        }
+    }
+
+    /**
+     * JSON line transformer.
+     */
+    private static class JsonTransformer implements RecordTransformer {
+
+        private final List<JsonPointer> pointers;
+        private final boolean encrypting;
+        private final UnaryOperator<String> transform;
+
+        JsonTransformer(final List<String> fields, final boolean encrypting, final UnaryOperator<String> transform) {
+            this.pointers = fields.stream()
+                    .map(field -> JsonPointer.compile("/" + field.replace("~", "~0").replace("/", "~1").replace('.', '/')))
+                    .toList();
+            this.encrypting = encrypting;
+            this.transform = transform;
+        }
+
+        @Override
+        public String transform(final String line) {
+            try {
+                final JsonNode record = OBJECT_MAPPER.readTree(line);
+                for (final JsonPointer pointer : this.pointers) {
+                    final JsonNode value = record.at(pointer);
+                    if (value.isValueNode() && !value.isNull() && record.at(pointer.head()) instanceof ObjectNode parent) {
+                        parent.set(pointer.last().getMatchingProperty(), transform(value));
+                    }
+                }
+                return OBJECT_MAPPER.writeValueAsString(record);
+            } catch (IOException e) {
+                throw new CipherException("Unable to parse the JSON line", e);
+            }
+        }
+
+        private JsonNode transform(final JsonNode value) throws IOException {
+            if (this.encrypting) {
+                return value.isTextual() ? TextNode.valueOf(this.transform.apply(value.asText()))
+                        : TextNode.valueOf(JSON_VALUE_PREFIX + this.transform.apply(value.toString()));
+            }
+            if (!value.isTextual()) {
+                // Not encrypted
+                return value;
+            }
+            final String cipherText = value.asText();
+            return cipherText.startsWith(JSON_VALUE_PREFIX)
+                    ? OBJECT_MAPPER.readTree(this.transform.apply(cipherText.substring(JSON_VALUE_PREFIX.length())))
+                    : TextNode.valueOf(this.transform.apply(cipherText));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.bulk;
+
+import java.util.Properties;
+
+/**
+ * <code>BulkConfig</code> stores the bulk file encryption configuration values.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public record BulkConfig(int bulkConcurrency, int bulkChunkSize) {
+    public BulkConfig() {
+        this(Runtime.getRuntime().availableProcessors(), 4194304);
+    }
+
+    /**
+     * Transform bulk configuration properties into {@link BulkConfig} record instance.
+     *
+     * @param properties {@link Properties} configuration
+     *
+     * @return {@link BulkConfig} record instance
+     */
+    static public BulkConfig valueOf(final Properties properties) {
+        final BulkConfig bulkConfig = new BulkConfig();
+        // Defaults to the number of processors when empty
+        final String bulkConcurrency = properties.getProperty("bulkConcurrency", "").strip();
+        return new BulkConfig(bulkConcurrency.isEmpty() ? bulkConfig.bulkConcurrency() : Integer.parseInt(bulkConcurrency)
+                , Integer.parseInt(properties.getProperty("bulkChunkSize", String.valueOf(bulkConfig.bulkChunkSize()))));
+    }
+}
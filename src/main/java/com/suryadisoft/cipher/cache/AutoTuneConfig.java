@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.cache;
+
+import java.util.Properties;
+
+/**
+ * <code>AutoTuneConfig</code> stores the data key cache auto-tuning configuration values.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public record AutoTuneConfig(boolean autoTune, long autoTuneInterval, double autoTuneTargetHitRatio,
+                             long autoTuneLatencyThreshold, long autoTuneHeapBudgetBytes, int autoTuneMinimumSize,
+                             long autoTuneMaximumExpireDuration) {
+    public AutoTuneConfig() {
+        this(false, 60000, 0.9, 50, 0, 100, 3600000);
+    }
+
+    /**
+     * Gets the heap budget in bytes, defaulting to a tenth of the maximum heap size when it is not configured.
+     *
+     * @return Heap budget in bytes
+     */
+    public long heapBudgetBytes() {
+        return this.autoTuneHeapBudgetBytes > 0 ? this.autoTuneHeapBudgetBytes : Runtime.getRuntime().maxMemory() / 10;
+    }
+
+    /**
+     * Transform auto-tuning configuration properties into {@link AutoTuneConfig} record instance.
+     *
+     * @param properties {@link Properties} configuration
+     *
+     * @return {@link AutoTuneConfig} record instance
+     */
+    static public AutoTuneConfig valueOf(final Properties properties) {
+        final AutoTuneConfig config = new AutoTuneConfig();
+        return new AutoTuneConfig(Boolean.parseBoolean(properties.getProperty("autoTune", String.valueOf(config.autoTune())))
+                , Long.parseLong(properties.getProperty("autoTuneInterval", String.valueOf(config.autoTuneInterval())))
+                , Double.parseDouble(properties.getProperty("autoTuneTargetHitRatio", String.valueOf(config.autoTuneTargetHitRatio())))
+                , Long.parseLong(properties.getProperty("autoTuneLatencyThreshold", String.valueOf(config.autoTuneLatencyThreshold())))
+                , Long.parseLong(properties.getProperty("autoTuneHeapBudgetBytes", String.valueOf(config.autoTuneHeapBudgetBytes())))
+                , Integer.parseInt(properties.getProperty("autoTuneMinimumSize", String.valueOf(config.autoTuneMinimumSize())))
+                , Long.parseLong(properties.getProperty("autoTuneMaximumExpireDuration", String.valueOf(config.autoTuneMaximumExpireDuration()))));
+    }
+}
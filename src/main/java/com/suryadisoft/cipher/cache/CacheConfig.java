@@ -16,13 +16,44 @@ import java.util.Properties;
 
 /**
  * <code>CacheConfig</code> stores the Cipher cache configuration values.
+ * <p>
+ * When <code>maximumWeightBytes</code> is greater than zero the cache is bounded by the estimated memory footprint
+ * of its entries instead of <code>maximumSize</code>. When <code>cacheOffHeap</code> is enabled the data keys are
+ * stored outside of the heap. When <code>cipherContexts</code> is greater than zero, initialized decryption ciphers
+ * are kept for that many recently used data keys.
  *
  * @author Edward Suryadi
  * @since May 2025
  */
-public record CacheConfig(int initialCapacity, int concurrencyLevel, int maximumSize, long expireDuration) {
+public record CacheConfig(int initialCapacity, int concurrencyLevel, int maximumSize, long expireDuration,
+                          long maximumWeightBytes, boolean offHeap, int cipherContexts) {
     public CacheConfig() {
-        this(16, 4, 100, 10000);
+        this(16, 4, 100, 10000, 0, false, 0);
+    }
+
+    public CacheConfig(int initialCapacity, int concurrencyLevel, int maximumSize, long expireDuration) {
+        this(initialCapacity, concurrencyLevel, maximumSize, expireDuration, 0, false, 0);
+    }
+
+    /**
+     * Returns a copy of this configuration bounded by a given entry count and expire duration.
+     *
+     * @param maximumSize    Maximum number of cached data keys
+     * @param expireDuration Expire duration in milliseconds
+     * @return {@link CacheConfig} record instance
+     */
+    public CacheConfig resize(final int maximumSize, final long expireDuration) {
+        return new CacheConfig(this.initialCapacity, this.concurrencyLevel, maximumSize, expireDuration, 0, this.offHeap,
+                this.cipherContexts);
+    }
+
+    /**
+     * Returns <code>true</code> if the cache is bounded by memory weight instead of entry count.
+     *
+     * @return <code>true</code> if weight bound is configured
+     */
+    public boolean isWeighted() {
+        return this.maximumWeightBytes > 0;
     }
 
     /**
@@ -37,6 +68,9 @@ public record CacheConfig(int initialCapacity, int concurrencyLevel, int maximum
         return new CacheConfig(Integer.parseInt(properties.getProperty("initialCapacity", String.valueOf(cacheConfig.initialCapacity())))
                 , Integer.parseInt(properties.getProperty("concurrencyLevel", String.valueOf(cacheConfig.concurrencyLevel())))
                 , Integer.parseInt(properties.getProperty("maximumSize", String.valueOf(cacheConfig.maximumSize())))
-                , Long.parseLong(properties.getProperty("expireDuration", String.valueOf(cacheConfig.expireDuration()))));
+                , Long.parseLong(properties.getProperty("expireDuration", String.valueOf(cacheConfig.expireDuration())))
+                , Long.parseLong(properties.getProperty("maximumWeightBytes", String.valueOf(cacheConfig.maximumWeightBytes())))
+                , Boolean.parseBoolean(properties.getProperty("cacheOffHeap", String.valueOf(cacheConfig.offHeap())))
+                , Integer.parseInt(properties.getProperty("cipherContexts", String.valueOf(cacheConfig.cipherContexts()))));
     }
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.cache;
+
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.suryadisoft.cipher.data.CipherKey;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <code>CacheTuner</code> periodically resizes a {@link CipherCache} based on the hit ratio, the data key loading
+ * latency and the memory footprint observed since the previous tuning:
+ * <ul>
+ *     <li>When the hit ratio is below target and data keys were evicted because the cache is full, the maximum
+ *     size is doubled as long as the cache stays within the heap budget.</li>
+ *     <li>When the hit ratio is below target and data keys were evicted because they were idle, the expire
+ *     duration is doubled up to the maximum expire duration.</li>
+ *     <li>When the hit ratio is on target and the cache is mostly empty, the maximum size is shrunk.</li>
+ *     <li>When the hit ratio is on target and the cache uses more than half of the heap budget, or holds more data
+ *     keys than it served requests, the expire duration is halved down to its initial value.</li>
+ *     <li>When the cache exceeds the heap budget, the maximum size is shrunk to fit.</li>
+ * </ul>
+ * A data key loading latency above the latency threshold raises the target hit ratio, since every miss is
+ * expensive. A cache bounded by <code>maximumWeightBytes</code> is tuned from the number of entries fitting in that
+ * weight, and once the tuner resizes it, the heap budget replaces <code>maximumWeightBytes</code> as the memory bound.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class CacheTuner implements AutoCloseable {
+
+    /**
+     * Minimum number of requests between two tunings for the hit ratio to be meaningful.
+     */
+    static final long MINIMUM_REQUESTS = 100;
+
+    private final CipherCache cipherCache;
+    private final AutoTuneConfig autoTuneConfig;
+    private final long minimumExpireDuration;
+
+    private CacheStats previousStats;
+    private long previousSizeEvictions;
+    private long previousExpirations;
+    private volatile int maximumSizeCap = Integer.MAX_VALUE;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates an instance of {@link CacheTuner} for a given {@link CipherCache} and {@link AutoTuneConfig}.
+     *
+     * @param cipherCache    {@link CipherCache} instance
+     * @param autoTuneConfig {@link AutoTuneConfig} instance
+     */
+    public CacheTuner(final CipherCache cipherCache, final AutoTuneConfig autoTuneConfig) {
+        this.cipherCache = cipherCache;
+        this.autoTuneConfig = autoTuneConfig;
+        this.previousStats = cipherCache.stats();
+        this.previousSizeEvictions = cipherCache.sizeEvictionCount();
+        this.previousExpirations = cipherCache.expirationCount();
+        this.minimumExpireDuration = cipherCache.getCacheConfig().expireDuration();
+    }
+
+    /**
+     * Caps the maximum size the cache can be grown to, e.g. to the cache partition of a tenant sharing a global
+     * cache budget.
+     *
+     * @param maximumSizeCap Maximum number of cached data keys
+     */
+    public void setMaximumSizeCap(final int maximumSizeCap) {
+        this.maximumSizeCap = maximumSizeCap;
+    }
+
+    /**
+     * Starts tuning the cache every <code>autoTuneInterval</code> milliseconds.
+     */
+    public synchronized void start() {
+        if (this.scheduler == null) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                    .setDaemon(true).setNameFormat("cipher-cache-tuner-%d").build());
+            this.scheduler.scheduleWithFixedDelay(this::tune, this.autoTuneConfig.autoTuneInterval(),
+                    this.autoTuneConfig.autoTuneInterval(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Tunes the cache once based on the statistics observed since the previous tuning.
+     *
+     * @return The {@link CacheConfig} in use after tuning
+     */
+    public synchronized CacheConfig tune() {
+        final CacheStats stats = this.cipherCache.stats();
+        final CacheStats window = stats.minus(this.previousStats);
+        final long sizeEvictions = this.cipherCache.sizeEvictionCount() - this.previousSizeEvictions;
+        final long expirations = this.cipherCache.expirationCount() - this.previousExpirations;
+        final CacheConfig current = this.cipherCache.getCacheConfig();
+        if (window.requestCount() < MINIMUM_REQUESTS) {
+            return current;
+        }
+        this.previousStats = stats;
+        this.previousSizeEvictions += sizeEvictions;
+        this.previousExpirations += expirations;
+
+        final long size = this.cipherCache.size();
+        final long footprint = this.cipherCache.memoryFootprint();
+        final long heapBudget = this.autoTuneConfig.heapBudgetBytes();
+        final long entryBytes = size > 0 ? Math.max(1, footprint / size) : estimatedEntryBytes();
+        final int sizeBudget = (int) Math.max(this.autoTuneConfig.autoTuneMinimumSize(),
+                Math.min(Integer.MAX_VALUE, heapBudget / entryBytes));
+        final double targetHitRatio = targetHitRatio(window);
+
+        // A cache bounded by weight holds as many entries as fit in its weight
+        final int currentSize = current.isWeighted()
+                ? (int) Math.max(size, Math.min(Integer.MAX_VALUE, current.maximumWeightBytes() / entryBytes))
+                : current.maximumSize();
+        int maximumSize = currentSize;
+        long expireDuration = current.expireDuration();
+        if (footprint > heapBudget) {
+            maximumSize = Math.min(maximumSize, sizeBudget);
+        } else if (window.hitRate() < targetHitRatio) {
+            if (sizeEvictions > 0) {
+                maximumSize = (int) Math.min(sizeBudget, 2L * maximumSize);
+            } else if (expirations > 0 && 2 * footprint < heapBudget) {
+                expireDuration = Math.min(this.autoTuneConfig.autoTuneMaximumExpireDuration(), 2 * expireDuration);
+            }
+        } else if (sizeEvictions == 0 && 4 * size < maximumSize) {
+            maximumSize = (int) Math.max(this.autoTuneConfig.autoTuneMinimumSize(), 2 * size);
+        } else if (sizeEvictions == 0 && expireDuration > this.minimumExpireDuration
+                && (2 * footprint > heapBudget || window.requestCount() < size)) {
+            // On target while using most of the heap budget, or with most cached data keys idle
+            expireDuration = Math.max(this.minimumExpireDuration, expireDuration / 2);
+        }
+        maximumSize = Math.min(maximumSize, this.maximumSizeCap);
+
+        if (maximumSize != currentSize || expireDuration != current.expireDuration()) {
+            final CacheConfig tuned = current.resize(maximumSize, expireDuration);
+            this.cipherCache.reconfigure(tuned);
+            return tuned;
+        }
+        return current;
+    }
+
+    /**
+     * Raises the target hit ratio halfway to 100% when loading a data key takes longer than the latency threshold.
+     */
+    private double targetHitRatio(final CacheStats window) {
+        final double target = this.autoTuneConfig.autoTuneTargetHitRatio();
+        final double averageLoadMillis = window.averageLoadPenalty() / TimeUnit.MILLISECONDS.toNanos(1);
+        return averageLoadMillis > this.autoTuneConfig.autoTuneLatencyThreshold() ? target + (1 - target) / 2 : target;
+    }
+
+    /**
+     * Estimates the entry weight of a 256-bit data key when the cache is empty.
+     */
+    private static long estimatedEntryBytes() {
+        return CipherCache.weigh(new KeyDigest(0, 0), new CipherKey(new byte[32], new byte[16]));
+    }
+
+    @Override
+    public synchronized void close() {
+        if (this.scheduler != null) {
+            this.scheduler.shutdownNow();
+            this.scheduler = null;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.cache;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.suryadisoft.cipher.exception.CipherException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <code>CacheWarmer</code> periodically snapshots the encrypted form of the hot data keys held by a
+ * {@link CipherCache} into a local file, and pre-loads them into the cache on startup so the first requests after a
+ * deployment do not pay the KMS latency. Unencrypted data keys are never written to the file.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class CacheWarmer implements AutoCloseable {
+
+    private final CipherCache cipherCache;
+    private final WarmupConfig warmupConfig;
+    private final Path warmupFile;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates an instance of {@link CacheWarmer} for a given {@link CipherCache} and {@link WarmupConfig}.
+     *
+     * @param cipherCache  {@link CipherCache} instance
+     * @param warmupConfig {@link WarmupConfig} instance
+     */
+    public CacheWarmer(final CipherCache cipherCache, final WarmupConfig warmupConfig) {
+        this.cipherCache = cipherCache;
+        this.warmupConfig = warmupConfig;
+        this.warmupFile = Paths.get(warmupConfig.warmupFile());
+        this.cipherCache.trackHotKeys(warmupConfig.warmupSize());
+    }
+
+    /**
+     * Pre-loads the data keys listed in the warmup file into the cache, blocking until all of them are loaded.
+     *
+     * @return Number of data keys loaded
+     */
+    public int warmup() {
+        if (!Files.isRegularFile(this.warmupFile)) {
+            return 0;
+        }
+        try {
+            final List<String> encryptedDataKeys = Files.readAllLines(this.warmupFile, StandardCharsets.US_ASCII).stream()
+                    .filter(line -> !line.isBlank())
+                    .limit(this.warmupConfig.warmupSize())
+                    .toList();
+            return this.cipherCache.prewarm(encryptedDataKeys, this.warmupConfig.warmupConcurrency());
+        } catch (IOException e) {
+            throw new CipherException("Unable to read the cache warmup file", e);
+        }
+    }
+
+    /**
+     * Starts taking periodic snapshots of the hot data keys into the warmup file.
+     */
+    public synchronized void start() {
+        if (this.scheduler == null) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                    .setDaemon(true).setNameFormat("cipher-cache-snapshot-%d").build());
+            this.scheduler.scheduleWithFixedDelay(this::snapshotQuietly, this.warmupConfig.warmupInterval(),
+                    this.warmupConfig.warmupInterval(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes the encrypted form of the hot data keys into the warmup file. The file is replaced atomically so a
+     * crash while writing never leaves a truncated file behind.
+     */
+    public void snapshot() {
+        try {
+            final Path parent = this.warmupFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            final Path tempFile = Files.createTempFile(parent, this.warmupFile.getFileName().toString(), ".tmp");
+            Files.write(tempFile, this.cipherCache.hotDataKeys(), StandardCharsets.US_ASCII);
+            Files.move(tempFile, this.warmupFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new CipherException("Unable to write the cache warmup file", e);
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (CipherException e) {
+            // The next scheduled snapshot will try again
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (this.scheduler != null) {
+            this.scheduler.shutdownNow();
+            this.scheduler = null;
+            snapshotQuietly();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.cache;
+
+import com.suryadisoft.cipher.data.CipherKey;
+
+/**
+ * <code>CachedKey</code> is a data key held by a {@link CipherCache}, either on heap or in a {@link KeySlab}.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+interface CachedKey {
+
+    /**
+     * Gets the data key.
+     *
+     * @return {@link CipherKey} instance, or <code>null</code> if the data key was released
+     */
+    CipherKey cipherKey();
+
+    /**
+     * Estimates the number of heap bytes retained by the cached data key.
+     *
+     * @return Estimated heap bytes
+     */
+    int heapWeight();
+
+    /**
+     * Releases the data key when it is removed from the cache.
+     */
+    void release();
+
+    /**
+     * <code>HeapKey</code> is a data key held on heap.
+     */
+    record HeapKey(CipherKey cipherKey) implements CachedKey {
+
+        @Override
+        public int heapWeight() {
+            return CipherCache.CIPHER_KEY_OVERHEAD
+                    + CipherCache.align(CipherCache.ARRAY_OVERHEAD + this.cipherKey.dataKey().length)
+                    + CipherCache.align(CipherCache.ARRAY_OVERHEAD + this.cipherKey.iv().length);
+        }
+
+        @Override
+        public void release() {
+            // Left to the garbage collector
+        }
+    }
+
+    /**
+     * <code>PartitionKey</code> is a data key held by a shared {@link CipherCache} for one of its partitions, with
+     * the weight it was given when it was loaded.
+     */
+    record PartitionKey(CachedKey cachedKey, CipherCache partition, int weight) implements CachedKey {
+
+        @Override
+        public CipherKey cipherKey() {
+            return this.cachedKey.cipherKey();
+        }
+
+        @Override
+        public int heapWeight() {
+            return CipherCache.PARTITION_KEY_OVERHEAD + this.cachedKey.heapWeight();
+        }
+
+        @Override
+        public void release() {
+            this.cachedKey.release();
+        }
+    }
+}
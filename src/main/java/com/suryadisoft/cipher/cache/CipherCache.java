@@ -12,23 +12,101 @@
  */
 package com.suryadisoft.cipher.cache;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalCause;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.suryadisoft.cipher.Cipher;
+import com.suryadisoft.cipher.data.CipherData;
 import com.suryadisoft.cipher.data.CipherKey;
+import com.suryadisoft.cipher.exception.CipherException;
 
-import java.util.concurrent.TimeUnit;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
  * <code>CipherCache</code> is a cache that stores unencrypted data key in local memory so data key decryption can
  * be skipped for short period of time in order to improve decryption performance.
+ * <p>
+ * Data keys are cached by the {@link KeyDigest} of their encrypted form, so the cache never retains the encrypted
+ * data key strings and every lookup compares two longs instead of a long string.
+ * <p>
+ * When <code>cacheOffHeap</code> is enabled, the data keys are stored outside of the heap in a {@link KeySlab} and
+ * zeroized as soon as they are evicted, every lookup returns a short-lived copy of the data key.
+ * <p>
+ * When <code>cipherContexts</code> is greater than zero, {@link #decrypt(String, byte[], Cipher)} also keeps
+ * initialized decryption ciphers, with their key schedule already expanded, for that many recently used data keys, so
+ * repeated decryptions with a hot data key skip the key setup. The ciphers of a data key are dropped by the removal
+ * listener of the data key cache as soon as the data key leaves it, so no expanded key outlives its data key.
+ * <p>
+ * A {@link #shared(CacheConfig)} cache holds the data keys of several providers, e.g. the tenants of a registry, each
+ * of them looking its data keys up through its own {@link #partition(String, Function)}. Partitions are keyed by the
+ * digest of their id and encrypted data key, so a data key cached for a partition is never served to another one,
+ * and they keep their own statistics, hot keys and access listener. The shared cache is bounded by the weight of its
+ * data keys, and a data key loaded by a partition holding more than its fair share weighs one more for every share
+ * already held, so a busy partition can use the capacity left idle by the others without evicting them as cheaply.
  *
  * @author Edward Suryadi
  * @since May 2025
  */
 public class CipherCache {
-    LoadingCache<String, CipherKey> cipherCache;
+    /**
+     * Estimated bytes used by the cache internals for every entry (entry, value reference and table slot).
+     */
+    static final int ENTRY_OVERHEAD = 96;
+    /**
+     * Estimated bytes used by a {@link KeyDigest} instance.
+     */
+    static final int KEY_DIGEST_SIZE = 32;
+    /**
+     * Estimated bytes used by a {@link CipherKey} instance excluding its arrays.
+     */
+    static final int CIPHER_KEY_OVERHEAD = 24;
+    /**
+     * Estimated bytes used by an array header.
+     */
+    static final int ARRAY_OVERHEAD = 16;
+    /**
+     * Estimated bytes used by the partition reference of a data key held by a shared cache.
+     */
+    static final int PARTITION_KEY_OVERHEAD = 24;
+
+    /**
+     * Cache holding the data keys, i.e. this cache or the shared cache of a partition.
+     */
+    private final CipherCache store;
+    private final String partitionId;
+    private final boolean shared;
+    private final Function<String, CipherKey> dataKeyFunc;
+    private final KeySlab keySlab = new KeySlab();
+    private final LongAdder sizeEvictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder contextHits = new LongAdder();
+    // Statistics of a partition, the other caches record them in the underlying cache
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadExceptions = new LongAdder();
+    private final LongAdder loadTime = new LongAdder();
+    private final AtomicLong entries = new AtomicLong();
+
+    volatile Cache<KeyDigest, CachedKey> cipherCache;
+    private volatile Cache<KeyDigest, Queue<javax.crypto.Cipher>> cipherContexts;
+
+    private volatile CacheConfig cacheConfig;
+    private volatile CacheStats retiredStats = new CacheStats(0, 0, 0, 0, 0, 0);
+    private volatile Cache<KeyDigest, String> hotKeys;
+    private volatile Consumer<KeyDigest> accessListener;
+    private volatile int partitionShare = Integer.MAX_VALUE;
 
     /**
      * Creates an instance of {@link CipherCache} for given {@link CacheConfig} and data key decryption function.
@@ -37,18 +115,171 @@ public class CipherCache {
      * @param dataKeyFunc Data key decryption function
      */
     public CipherCache(final CacheConfig cacheConfig, final Function<String, CipherKey> dataKeyFunc) {
-        final CacheLoader<String, CipherKey> cacheLoader = new CacheLoader<>() {
-            @Override
-            public CipherKey load(final String key) throws Exception {
-                return dataKeyFunc.apply(key);
-            }
-        };
-        this.cipherCache = CacheBuilder.newBuilder()
+        this(cacheConfig, dataKeyFunc, false);
+    }
+
+    private CipherCache(final CacheConfig cacheConfig, final Function<String, CipherKey> dataKeyFunc,
+                        final boolean shared) {
+        this.store = this;
+        this.partitionId = null;
+        this.shared = shared;
+        this.dataKeyFunc = dataKeyFunc;
+        this.cacheConfig = cacheConfig;
+        this.cipherCache = build(cacheConfig);
+        this.cipherContexts = buildContexts(cacheConfig);
+    }
+
+    private CipherCache(final CipherCache store, final String partitionId,
+                        final Function<String, CipherKey> dataKeyFunc) {
+        this.store = store;
+        this.partitionId = partitionId;
+        this.shared = false;
+        this.dataKeyFunc = dataKeyFunc;
+    }
+
+    /**
+     * Creates a cache shared by several providers for a given {@link CacheConfig}. The data keys are looked up and
+     * loaded through the partitions of the shared cache only.
+     *
+     * @param cacheConfig {@link CacheConfig} instance
+     *
+     * @return {@link CipherCache} instance
+     */
+    static public CipherCache shared(final CacheConfig cacheConfig) {
+        return new CipherCache(cacheConfig, encryptedDataKey -> {
+            throw new CipherException("A shared cache loads the data keys of its partitions only");
+        }, true);
+    }
+
+    /**
+     * Creates a partition of this shared cache for a given partition id and data key decryption function.
+     *
+     * @param partitionId Partition id, e.g. a tenant id
+     * @param dataKeyFunc Data key decryption function of the partition
+     *
+     * @return {@link CipherCache} partition
+     */
+    public CipherCache partition(final String partitionId, final Function<String, CipherKey> dataKeyFunc) {
+        if (!this.shared) {
+            throw new CipherException("Only a shared cache can be partitioned");
+        }
+        return new CipherCache(this, partitionId, dataKeyFunc);
+    }
+
+    /**
+     * Sets the fair share of data keys of every partition of this shared cache.
+     *
+     * @param partitionShare Number of data keys
+     */
+    public void setPartitionShare(final int partitionShare) {
+        this.partitionShare = Math.max(1, partitionShare);
+    }
+
+    /**
+     * Builds the underlying cache for a given {@link CacheConfig}.
+     */
+    private Cache<KeyDigest, CachedKey> build(final CacheConfig cacheConfig) {
+        final CacheBuilder<KeyDigest, CachedKey> cacheBuilder = CacheBuilder.newBuilder()
                 .initialCapacity(cacheConfig.initialCapacity())
                 .concurrencyLevel(cacheConfig.concurrencyLevel())
-                .maximumSize(cacheConfig.maximumSize())
                 .expireAfterAccess(cacheConfig.expireDuration(), TimeUnit.MILLISECONDS)
-                .build(cacheLoader);
+                .recordStats()
+                .<KeyDigest, CachedKey>removalListener(notification -> {
+                    if (this.cipherCache.asMap().get(notification.getKey()) == notification.getValue()) {
+                        // Removed from a retired cache after being moved into the current one
+                        return;
+                    }
+                    notification.getValue().release();
+                    final CipherCache owner = notification.getValue() instanceof CachedKey.PartitionKey partitionKey
+                            ? partitionKey.partition() : this;
+                    owner.removed(notification.getKey(), notification.getCause());
+                    final Cache<KeyDigest, Queue<javax.crypto.Cipher>> contexts = this.cipherContexts;
+                    if (contexts != null && notification.getCause() != RemovalCause.REPLACED) {
+                        contexts.invalidate(notification.getKey());
+                    }
+                });
+        if (cacheConfig.isWeighted() || this.shared) {
+            return cacheBuilder
+                    .maximumWeight(cacheConfig.isWeighted() ? cacheConfig.maximumWeightBytes() : cacheConfig.maximumSize())
+                    .weigher((KeyDigest keyDigest, CachedKey cachedKey) -> {
+                        final int weight = cacheConfig.isWeighted() ? weigh(keyDigest, cachedKey) : 1;
+                        return cachedKey instanceof CachedKey.PartitionKey partitionKey
+                                ? weight * partitionKey.weight() : weight;
+                    })
+                    .build();
+        } else {
+            return cacheBuilder
+                    .maximumSize(cacheConfig.maximumSize())
+                    .build();
+        }
+    }
+
+    /**
+     * Replaces the cache configuration at runtime. The cached data keys are moved into a cache built with the new
+     * configuration, so only the data keys that no longer fit are dropped. The new cache is published before the
+     * data keys are moved, and the previous cache is emptied afterwards, so a data key loaded into the previous cache
+     * meanwhile is released instead of being leaked.
+     *
+     * @param cacheConfig New {@link CacheConfig} instance
+     */
+    public synchronized void reconfigure(final CacheConfig cacheConfig) {
+        if (this.store != this) {
+            throw new CipherException("A partition is configured by its shared cache");
+        }
+        final Cache<KeyDigest, CachedKey> previousCache = this.cipherCache;
+        final Cache<KeyDigest, CachedKey> newCache = build(cacheConfig);
+        this.cacheConfig = cacheConfig;
+        this.cipherContexts = buildContexts(cacheConfig);
+        this.cipherCache = newCache;
+        previousCache.asMap().forEach(newCache.asMap()::putIfAbsent);
+        // Releases the data keys that were not moved, the moved ones are skipped by the removal listener
+        previousCache.invalidateAll();
+        this.retiredStats = this.retiredStats.plus(previousCache.stats());
+    }
+
+    /**
+     * Gets the current cache configuration.
+     *
+     * @return {@link CacheConfig} instance
+     */
+    public CacheConfig getCacheConfig() {
+        return this.store.cacheConfig;
+    }
+
+    /**
+     * Gets the cumulative cache statistics since the cache was created. A decryption served by a pooled cipher
+     * context counts as a hit of its data key.
+     *
+     * @return {@link CacheStats} instance
+     */
+    public CacheStats stats() {
+        if (this.store != this) {
+            final long missCount = this.misses.sum();
+            final long loadExceptionCount = this.loadExceptions.sum();
+            return new CacheStats(Math.max(0, this.requests.sum() - missCount) + this.contextHits.sum(), missCount,
+                    missCount - loadExceptionCount, loadExceptionCount, this.loadTime.sum(),
+                    this.sizeEvictions.sum() + this.expirations.sum());
+        }
+        return this.retiredStats.plus(this.cipherCache.stats())
+                .plus(new CacheStats(this.contextHits.sum(), 0, 0, 0, 0, 0));
+    }
+
+    /**
+     * Gets the cumulative number of data keys evicted because the cache reached its maximum size or weight.
+     *
+     * @return Number of size evictions
+     */
+    public long sizeEvictionCount() {
+        return this.sizeEvictions.sum();
+    }
+
+    /**
+     * Gets the cumulative number of data keys evicted because they were idle longer than the expire duration.
+     *
+     * @return Number of expirations
+     */
+    public long expirationCount() {
+        return this.expirations.sum();
     }
 
     /**
@@ -59,6 +290,346 @@ public class CipherCache {
      * @return {@link CipherKey} instance
      */
     public CipherKey getDataKey(String encryptedDataKey) {
-        return this.cipherCache.getUnchecked(encryptedDataKey);
+        final KeyDigest keyDigest = digest(encryptedDataKey);
+        notifyAccess(keyDigest);
+        return getDataKey(keyDigest, encryptedDataKey);
+    }
+
+    /**
+     * Decrypts the encrypted text with the data key from cache for a given encrypted data key, reusing an initialized
+     * decryption cipher of the data key when <code>cipherContexts</code> is enabled. A borrowed cipher is returned
+     * to the pool of its data key after a successful decryption, unless the pool already holds
+     * <code>concurrencyLevel</code> ciphers.
+     *
+     * @param encryptedDataKey Encrypted data key string
+     * @param encryptedText    Encrypted text
+     * @param cipher           {@link Cipher} instance
+     *
+     * @return Decrypted text
+     * @throws CipherException if the data key cannot be loaded or the encrypted text fails authentication
+     */
+    public byte[] decrypt(final String encryptedDataKey, final byte[] encryptedText, final Cipher cipher) {
+        return decrypt(encryptedDataKey, encryptedText, null, cipher);
+    }
+
+    /**
+     * Decrypts the encrypted text like {@link #decrypt(String, byte[], Cipher)}, authenticating the associated data
+     * it was encrypted with.
+     *
+     * @param encryptedDataKey Encrypted data key string
+     * @param encryptedText    Encrypted text
+     * @param associatedData   Authenticated associated data, or <code>null</code>
+     * @param cipher           {@link Cipher} instance
+     *
+     * @return Decrypted text
+     * @throws CipherException if the data key cannot be loaded or the encrypted text fails authentication
+     */
+    public byte[] decrypt(final String encryptedDataKey, final byte[] encryptedText, final byte[] associatedData,
+                          final Cipher cipher) {
+        final Cache<KeyDigest, Queue<javax.crypto.Cipher>> contexts = this.store.cipherContexts;
+        if (contexts == null) {
+            return cipher.decrypt(new CipherData(getDataKey(encryptedDataKey), encryptedText), associatedData);
+        }
+        final KeyDigest keyDigest = digest(encryptedDataKey);
+        notifyAccess(keyDigest);
+        final Queue<javax.crypto.Cipher> pool = contexts.asMap()
+                .computeIfAbsent(keyDigest, digest -> new ConcurrentLinkedQueue<>());
+        javax.crypto.Cipher context = pool.poll();
+        // Checked through the map view so the check does not record a hit or a miss
+        if (context != null && !this.store.cipherCache.asMap().containsKey(keyDigest)) {
+            // The data key left the cache while this cipher was borrowed
+            contexts.asMap().remove(keyDigest, pool);
+            context = null;
+        } else if (context != null) {
+            this.contextHits.increment();
+            trackAccess(keyDigest, encryptedDataKey);
+        }
+        if (context == null) {
+            final CipherKey cipherKey = getDataKey(keyDigest, encryptedDataKey);
+            context = cipher.decryptor(cipherKey);
+            if (context == null) {
+                return cipher.decrypt(new CipherData(cipherKey, encryptedText), associatedData);
+            }
+        }
+        try {
+            // The cipher is reset to its initialized state after every decryption
+            if (associatedData != null) {
+                context.updateAAD(associatedData);
+            }
+            final byte[] plainText = context.doFinal(encryptedText);
+            if (pool.size() < this.store.cacheConfig.concurrencyLevel()) {
+                pool.offer(context);
+            }
+            return plainText;
+        } catch (GeneralSecurityException e) {
+            throw new CipherException(e.getMessage(), e);
+        }
+    }
+
+    private void notifyAccess(final KeyDigest keyDigest) {
+        final Consumer<KeyDigest> listener = this.accessListener;
+        if (listener != null) {
+            listener.accept(keyDigest);
+        }
+    }
+
+    private CipherKey getDataKey(final KeyDigest keyDigest, final String encryptedDataKey) {
+        try {
+            while (true) {
+                final Cache<KeyDigest, CachedKey> cache = this.store.cipherCache;
+                final CachedKey cachedKey = cache.get(keyDigest, () -> load(encryptedDataKey));
+                this.requests.increment();
+                final CipherKey cipherKey = cachedKey.cipherKey();
+                if (cache != this.store.cipherCache) {
+                    // The cache was retired during the lookup, so nothing else releases what was loaded into it
+                    cache.asMap().remove(keyDigest, cachedKey);
+                }
+                if (cipherKey != null) {
+                    trackAccess(keyDigest, encryptedDataKey);
+                    return cipherKey;
+                }
+                // The data key was evicted and its slot released while it was read
+                cache.asMap().remove(keyDigest, cachedKey);
+            }
+        } catch (ExecutionException e) {
+            throw new CipherException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Loads a data key for the cache, recording the load statistics of a partition.
+     */
+    private CachedKey load(final String encryptedDataKey) {
+        if (this.store == this) {
+            return cache(this.dataKeyFunc.apply(encryptedDataKey));
+        }
+        final long start = System.nanoTime();
+        try {
+            final CachedKey cachedKey = this.store.cache(this.dataKeyFunc.apply(encryptedDataKey));
+            // Every share already held by the partition adds one to the weight of its new data key
+            return new CachedKey.PartitionKey(cachedKey, this,
+                    1 + (int) Math.min(Integer.MAX_VALUE - 1, this.entries.getAndIncrement() / this.store.partitionShare));
+        } catch (RuntimeException e) {
+            this.loadExceptions.increment();
+            throw e;
+        } finally {
+            this.misses.increment();
+            this.loadTime.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records the removal of a data key of this cache or partition.
+     */
+    private void removed(final KeyDigest keyDigest, final RemovalCause cause) {
+        if (cause == RemovalCause.SIZE) {
+            this.sizeEvictions.increment();
+        } else if (cause == RemovalCause.EXPIRED) {
+            this.expirations.increment();
+        }
+        if (this.store != this) {
+            this.entries.decrementAndGet();
+        }
+        final Cache<KeyDigest, String> trackedKeys = this.hotKeys;
+        if (trackedKeys != null) {
+            trackedKeys.invalidate(keyDigest);
+        }
+    }
+
+    /**
+     * Computes the cache key of an encrypted data key, scoped to the partition id of a partition.
+     */
+    private KeyDigest digest(final String encryptedDataKey) {
+        return this.partitionId == null ? KeyDigest.of(encryptedDataKey) : KeyDigest.of(this.partitionId, encryptedDataKey);
+    }
+
+    /**
+     * Builds the initialized decryption ciphers cache, or returns <code>null</code> if it is disabled.
+     */
+    private Cache<KeyDigest, Queue<javax.crypto.Cipher>> buildContexts(final CacheConfig cacheConfig) {
+        if (cacheConfig.cipherContexts() <= 0) {
+            return null;
+        }
+        return CacheBuilder.newBuilder()
+                .concurrencyLevel(cacheConfig.concurrencyLevel())
+                .maximumSize(cacheConfig.cipherContexts())
+                .expireAfterAccess(cacheConfig.expireDuration(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * Wraps a loaded data key for the cache, moving it off heap when <code>cacheOffHeap</code> is enabled.
+     */
+    private CachedKey cache(final CipherKey cipherKey) {
+        if (this.cacheConfig.offHeap()) {
+            final CachedKey slabKey = this.keySlab.store(cipherKey);
+            if (slabKey != null) {
+                Arrays.fill(cipherKey.dataKey(), (byte) 0);
+                Arrays.fill(cipherKey.iv(), (byte) 0);
+                return slabKey;
+            }
+        }
+        return new CachedKey.HeapKey(cipherKey);
+    }
+
+    /**
+     * Loads the given encrypted data keys into the cache in parallel, using at most <code>concurrency</code>
+     * concurrent data key decryptions, and blocks until all of them are loaded. Data keys that are already cached
+     * are skipped and data keys that fail to decrypt are ignored.
+     *
+     * @param encryptedDataKeys Encrypted data key strings
+     * @param concurrency       Maximum number of concurrent data key decryptions
+     *
+     * @return Number of data keys loaded
+     */
+    public int prewarm(final Iterable<String> encryptedDataKeys, final int concurrency) {
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, concurrency),
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("cipher-cache-warmup-%d").build());
+        try {
+            final List<Future<CipherKey>> loads = new ArrayList<>();
+            for (final String encryptedDataKey : encryptedDataKeys) {
+                if (this.store.cipherCache.getIfPresent(digest(encryptedDataKey)) == null) {
+                    loads.add(executor.submit(() -> getDataKey(encryptedDataKey)));
+                }
+            }
+            int loaded = 0;
+            for (final Future<CipherKey> load : loads) {
+                try {
+                    load.get();
+                    loaded++;
+                } catch (ExecutionException e) {
+                    // A data key that cannot be decrypted is loaded again on demand
+                }
+            }
+            return loaded;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CipherException("Data key cache warmup was interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Sets a listener notified with the {@link KeyDigest} of every data key lookup, e.g. to record an access trace.
+     *
+     * @param accessListener Data key lookup listener or <code>null</code> to remove it
+     */
+    public void setAccessListener(final Consumer<KeyDigest> accessListener) {
+        this.accessListener = accessListener;
+    }
+
+    /**
+     * Starts tracking the encrypted form of the <code>limit</code> most recently used cached data keys, so they can
+     * be listed by {@link #hotDataKeys()}. Tracked keys are dropped when they are evicted from the cache.
+     *
+     * @param limit Maximum number of tracked data keys
+     */
+    public synchronized void trackHotKeys(final int limit) {
+        if (this.hotKeys == null) {
+            this.hotKeys = CacheBuilder.newBuilder().concurrencyLevel(1).maximumSize(limit).build();
+        }
+    }
+
+    /**
+     * Gets the encrypted form of the tracked data keys that are currently cached.
+     *
+     * @return Encrypted data key strings
+     */
+    public List<String> hotDataKeys() {
+        final Cache<KeyDigest, String> trackedKeys = this.hotKeys;
+        return trackedKeys == null ? List.of() : List.copyOf(trackedKeys.asMap().values());
+    }
+
+    private void trackAccess(final KeyDigest keyDigest, final String encryptedDataKey) {
+        final Cache<KeyDigest, String> trackedKeys = this.hotKeys;
+        // A lookup refreshes the recency of a tracked key, a new key replaces the least recently used one
+        if (trackedKeys != null && trackedKeys.getIfPresent(keyDigest) == null) {
+            trackedKeys.put(keyDigest, encryptedDataKey);
+        }
+    }
+
+    /**
+     * Gets the number of data keys currently cached.
+     *
+     * @return Number of cached data keys
+     */
+    public long size() {
+        return this.store == this ? this.cipherCache.size() : this.entries.get();
+    }
+
+    /**
+     * Drops all the data keys of this cache, or of this partition of a shared cache, e.g. when its provider is
+     * discarded.
+     */
+    public void invalidateAll() {
+        if (this.store == this) {
+            this.cipherCache.invalidateAll();
+        } else {
+            this.store.cipherCache.asMap().values().removeIf(cachedKey -> isOwner(cachedKey));
+        }
+    }
+
+    private boolean isOwner(final CachedKey cachedKey) {
+        return this.store == this || cachedKey instanceof CachedKey.PartitionKey partitionKey
+                && partitionKey.partition() == this;
+    }
+
+    /**
+     * Gets the number of data keys having initialized decryption ciphers.
+     */
+    @VisibleForTesting
+    long cipherContextCount() {
+        final Cache<KeyDigest, Queue<javax.crypto.Cipher>> contexts = this.store.cipherContexts;
+        return contexts == null ? 0 : contexts.size();
+    }
+
+    /**
+     * Gets the estimated heap footprint in bytes of all data keys currently cached.
+     *
+     * @return Estimated memory footprint in bytes
+     */
+    public long memoryFootprint() {
+        return this.store.cipherCache.asMap().entrySet().stream()
+                .filter(entry -> isOwner(entry.getValue()))
+                .mapToLong(entry -> weigh(entry.getKey(), entry.getValue()))
+                .sum();
+    }
+
+    /**
+     * Gets the number of bytes allocated outside of the heap for the data keys cached off heap, by all the partitions
+     * of a shared cache.
+     *
+     * @return Allocated bytes
+     */
+    public long offHeapBytes() {
+        return this.store.keySlab.capacity();
+    }
+
+    /**
+     * Estimates the number of bytes retained by a cache entry, accounting for the {@link KeyDigest}, the
+     * {@link CipherKey} arrays and the cache entry overhead.
+     *
+     * @param keyDigest {@link KeyDigest} instance
+     * @param cipherKey {@link CipherKey} instance
+     *
+     * @return Estimated entry weight in bytes
+     */
+    static int weigh(final KeyDigest keyDigest, final CipherKey cipherKey) {
+        return weigh(keyDigest, new CachedKey.HeapKey(cipherKey));
+    }
+
+    /**
+     * Estimates the number of heap bytes retained by a cache entry.
+     */
+    static int weigh(final KeyDigest keyDigest, final CachedKey cachedKey) {
+        return ENTRY_OVERHEAD + KEY_DIGEST_SIZE + cachedKey.heapWeight();
+    }
+
+    /**
+     * Aligns the number of bytes to the 8 bytes object alignment.
+     */
+    static int align(final int bytes) {
+        return (bytes + 7) & ~7;
     }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.cache;
+
+import com.suryadisoft.cipher.exception.CipherException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * <code>KeyDigest</code> is a compact 128-bit cache key computed from the SHA-256 digest of an encrypted data key,
+ * so the cache does not need to retain and compare the full encrypted data key string.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public record KeyDigest(long high, long low) {
+
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new CipherException(e.getMessage(), e);
+        }
+    });
+
+    /**
+     * Computes the {@link KeyDigest} of a given encrypted data key string.
+     *
+     * @param encryptedDataKey Encrypted data key string
+     *
+     * @return {@link KeyDigest} instance
+     */
+    static public KeyDigest of(final String encryptedDataKey) {
+        return of(encryptedDataKey.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Computes the {@link KeyDigest} of a given encrypted data key string in a given partition of a shared cache, so
+     * the same encrypted data key never shares a cache entry across partitions.
+     *
+     * @param partitionId      Partition id
+     * @param encryptedDataKey Encrypted data key string
+     *
+     * @return {@link KeyDigest} instance
+     */
+    static public KeyDigest of(final String partitionId, final String encryptedDataKey) {
+        final MessageDigest digest = DIGEST.get();
+        digest.update(partitionId.getBytes(StandardCharsets.UTF_8));
+        // Encrypted data keys never contain a zero byte
+        digest.update((byte) 0);
+        final ByteBuffer bytes = ByteBuffer.wrap(digest.digest(encryptedDataKey.getBytes(StandardCharsets.US_ASCII)));
+        return new KeyDigest(bytes.getLong(), bytes.getLong());
+    }
+
+    /**
+     * Computes the {@link KeyDigest} of a given bytes array.
+     *
+     * @param bytes Bytes array
+     *
+     * @return {@link KeyDigest} instance
+     */
+    static public KeyDigest of(final byte[] bytes) {
+        final ByteBuffer digest = ByteBuffer.wrap(DIGEST.get().digest(bytes));
+        return new KeyDigest(digest.getLong(), digest.getLong());
+    }
+
+    /**
+     * Transform the {@link KeyDigest} into a 32 characters hex string.
+     *
+     * @return Hex string
+     */
+    public String toHex() {
+        return String.format("%016x%016x", this.high, this.low);
+    }
+
+    /**
+     * Transform a 32 characters hex string into {@link KeyDigest} instance.
+     *
+     * @param hex Hex string
+     *
+     * @return {@link KeyDigest} instance
+     */
+    static public KeyDigest valueOf(final String hex) {
+        return new KeyDigest(Long.parseUnsignedLong(hex.substring(0, 16), 16),
+                Long.parseUnsignedLong(hex.substring(16, 32), 16));
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) this.low;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.cache;
+
+import com.suryadisoft.cipher.data.CipherKey;
+
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <code>KeySlab</code> stores data keys outside of the heap, in direct buffer slabs of fixed size slots, so cached
+ * data keys neither add to the heap nor get copied by the garbage collector. A slot is zeroized as soon as its data
+ * key is released, and every slot has a generation incremented on release, so a reader holding a released slot
+ * detects that the slot was reused instead of reading another data key.
+ * <p>
+ * A slot holds the data key length, the iv length, the data key and the iv. Slabs are allocated on demand and never
+ * shrink, released slots are reused first.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+class KeySlab {
+
+    static final int SLOT_SIZE = 64;
+    static final int SLOTS_PER_SLAB = 1024;
+    /**
+     * Estimated heap bytes used by a {@link SlabKey} handle.
+     */
+    static final int HANDLE_SIZE = 24;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile ByteBuffer[] slabs = new ByteBuffer[0];
+    private volatile AtomicIntegerArray[] generations = new AtomicIntegerArray[0];
+    private int[] freeSlots = new int[0];
+    private int freeCount;
+
+    /**
+     * Stores the data key in a free slot.
+     *
+     * @param cipherKey Data key
+     * @return Slot handle, or <code>null</code> if the data key does not fit in a slot
+     */
+    SlabKey store(final CipherKey cipherKey) {
+        final byte[] dataKey = cipherKey.dataKey();
+        final byte[] iv = cipherKey.iv();
+        if (2 + dataKey.length + iv.length > SLOT_SIZE) {
+            return null;
+        }
+        this.lock.lock();
+        try {
+            if (this.freeCount == 0) {
+                grow();
+            }
+            final int slot = this.freeSlots[--this.freeCount];
+            final ByteBuffer slab = this.slabs[slot / SLOTS_PER_SLAB];
+            final int offset = (slot % SLOTS_PER_SLAB) * SLOT_SIZE;
+            slab.put(offset, (byte) dataKey.length);
+            slab.put(offset + 1, (byte) iv.length);
+            slab.put(offset + 2, dataKey);
+            slab.put(offset + 2 + dataKey.length, iv);
+            return new SlabKey(this, slot, this.generations[slot / SLOTS_PER_SLAB].get(slot % SLOTS_PER_SLAB));
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Copies the data key of a slot onto the heap.
+     *
+     * @param slabKey Slot handle
+     * @return Data key, or <code>null</code> if the slot was released
+     */
+    CipherKey read(final SlabKey slabKey) {
+        final AtomicIntegerArray generation = this.generations[slabKey.slot / SLOTS_PER_SLAB];
+        final int index = slabKey.slot % SLOTS_PER_SLAB;
+        if (generation.get(index) != slabKey.generation) {
+            return null;
+        }
+        final ByteBuffer slab = this.slabs[slabKey.slot / SLOTS_PER_SLAB];
+        final int offset = index * SLOT_SIZE;
+        final byte[] dataKey = new byte[slab.get(offset) & 0xff];
+        final byte[] iv = new byte[slab.get(offset + 1) & 0xff];
+        if (2 + dataKey.length + iv.length > SLOT_SIZE) {
+            return null;
+        }
+        slab.get(offset + 2, dataKey);
+        slab.get(offset + 2 + dataKey.length, iv);
+        // Discard the copy if the slot was released while it was read
+        VarHandle.loadLoadFence();
+        if (generation.get(index) != slabKey.generation) {
+            Arrays.fill(dataKey, (byte) 0);
+            Arrays.fill(iv, (byte) 0);
+            return null;
+        }
+        return new CipherKey(dataKey, iv);
+    }
+
+    /**
+     * Zeroizes the slot and makes it available for another data key.
+     *
+     * @param slabKey Slot handle
+     */
+    void release(final SlabKey slabKey) {
+        this.lock.lock();
+        try {
+            final int index = slabKey.slot % SLOTS_PER_SLAB;
+            if (!this.generations[slabKey.slot / SLOTS_PER_SLAB].compareAndSet(index, slabKey.generation,
+                    slabKey.generation + 1)) {
+                return;
+            }
+            final ByteBuffer slab = this.slabs[slabKey.slot / SLOTS_PER_SLAB];
+            slab.put(index * SLOT_SIZE, new byte[SLOT_SIZE]);
+            this.freeSlots[this.freeCount++] = slabKey.slot;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of bytes allocated outside of the heap.
+     *
+     * @return Allocated bytes
+     */
+    long capacity() {
+        return (long) this.slabs.length * SLOTS_PER_SLAB * SLOT_SIZE;
+    }
+
+    /**
+     * Allocates a new slab, holding the lock.
+     */
+    private void grow() {
+        final int slabCount = this.slabs.length;
+        final ByteBuffer[] slabs = Arrays.copyOf(this.slabs, slabCount + 1);
+        slabs[slabCount] = ByteBuffer.allocateDirect(SLOTS_PER_SLAB * SLOT_SIZE);
+        final AtomicIntegerArray[] generations = Arrays.copyOf(this.generations, slabCount + 1);
+        generations[slabCount] = new AtomicIntegerArray(SLOTS_PER_SLAB);
+        this.generations = generations;
+        this.slabs = slabs;
+        this.freeSlots = Arrays.copyOf(this.freeSlots, this.freeSlots.length + SLOTS_PER_SLAB);
+        for (int i = SLOTS_PER_SLAB - 1; i >= 0; i--) {
+            this.freeSlots[this.freeCount++] = slabCount * SLOTS_PER_SLAB + i;
+        }
+    }
+
+    /**
+     * <code>SlabKey</code> is the handle of a data key stored in a {@link KeySlab} slot.
+     */
+    static final class SlabKey implements CachedKey {
+
+        private final KeySlab keySlab;
+        private final int slot;
+        private final int generation;
+
+        private SlabKey(final KeySlab keySlab, final int slot, final int generation) {
+            this.keySlab = keySlab;
+            this.slot = slot;
+            this.generation = generation;
+        }
+
+        @Override
+        public CipherKey cipherKey() {
+            return this.keySlab.read(this);
+        }
+
+        @Override
+        public int heapWeight() {
+            return HANDLE_SIZE;
+        }
+
+        @Override
+        public void release() {
+            this.keySlab.release(this);
+        }
+    }
+}
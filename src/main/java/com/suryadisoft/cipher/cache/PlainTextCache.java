@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * <code>PlainTextCache</code> caches the decrypted plain texts of recently decrypted cipher texts for a short time, so
+ * repeated decryptions of the same cipher text are a digest and a hash lookup instead of a data key lookup and an
+ * AES-GCM decryption.
+ * <p>
+ * Entries are keyed by the {@link KeyDigest} of the whole cipher text, bounded in number and expired a fixed time
+ * after they were decrypted. Only plain texts up to <code>plainTextMaxLength</code> bytes are cached. A plain text is
+ * zeroized as soon as its entry is evicted or expired, and callers always receive a copy of it.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class PlainTextCache {
+
+    private final Cache<KeyDigest, byte[]> cache;
+    private final int maxLength;
+
+    /**
+     * Creates an instance of {@link PlainTextCache} for a given configuration.
+     *
+     * @param plainTextCacheConfig {@link PlainTextCacheConfig} instance
+     */
+    public PlainTextCache(final PlainTextCacheConfig plainTextCacheConfig) {
+        this.maxLength = plainTextCacheConfig.plainTextMaxLength();
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(plainTextCacheConfig.plainTextCacheSize())
+                .expireAfterWrite(plainTextCacheConfig.plainTextCacheDuration(), TimeUnit.MILLISECONDS)
+                .<KeyDigest, byte[]>removalListener(notification -> Arrays.fill(notification.getValue(), (byte) 0))
+                .build();
+    }
+
+    /**
+     * Gets the plain text of a cipher text from the cache, or decrypts and caches it if it is not cached.
+     *
+     * @param cipherText Encrypted text
+     * @param decryptor  Function decrypting the cipher text
+     * @return Plain text bytes array
+     */
+    public byte[] get(final String cipherText, final Function<String, byte[]> decryptor) {
+        final KeyDigest digest = KeyDigest.of(cipherText);
+        final byte[] cached = this.cache.getIfPresent(digest);
+        if (cached != null) {
+            final byte[] plainText = cached.clone();
+            // The plain text is zeroized after its entry is removed, so the copy is only valid if it is still cached
+            if (this.cache.asMap().get(digest) == cached) {
+                return plainText;
+            }
+        }
+        final byte[] plainText = decryptor.apply(cipherText);
+        if (plainText != null && plainText.length <= this.maxLength) {
+            this.cache.put(digest, plainText.clone());
+        }
+        return plainText;
+    }
+
+    /**
+     * Gets the number of cached plain texts.
+     *
+     * @return Number of cached plain texts
+     */
+    public long size() {
+        return this.cache.size();
+    }
+
+    /**
+     * Removes and zeroizes all cached plain texts.
+     */
+    public void clear() {
+        this.cache.invalidateAll();
+    }
+}
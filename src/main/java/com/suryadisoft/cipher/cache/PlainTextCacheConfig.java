@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.cache;
+
+import java.util.Properties;
+
+/**
+ * <code>PlainTextCacheConfig</code> stores the decrypted plain text cache configuration values.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public record PlainTextCacheConfig(long plainTextCacheSize, long plainTextCacheDuration, int plainTextMaxLength) {
+    public PlainTextCacheConfig() {
+        this(0, 5000, 256);
+    }
+
+    /**
+     * Returns <code>true</code> if the plain text cache is enabled.
+     *
+     * @return <code>true</code> if the plain text cache size is positive
+     */
+    public boolean isEnabled() {
+        return this.plainTextCacheSize > 0;
+    }
+
+    /**
+     * Transform plain text cache configuration properties into {@link PlainTextCacheConfig} record instance.
+     *
+     * @param properties {@link Properties} configuration
+     *
+     * @return {@link PlainTextCacheConfig} record instance
+     */
+    static public PlainTextCacheConfig valueOf(final Properties properties) {
+        final PlainTextCacheConfig plainTextCacheConfig = new PlainTextCacheConfig();
+        return new PlainTextCacheConfig(Long.parseLong(properties.getProperty("plainTextCacheSize", String.valueOf(plainTextCacheConfig.plainTextCacheSize())))
+                , Long.parseLong(properties.getProperty("plainTextCacheDuration", String.valueOf(plainTextCacheConfig.plainTextCacheDuration())))
+                , Integer.parseInt(properties.getProperty("plainTextMaxLength", String.valueOf(plainTextCacheConfig.plainTextMaxLength()))));
+    }
+}
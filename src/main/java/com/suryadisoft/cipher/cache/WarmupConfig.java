@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.cache;
+
+import java.util.Properties;
+
+/**
+ * <code>WarmupConfig</code> stores the data key cache warmup configuration values.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public record WarmupConfig(String warmupFile, int warmupSize, int warmupConcurrency, long warmupInterval) {
+    public WarmupConfig() {
+        this("", 1000, 4, 60000);
+    }
+
+    /**
+     * Returns <code>true</code> if a warmup file is configured.
+     *
+     * @return <code>true</code> if warmup is enabled
+     */
+    public boolean isEnabled() {
+        return !this.warmupFile.isBlank();
+    }
+
+    /**
+     * Transform warmup configuration properties into {@link WarmupConfig} record instance.
+     *
+     * @param properties {@link Properties} configuration
+     *
+     * @return {@link WarmupConfig} record instance
+     */
+    static public WarmupConfig valueOf(final Properties properties) {
+        final WarmupConfig warmupConfig = new WarmupConfig();
+        return new WarmupConfig(properties.getProperty("warmupFile", warmupConfig.warmupFile())
+                , Integer.parseInt(properties.getProperty("warmupSize", String.valueOf(warmupConfig.warmupSize())))
+                , Integer.parseInt(properties.getProperty("warmupConcurrency", String.valueOf(warmupConfig.warmupConcurrency())))
+                , Long.parseLong(properties.getProperty("warmupInterval", String.valueOf(warmupConfig.warmupInterval()))));
+    }
+}
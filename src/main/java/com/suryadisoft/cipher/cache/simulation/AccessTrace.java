@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.cache.simulation;
+
+import com.suryadisoft.cipher.exception.CipherException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * <code>AccessTrace</code> is an anonymized trace of data key cache lookups. Each lookup is stored as its timestamp
+ * in milliseconds and an anonymized 64-bit key id, one <code>timestamp,keyId</code> line per lookup in the trace file.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public record AccessTrace(long[] timestamps, long[] keyIds) {
+
+    /**
+     * Gets the number of lookups in the trace.
+     *
+     * @return Number of lookups
+     */
+    public int size() {
+        return this.timestamps.length;
+    }
+
+    /**
+     * Gets the duration of the trace in milliseconds.
+     *
+     * @return Trace duration in milliseconds
+     */
+    public long duration() {
+        return size() == 0 ? 0 : this.timestamps[size() - 1] - this.timestamps[0];
+    }
+
+    /**
+     * Reads an {@link AccessTrace} from a trace file.
+     *
+     * @param traceFile Trace file path
+     *
+     * @return {@link AccessTrace} instance
+     */
+    static public AccessTrace read(final Path traceFile) {
+        long[] timestamps = new long[1024];
+        long[] keyIds = new long[1024];
+        int size = 0;
+        try (final BufferedReader reader = Files.newBufferedReader(traceFile, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final int separator = line.indexOf(',');
+                if (separator < 0) {
+                    continue;
+                }
+                if (size == timestamps.length) {
+                    timestamps = Arrays.copyOf(timestamps, size * 2);
+                    keyIds = Arrays.copyOf(keyIds, size * 2);
+                }
+                timestamps[size] = Long.parseLong(line.substring(0, separator));
+                keyIds[size] = Long.parseUnsignedLong(line.substring(separator + 1), 16);
+                size++;
+            }
+        } catch (IOException e) {
+            throw new CipherException("Unable to read the access trace file", e);
+        }
+        return new AccessTrace(Arrays.copyOf(timestamps, size), Arrays.copyOf(keyIds, size));
+    }
+}
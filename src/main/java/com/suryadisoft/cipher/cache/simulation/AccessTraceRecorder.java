@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.cache.simulation;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.suryadisoft.cipher.cache.KeyDigest;
+import com.suryadisoft.cipher.exception.CipherException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * <code>AccessTraceRecorder</code> records data key cache lookups into an {@link AccessTrace} file.
+ * <p>
+ * Key ids are anonymized with a keyed SipHash whose random key is never persisted, so a trace cannot be linked back
+ * to the encrypted data keys stored with the data. Lookups are written by a background thread, and lookups are
+ * dropped rather than blocking the caller when the writer falls behind.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class AccessTraceRecorder implements Consumer<KeyDigest>, AutoCloseable {
+
+    private static final int QUEUE_CAPACITY = 65536;
+
+    private final HashFunction anonymizer;
+    private final BlockingQueue<long[]> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final LongAdder dropped = new LongAdder();
+    private final BufferedWriter writer;
+    private final ExecutorService executor;
+
+    private volatile boolean closed;
+
+    /**
+     * Creates an instance of {@link AccessTraceRecorder} writing into a given trace file.
+     *
+     * @param traceFile Trace file path
+     */
+    public AccessTraceRecorder(final Path traceFile) {
+        final SecureRandom secureRandom = new SecureRandom();
+        this.anonymizer = Hashing.sipHash24(secureRandom.nextLong(), secureRandom.nextLong());
+        try {
+            this.writer = Files.newBufferedWriter(traceFile, StandardCharsets.US_ASCII);
+        } catch (IOException e) {
+            throw new CipherException("Unable to create the access trace file", e);
+        }
+        this.executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setDaemon(true).setNameFormat("cipher-cache-trace-%d").build());
+        this.executor.execute(this::drain);
+    }
+
+    @Override
+    public void accept(final KeyDigest keyDigest) {
+        if (this.closed) {
+            return;
+        }
+        final long keyId = this.anonymizer.newHasher()
+                .putLong(keyDigest.high())
+                .putLong(keyDigest.low())
+                .hash().asLong();
+        if (!this.queue.offer(new long[]{System.currentTimeMillis(), keyId})) {
+            this.dropped.increment();
+        }
+    }
+
+    /**
+     * Gets the number of lookups that were dropped because the writer fell behind.
+     *
+     * @return Number of dropped lookups
+     */
+    public long droppedCount() {
+        return this.dropped.sum();
+    }
+
+    private void drain() {
+        final List<long[]> batch = new ArrayList<>();
+        try {
+            while (!this.closed || !this.queue.isEmpty()) {
+                final long[] first = this.queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    this.writer.flush();
+                    continue;
+                }
+                batch.add(first);
+                this.queue.drainTo(batch);
+                for (final long[] access : batch) {
+                    this.writer.write(Long.toString(access[0]));
+                    this.writer.write(',');
+                    this.writer.write(Long.toHexString(access[1]));
+                    this.writer.newLine();
+                }
+                batch.clear();
+            }
+            this.writer.flush();
+        } catch (IOException | InterruptedException e) {
+            this.closed = true;
+        }
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        this.executor.shutdown();
+        try {
+            this.executor.awaitTermination(10, TimeUnit.SECONDS);
+            this.writer.close();
+        } catch (IOException e) {
+            throw new CipherException("Unable to close the access trace file", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.cache.simulation;
+
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * <code>CacheSimulator</code> replays an {@link AccessTrace} against different cache capacities, expire durations
+ * and eviction policies, and reports the hit ratio and the projected kms call rate and cost of each of them. The
+ * simulation only works with anonymized key ids, so it never touches real data keys or the kms provider.
+ * <p>
+ * Usage: <code>CacheSimulator traceFile maximumSizes expireDurations [policies] [kmsCostPer10k]</code>, where the
+ * list arguments are comma separated, e.g. <code>trace.csv 100,1000,10000 10000,600000 LRU,LFU 0.03</code>.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class CacheSimulator {
+
+    /**
+     * Cache eviction policy
+     */
+    public enum EvictionPolicy {
+        LRU, // Least recently used, the policy of the data key cache
+        FIFO, // First in first out
+        LFU; // Least frequently used
+    }
+
+    private final AccessTrace trace;
+    private final double kmsCostPer10k;
+
+    /**
+     * Creates an instance of {@link CacheSimulator} for a given trace and kms price per 10,000 operations.
+     *
+     * @param trace         {@link AccessTrace} instance
+     * @param kmsCostPer10k KMS price per 10,000 operations
+     */
+    public CacheSimulator(final AccessTrace trace, final double kmsCostPer10k) {
+        this.trace = trace;
+        this.kmsCostPer10k = kmsCostPer10k;
+    }
+
+    /**
+     * Replays the trace against every combination of the given cache configurations.
+     *
+     * @param maximumSizes    Maximum cache sizes
+     * @param expireDurations Expire durations after access in milliseconds
+     * @param policies        Eviction policies
+     *
+     * @return {@link SimulationResult} of every combination
+     */
+    public List<SimulationResult> simulate(final int[] maximumSizes, final long[] expireDurations,
+                                           final EvictionPolicy... policies) {
+        final List<SimulationResult> results = new ArrayList<>();
+        for (final EvictionPolicy policy : policies) {
+            for (final int maximumSize : maximumSizes) {
+                for (final long expireDuration : expireDurations) {
+                    results.add(simulate(policy, maximumSize, expireDuration));
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Replays the trace against one cache configuration.
+     *
+     * @param policy         Eviction policy
+     * @param maximumSize    Maximum cache size
+     * @param expireDuration Expire duration after access in milliseconds
+     *
+     * @return {@link SimulationResult} instance
+     */
+    public SimulationResult simulate(final EvictionPolicy policy, final int maximumSize, final long expireDuration) {
+        final SimulatedCache cache = switch (policy) {
+            case LRU -> new LinkedCache(maximumSize, expireDuration, true);
+            case FIFO -> new LinkedCache(maximumSize, expireDuration, false);
+            case LFU -> new LfuCache(maximumSize, expireDuration);
+        };
+        final long[] timestamps = this.trace.timestamps();
+        final long[] keyIds = this.trace.keyIds();
+        long hits = 0;
+        for (int i = 0; i < timestamps.length; i++) {
+            if (cache.access(keyIds[i], timestamps[i])) {
+                hits++;
+            }
+        }
+        final long requests = timestamps.length;
+        final long kmsCalls = requests - hits;
+        final double seconds = Math.max(1.0, this.trace.duration() / 1000.0);
+        return new SimulationResult(policy, maximumSize, expireDuration, requests, hits, kmsCalls / seconds,
+                kmsCalls * this.kmsCostPer10k / 10000);
+    }
+
+    /**
+     * Simulated cache that only tracks key ids.
+     */
+    private interface SimulatedCache {
+        /**
+         * Looks up a key id at a given time, loading it on a miss.
+         *
+         * @return <code>true</code> on a cache hit
+         */
+        boolean access(long keyId, long timestamp);
+    }
+
+    /**
+     * LRU or FIFO cache with expiry after access.
+     */
+    private static class LinkedCache implements SimulatedCache {
+        private final LinkedHashMap<Long, long[]> entries;
+        private final int maximumSize;
+        private final long expireDuration;
+        private final boolean accessOrder;
+
+        LinkedCache(final int maximumSize, final long expireDuration, final boolean accessOrder) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, accessOrder);
+            this.maximumSize = maximumSize;
+            this.expireDuration = expireDuration;
+            this.accessOrder = accessOrder;
+        }
+
+        @Override
+        public boolean access(final long keyId, final long timestamp) {
+            if (this.accessOrder) {
+                // In access order the eldest entries are the first to expire
+                final Iterator<long[]> eldest = this.entries.values().iterator();
+                while (eldest.hasNext() && timestamp - eldest.next()[0] > this.expireDuration) {
+                    eldest.remove();
+                }
+            }
+            final long[] lastAccess = this.entries.get(keyId);
+            if (lastAccess != null && timestamp - lastAccess[0] <= this.expireDuration) {
+                lastAccess[0] = timestamp;
+                return true;
+            }
+            this.entries.remove(keyId);
+            this.entries.put(keyId, new long[]{timestamp});
+            if (this.entries.size() > this.maximumSize) {
+                final Iterator<long[]> eldest = this.entries.values().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+            return false;
+        }
+    }
+
+    /**
+     * LFU cache with expiry after access, evicting the least frequently used and then least recently used key.
+     */
+    private static class LfuCache implements SimulatedCache {
+        private final Map<Long, long[]> entries = new HashMap<>();
+        private final TreeSet<long[]> order = new TreeSet<>(Comparator.<long[]>comparingLong(entry -> entry[1])
+                .thenComparingLong(entry -> entry[2])
+                .thenComparingLong(entry -> entry[0]));
+        private final int maximumSize;
+        private final long expireDuration;
+
+        LfuCache(final int maximumSize, final long expireDuration) {
+            this.maximumSize = maximumSize;
+            this.expireDuration = expireDuration;
+        }
+
+        @Override
+        public boolean access(final long keyId, final long timestamp) {
+            // Entry is {keyId, frequency, lastAccess}
+            final long[] entry = this.entries.get(keyId);
+            if (entry != null) {
+                this.order.remove(entry);
+                if (timestamp - entry[2] <= this.expireDuration) {
+                    entry[1]++;
+                    entry[2] = timestamp;
+                    this.order.add(entry);
+                    return true;
+                }
+                this.entries.remove(keyId);
+            }
+            if (this.entries.size() >= this.maximumSize) {
+                final long[] evicted = this.order.pollFirst();
+                if (evicted != null) {
+                    this.entries.remove(evicted[0]);
+                }
+            }
+            final long[] loaded = new long[]{keyId, 1, timestamp};
+            this.entries.put(keyId, loaded);
+            this.order.add(loaded);
+            return false;
+        }
+    }
+
+    /**
+     * Replays a trace file and prints the results of every cache configuration.
+     *
+     * @param args Trace file, maximum sizes, expire durations, eviction policies and kms price per 10,000 operations
+     */
+    public static void main(final String[] args) {
+        if (args.length < 3) {
+            System.err.println("Usage: CacheSimulator traceFile maximumSizes expireDurations [policies] [kmsCostPer10k]");
+            System.exit(1);
+        }
+        final AccessTrace trace = AccessTrace.read(Paths.get(args[0]));
+        final int[] maximumSizes = Arrays.stream(args[1].split(",")).mapToInt(Integer::parseInt).toArray();
+        final long[] expireDurations = Arrays.stream(args[2].split(",")).mapToLong(Long::parseLong).toArray();
+        final EvictionPolicy[] policies = args.length > 3
+                ? Arrays.stream(args[3].split(",")).map(EvictionPolicy::valueOf).toArray(EvictionPolicy[]::new)
+                : EvictionPolicy.values();
+        final double kmsCostPer10k = args.length > 4 ? Double.parseDouble(args[4]) : 0.03;
+        new CacheSimulator(trace, kmsCostPer10k)
+                .simulate(maximumSizes, expireDurations, policies)
+                .forEach(System.out::println);
+    }
+}
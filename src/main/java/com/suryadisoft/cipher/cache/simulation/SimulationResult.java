@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.cache.simulation;
+
+/**
+ * <code>SimulationResult</code> stores the outcome of replaying an {@link AccessTrace} against one cache
+ * configuration.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public record SimulationResult(CacheSimulator.EvictionPolicy policy, int maximumSize, long expireDuration,
+                               long requests, long hits, double kmsCallsPerSecond, double kmsCost) {
+
+    /**
+     * Gets the ratio of lookups served by the cache.
+     *
+     * @return Hit ratio
+     */
+    public double hitRatio() {
+        return this.requests == 0 ? 1.0 : (double) this.hits / this.requests;
+    }
+
+    /**
+     * Gets the number of lookups that would have called the kms provider.
+     *
+     * @return Number of kms calls
+     */
+    public long kmsCalls() {
+        return this.requests - this.hits;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-4s maximumSize=%-9d expireDuration=%-9d hitRatio=%.4f kmsCalls=%d kmsCalls/s=%.2f cost=%.4f",
+                this.policy, this.maximumSize, this.expireDuration, hitRatio(), kmsCalls(), this.kmsCallsPerSecond,
+                this.kmsCost);
+    }
+}
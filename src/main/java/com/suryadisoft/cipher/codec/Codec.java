@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.codec;
+
+/**
+ * <code>Codec</code> is a compression codec interface, applied to the plain text before encryption. The codec id is
+ * written in the header of the cipher texts it compressed, so it must stay the same for the lifetime of the data.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public interface Codec {
+
+    /**
+     * Return the codec name used in the <code>compression</code> property, e.g. "deflate".
+     *
+     * @return Codec name
+     */
+    String name();
+
+    /**
+     * Return the short codec id written in the cipher text header, e.g. "z". The id never contains a
+     * <code>.</code>, <code>:</code> or <code>}</code>.
+     *
+     * @return Codec id
+     */
+    String id();
+
+    /**
+     * Compresses the bytes array.
+     *
+     * @param bytes Bytes array
+     * @return Compressed bytes array
+     */
+    byte[] compress(final byte[] bytes);
+
+    /**
+     * Decompresses the bytes array, failing when the decompressed bytes array exceeds the maximum length.
+     *
+     * @param bytes     Compressed bytes array
+     * @param maxLength Maximum decompressed length
+     * @return Decompressed bytes array
+     */
+    byte[] decompress(final byte[] bytes, final int maxLength);
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.codec;
+
+import java.util.Properties;
+
+/**
+ * <code>CompressionConfig</code> stores the plain text compression configuration values.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public record CompressionConfig(String compression, int compressionLevel, int compressionThreshold,
+                                int compressionMaxSize) {
+    public CompressionConfig() {
+        this("none", 6, 1024, 64 * 1024 * 1024);
+    }
+
+    /**
+     * Returns <code>true</code> if a compression codec is configured.
+     *
+     * @return <code>true</code> if compression is enabled
+     */
+    public boolean isEnabled() {
+        return !"none".equalsIgnoreCase(this.compression);
+    }
+
+    /**
+     * Transform compression configuration properties into {@link CompressionConfig} record instance.
+     *
+     * @param properties {@link Properties} configuration
+     *
+     * @return {@link CompressionConfig} record instance
+     */
+    static public CompressionConfig valueOf(final Properties properties) {
+        final CompressionConfig compressionConfig = new CompressionConfig();
+        return new CompressionConfig(properties.getProperty("compression", compressionConfig.compression())
+                , Integer.parseInt(properties.getProperty("compressionLevel", String.valueOf(compressionConfig.compressionLevel())))
+                , Integer.parseInt(properties.getProperty("compressionThreshold", String.valueOf(compressionConfig.compressionThreshold())))
+                , Integer.parseInt(properties.getProperty("compressionMaxSize", String.valueOf(compressionConfig.compressionMaxSize()))));
+    }
+}
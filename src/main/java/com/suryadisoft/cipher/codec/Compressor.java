@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.codec;
+
+import com.suryadisoft.cipher.exception.CipherException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * <code>Compressor</code> compresses the plain texts of at least <code>compressionThreshold</code> bytes with the
+ * configured codec before encryption, and decompresses them after decryption with the codec named in the cipher text
+ * header. Decompression is bounded by <code>compressionMaxSize</code> bytes, so a forged cipher text cannot exhaust
+ * the heap. Codecs other than deflate can be added with {@link #register(IntFunction)}.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class Compressor {
+
+    private static final Map<String, IntFunction<Codec>> CODEC_FACTORIES = new ConcurrentHashMap<>();
+    private static final Map<String, Codec> DECOMPRESSORS = new ConcurrentHashMap<>();
+
+    static {
+        register(DeflateCodec::new);
+    }
+
+    private final CompressionConfig compressionConfig;
+    private final Codec codec;
+
+    /**
+     * Creates an instance of {@link Compressor} for a given {@link CompressionConfig}.
+     *
+     * @param compressionConfig {@link CompressionConfig} instance
+     */
+    public Compressor(final CompressionConfig compressionConfig) {
+        this.compressionConfig = compressionConfig;
+        if (compressionConfig.isEnabled()) {
+            final IntFunction<Codec> codecFactory = CODEC_FACTORIES.get(compressionConfig.compression());
+            if (codecFactory == null) {
+                throw new CipherException("Unknown compression codec: " + compressionConfig.compression());
+            }
+            this.codec = codecFactory.apply(compressionConfig.compressionLevel());
+        } else {
+            this.codec = null;
+        }
+    }
+
+    /**
+     * Registers a codec factory, creating a codec for a given compression level.
+     *
+     * @param codecFactory Codec factory
+     */
+    public static void register(final IntFunction<Codec> codecFactory) {
+        final Codec codec = codecFactory.apply(new CompressionConfig().compressionLevel());
+        CODEC_FACTORIES.put(codec.name(), codecFactory);
+        DECOMPRESSORS.put(codec.id(), codec);
+    }
+
+    /**
+     * Compresses the plain text if it is large enough and compression makes it smaller.
+     *
+     * @param plainText Plain text
+     * @return Compressed plain text, or <code>null</code> if the plain text is not compressed
+     */
+    public byte[] compress(final byte[] plainText) {
+        if (this.codec == null || plainText.length < this.compressionConfig.compressionThreshold()) {
+            return null;
+        }
+        final byte[] compressed = this.codec.compress(plainText);
+        return compressed.length < plainText.length ? compressed : null;
+    }
+
+    /**
+     * Gets the id of the codec compressing the plain texts.
+     *
+     * @return Codec id
+     */
+    public String codecId() {
+        return this.codec == null ? null : this.codec.id();
+    }
+
+    /**
+     * Decompresses the plain text with the codec of a given id.
+     *
+     * @param codecId   Codec id from the cipher text header
+     * @param plainText Compressed plain text
+     * @return Plain text
+     */
+    public byte[] decompress(final String codecId, final byte[] plainText) {
+        final Codec decompressor = DECOMPRESSORS.get(codecId);
+        if (decompressor == null) {
+            throw new CipherException("Unknown compression codec id: " + codecId);
+        }
+        return decompressor.decompress(plainText, this.compressionConfig.compressionMaxSize());
+    }
+}
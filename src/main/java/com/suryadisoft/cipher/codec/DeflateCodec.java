@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.codec;
+
+import com.suryadisoft.cipher.exception.CipherException;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * <code>DeflateCodec</code> is a raw deflate {@link Codec} implementation using the JDK {@link Deflater}. Every
+ * thread reuses its own deflater and inflater.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class DeflateCodec implements Codec {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final ThreadLocal<Deflater> deflaters;
+    private final ThreadLocal<Inflater> inflaters = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    /**
+     * Creates an instance of {@link DeflateCodec} with the default compression level.
+     */
+    public DeflateCodec() {
+        this(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Creates an instance of {@link DeflateCodec} for a given compression level, from 1 (fastest) to 9 (smallest).
+     *
+     * @param level Compression level
+     */
+    public DeflateCodec(final int level) {
+        this.deflaters = ThreadLocal.withInitial(() -> new Deflater(level, true));
+    }
+
+    @Override
+    public String name() {
+        return "deflate";
+    }
+
+    @Override
+    public String id() {
+        return "z";
+    }
+
+    @Override
+    public byte[] compress(final byte[] bytes) {
+        final Deflater deflater = this.deflaters.get();
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            final ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length / 4 + 64);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.reset();
+        }
+    }
+
+    @Override
+    public byte[] decompress(final byte[] bytes, final int maxLength) {
+        final Inflater inflater = this.inflaters.get();
+        try {
+            inflater.setInput(bytes);
+            final ByteArrayOutputStream output = new ByteArrayOutputStream(Math.min(maxLength, bytes.length * 4));
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                final int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new CipherException("Truncated compressed text!");
+                }
+                if (output.size() + length > maxLength) {
+                    throw new CipherException("Decompressed text exceeds " + maxLength + " bytes!");
+                }
+                output.write(buffer, 0, length);
+            }
+            return output.toByteArray();
+        } catch (DataFormatException e) {
+            throw new CipherException(e.getMessage(), e);
+        } finally {
+            inflater.reset();
+        }
+    }
+}
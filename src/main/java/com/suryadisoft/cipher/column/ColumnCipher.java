@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.column;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.suryadisoft.cipher.cache.CipherCache;
+import com.suryadisoft.cipher.data.CipherConfig;
+import com.suryadisoft.cipher.data.CipherKey;
+import com.suryadisoft.cipher.data.CipherString;
+import com.suryadisoft.cipher.exception.CipherException;
+import com.suryadisoft.cipher.provider.CipherProvider;
+import com.suryadisoft.cipher.provider.CipherRouter;
+import com.suryadisoft.cipher.util.KeyGenerator;
+
+import javax.crypto.spec.GCMParameterSpec;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * <code>ColumnCipher</code> encrypts and decrypts whole columns of values. Every value still gets its own data key,
+ * encrypted by the kms provider, so each value can also be decrypted on its own, but the encrypted texts are written
+ * directly into a single {@link EncryptedColumn} arena, and the cipher and random generator are reused for all the
+ * values of a range, instead of allocating a cipher, a key and encrypted text arrays and strings for every value.
+ * <p>
+ * Columns are processed in ranges of <code>RANGE_SIZE</code> values by <code>columnConcurrency</code> threads, which
+ * also bound the concurrent kms calls. Values encrypted by a column are not compressed. The column cipher must be
+ * closed to stop its threads.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class ColumnCipher implements AutoCloseable {
+
+    static final int RANGE_SIZE = 1024;
+    private static final int DATA_KEY_SIZE = 32;
+    private static final int IV_SIZE = 16;
+    private static final int TAG_SIZE = 16;
+
+    private final CipherProvider cipherProvider;
+    private final CipherConfig cipherConfig;
+    private final ExecutorService executor;
+
+    /**
+     * Creates an instance of {@link ColumnCipher}.
+     *
+     * @param cipherProvider {@link CipherProvider} instance
+     * @param cipherConfig   {@link CipherConfig} instance
+     * @param columnConfig   {@link ColumnConfig} instance
+     */
+    public ColumnCipher(final CipherProvider cipherProvider, final CipherConfig cipherConfig,
+                        final ColumnConfig columnConfig) {
+        this.cipherProvider = cipherProvider;
+        this.cipherConfig = cipherConfig;
+        this.executor = Executors.newFixedThreadPool(columnConfig.columnConcurrency(), new ThreadFactoryBuilder()
+                .setDaemon(true).setNameFormat("cipher-column-%d").build());
+    }
+
+    /**
+     * Encrypts a column of values, <code>null</code> values stay <code>null</code>.
+     *
+     * @param values Column values
+     * @return {@link EncryptedColumn} instance
+     */
+    public EncryptedColumn encrypt(final byte[][] values) {
+        final int[] inputOffsets = new int[values.length + 1];
+        final boolean[] nulls = new boolean[values.length];
+        for (int i = 0; i < values.length; i++) {
+            nulls[i] = values[i] == null;
+            inputOffsets[i + 1] = inputOffsets[i] + (nulls[i] ? 0 : values[i].length);
+        }
+        final byte[] buffer = new byte[inputOffsets[values.length]];
+        for (int i = 0; i < values.length; i++) {
+            if (!nulls[i]) {
+                System.arraycopy(values[i], 0, buffer, inputOffsets[i], values[i].length);
+            }
+        }
+        return encrypt(buffer, inputOffsets, nulls);
+    }
+
+    /**
+     * Encrypts a column of values packed in a buffer, value <code>i</code> spanning from <code>offsets[i]</code> to
+     * <code>offsets[i + 1]</code>.
+     *
+     * @param buffer  Packed values
+     * @param offsets Value offsets, one more than the number of values
+     * @return {@link EncryptedColumn} instance
+     */
+    public EncryptedColumn encrypt(final byte[] buffer, final int[] offsets) {
+        return encrypt(buffer, offsets, null);
+    }
+
+    private EncryptedColumn encrypt(final byte[] buffer, final int[] inputOffsets, final boolean[] nulls) {
+        final int size = inputOffsets.length - 1;
+        final int[] offsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            // AES-GCM appends its authentication tag to the encrypted text
+            offsets[i + 1] = offsets[i] + (isNull(nulls, i) ? 0 : inputOffsets[i + 1] - inputOffsets[i] + TAG_SIZE);
+        }
+        final byte[] arena = new byte[offsets[size]];
+        final String[] dataKeys = new String[size];
+        final String[] keyIds = new String[1];
+        forEachRange(size, range -> {
+            try {
+                final javax.crypto.Cipher cipher = javax.crypto.Cipher.getInstance(this.cipherConfig.transformation());
+                final SecureRandom secureRandom = new SecureRandom();
+                for (int i = range * RANGE_SIZE; i < Math.min(size, (range + 1) * RANGE_SIZE); i++) {
+                    if (isNull(nulls, i)) {
+                        continue;
+                    }
+                    final CipherKey cipherKey = newDataKey(secureRandom);
+                    cipher.init(javax.crypto.Cipher.ENCRYPT_MODE,
+                            KeyGenerator.createDataKey(cipherKey.dataKey(), this.cipherConfig.algorithm()),
+                            new GCMParameterSpec(TAG_SIZE * 8, cipherKey.iv()));
+                    cipher.doFinal(buffer, inputOffsets[i], inputOffsets[i + 1] - inputOffsets[i], arena, offsets[i]);
+                    final CipherString wrapped = this.cipherProvider.wrap(cipherKey, "");
+                    dataKeys[i] = wrapped.base64DataKey();
+                    keyIds[0] = wrapped.keyId();
+                }
+            } catch (GeneralSecurityException e) {
+                throw new CipherException(e.getMessage(), e);
+            }
+        });
+        return new EncryptedColumn(arena, offsets, dataKeys, keyIds[0]);
+    }
+
+    /**
+     * Decrypts a column of values, <code>null</code> values stay <code>null</code>. When the provider is a
+     * {@link CipherRouter}, the data keys are unwrapped by the provider of the master key that encrypted the column.
+     *
+     * @param column {@link EncryptedColumn} instance
+     * @return Column values
+     */
+    public byte[][] decrypt(final EncryptedColumn column) {
+        final int size = column.size();
+        final byte[][] values = new byte[size][];
+        final CipherProvider provider = this.cipherProvider instanceof CipherRouter cipherRouter
+                ? cipherRouter.route(new CipherString("", "", column.keyId())) : this.cipherProvider;
+        final CipherCache cipherCache = provider.getCipherCache();
+        forEachRange(size, range -> {
+            try {
+                final javax.crypto.Cipher cipher = javax.crypto.Cipher.getInstance(this.cipherConfig.transformation());
+                for (int i = range * RANGE_SIZE; i < Math.min(size, (range + 1) * RANGE_SIZE); i++) {
+                    if (column.dataKeys()[i] == null) {
+                        continue;
+                    }
+                    final CipherKey cipherKey = cipherCache.getDataKey(column.dataKeys()[i]);
+                    cipher.init(javax.crypto.Cipher.DECRYPT_MODE,
+                            KeyGenerator.createDataKey(cipherKey.dataKey(), this.cipherConfig.algorithm()),
+                            new GCMParameterSpec(TAG_SIZE * 8, cipherKey.iv()));
+                    values[i] = cipher.doFinal(column.arena(), column.offsets()[i],
+                            column.offsets()[i + 1] - column.offsets()[i]);
+                }
+            } catch (GeneralSecurityException e) {
+                throw new CipherException(e.getMessage(), e);
+            }
+        });
+        return values;
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+    }
+
+    private void forEachRange(final int size, final IntConsumer action) {
+        try {
+            CompletableFuture.allOf(IntStream.range(0, (size + RANGE_SIZE - 1) / RANGE_SIZE)
+                    .mapToObj(range -> CompletableFuture.runAsync(() -> action.accept(range), this.executor))
+                    .toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof CipherException cipherException ? cipherException
+                    : new CipherException("Unable to process the column range", e.getCause());
+        }
+    }
+
+    private static CipherKey newDataKey(final SecureRandom secureRandom) {
+        final byte[] dataKey = new byte[DATA_KEY_SIZE];
+        final byte[] iv = new byte[IV_SIZE];
+        secureRandom.nextBytes(dataKey);
+        secureRandom.nextBytes(iv);
+        return new CipherKey(dataKey, iv);
+    }
+
+    private static boolean isNull(final boolean[] nulls, final int index) {
+        return nulls != null && nulls[index];
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.column;
+
+import java.util.Properties;
+
+/**
+ * <code>ColumnConfig</code> stores the column encryption configuration values.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public record ColumnConfig(int columnConcurrency) {
+    public ColumnConfig() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Transform column encryption configuration properties into {@link ColumnConfig} record instance.
+     *
+     * @param properties {@link Properties} configuration
+     *
+     * @return {@link ColumnConfig} record instance
+     */
+    static public ColumnConfig valueOf(final Properties properties) {
+        // Defaults to the number of processors when empty
+        final String columnConcurrency = properties.getProperty("columnConcurrency", "").strip();
+        return new ColumnConfig(columnConcurrency.isEmpty() ? new ColumnConfig().columnConcurrency()
+                : Integer.parseInt(columnConcurrency));
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.column;
+
+import com.suryadisoft.cipher.data.CipherString;
+import org.apache.commons.codec.binary.Base64;
+
+import java.util.Arrays;
+
+/**
+ * <code>EncryptedColumn</code> stores the encrypted values of a column. The encrypted texts of all the values are
+ * stored one after the other in a single arena, the encrypted text of value <code>i</code> spans from
+ * <code>offsets[i]</code> to <code>offsets[i + 1]</code>, and its encrypted data key is <code>dataKeys[i]</code>, or
+ * <code>null</code> for a <code>null</code> value. All the data keys are encrypted by the master key with the given
+ * key id.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public record EncryptedColumn(byte[] arena, int[] offsets, String[] dataKeys, String keyId) {
+
+    /**
+     * Gets the number of values of the column.
+     *
+     * @return Number of values
+     */
+    public int size() {
+        return this.dataKeys.length;
+    }
+
+    /**
+     * Gets the encrypted text of a value, without its data key.
+     *
+     * @param index Value index
+     * @return Encrypted text bytes array, or <code>null</code> for a <code>null</code> value
+     */
+    public byte[] cipherText(final int index) {
+        return this.dataKeys[index] == null ? null
+                : Arrays.copyOfRange(this.arena, this.offsets[index], this.offsets[index + 1]);
+    }
+
+    /**
+     * Gets a value as a {@link CipherString}, which can be decrypted on its own.
+     *
+     * @param index Value index
+     * @return {@link CipherString} instance, or <code>null</code> for a <code>null</code> value
+     */
+    public CipherString cipherString(final int index) {
+        return this.dataKeys[index] == null ? null : new CipherString(this.dataKeys[index],
+                Base64.encodeBase64URLSafeString(cipherText(index)), this.keyId);
+    }
+}
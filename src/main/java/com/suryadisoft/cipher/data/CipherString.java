@@ -14,16 +14,78 @@ package com.suryadisoft.cipher.data;
 
 import com.suryadisoft.cipher.exception.CipherException;
 
+import java.nio.charset.StandardCharsets;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * <code>CipherString</code> splits encrypted data key and encrypted text in 2 separate {@link String}.
+ * <p>
+ * The encrypted data key can be tagged with the id of the master key that encrypted it, e.g.
+ * <code>{keyId:base64DataKey}base64CipherText</code>, so the cipher text can be routed to the right kms provider.
+ * The key id never contains a <code>:</code>, which never occurs in a base64 data key either.
+ * <p>
+ * The header can also name the codec that compressed the plain text before encryption, after a <code>.</code>, e.g.
+ * <code>{keyId.codec:base64DataKey}base64CipherText</code> or <code>{.codec:base64DataKey}base64CipherText</code>.
+ * The codec id is authenticated as the associated data of the encrypted text, so the header cannot be changed to
+ * skip or apply a decompression.
  *
  * @author Edward Suryadi
  * @since May 2025
  */
-public record CipherString(String base64DataKey, String base64CipherText) {
+public record CipherString(String base64DataKey, String base64CipherText, String keyId, String codec) {
+
+    private static final Pattern CIPHER_TEXT_PATTERN = Pattern.compile("\\{(?:([^:}]*):)?(.*)}(.*)");
+
+    /**
+     * Creates an untagged {@link CipherString} instance.
+     *
+     * @param base64DataKey    Encrypted data key in base64 string
+     * @param base64CipherText Encrypted text in base64 string
+     */
+    public CipherString(final String base64DataKey, final String base64CipherText) {
+        this(base64DataKey, base64CipherText, null);
+    }
+
+    /**
+     * Creates an uncompressed {@link CipherString} instance.
+     *
+     * @param base64DataKey    Encrypted data key in base64 string
+     * @param base64CipherText Encrypted text in base64 string
+     * @param keyId            Master key id or <code>null</code>
+     */
+    public CipherString(final String base64DataKey, final String base64CipherText, final String keyId) {
+        this(base64DataKey, base64CipherText, keyId, null);
+    }
+
+    /**
+     * Returns a copy of this {@link CipherString} naming the codec that compressed the plain text.
+     *
+     * @param codec Codec id or <code>null</code>
+     * @return {@link CipherString} instance
+     */
+    public CipherString withCodec(final String codec) {
+        return new CipherString(this.base64DataKey, this.base64CipherText, this.keyId, codec);
+    }
+
+    /**
+     * Returns the associated data authenticated with the encrypted text, i.e. the codec id.
+     *
+     * @return Associated data, or <code>null</code> if the plain text was not compressed
+     */
+    public byte[] associatedData() {
+        return associatedData(this.codec);
+    }
+
+    /**
+     * Returns the associated data authenticated with the text encrypted after a given codec compressed it.
+     *
+     * @param codec Codec id or <code>null</code>
+     * @return Associated data, or <code>null</code> if the plain text was not compressed
+     */
+    static public byte[] associatedData(final String codec) {
+        return codec == null ? null : codec.getBytes(StandardCharsets.UTF_8);
+    }
 
     /**
      * Transform encrypted string into {@link CipherString} instance.
@@ -33,10 +95,15 @@ public record CipherString(String base64DataKey, String base64CipherText) {
      * @return {@link CipherString} instance
      */
     static public CipherString valueOf(String cipherText) {
-        final Pattern cipherTextPattern = Pattern.compile("\\{(.*)}(.*)");
-        final Matcher cipher = cipherTextPattern.matcher(cipherText);
+        final Matcher cipher = CIPHER_TEXT_PATTERN.matcher(cipherText);
         if (cipher.find()) {
-            return new CipherString(cipher.group(1), cipher.group(2));
+            final String header = cipher.group(1);
+            final int codecIndex = header == null ? -1 : header.indexOf('.');
+            if (codecIndex < 0) {
+                return new CipherString(cipher.group(2), cipher.group(3), header);
+            }
+            return new CipherString(cipher.group(2), cipher.group(3),
+                    codecIndex == 0 ? null : header.substring(0, codecIndex), header.substring(codecIndex + 1));
         } else {
             throw new CipherException("Invalid cipher text format!");
         }
@@ -44,6 +111,13 @@ public record CipherString(String base64DataKey, String base64CipherText) {
 
     @Override
     public String toString() {
-        return "{" + this.base64DataKey + "}" + this.base64CipherText;
+        if (this.codec != null) {
+            return "{" + (this.keyId == null ? "" : this.keyId) + "." + this.codec + ":" + this.base64DataKey + "}"
+                    + this.base64CipherText;
+        }
+        if (this.keyId == null) {
+            return "{" + this.base64DataKey + "}" + this.base64CipherText;
+        }
+        return "{" + this.keyId + ":" + this.base64DataKey + "}" + this.base64CipherText;
     }
 }
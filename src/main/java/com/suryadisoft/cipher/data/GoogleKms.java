@@ -14,11 +14,16 @@ package com.suryadisoft.cipher.data;
 
 import com.google.cloud.kms.v1.CryptoKeyName;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
 
 /**
  * <code>GoogleKms</code> is a google kms configuration data model that stores google kms project id, location id,
  * key ring id, key id, and google kms api credential file.
+ * <p>
+ * The location id can list several comma separated locations holding equivalent keys, e.g.
+ * <code>us-west2,us-east1</code>, the first one being the primary location.
  *
  * @author Edward Suryadi
  * @since May 2025
@@ -31,13 +36,33 @@ public record GoogleKms(String projectId, String locationId, String keyRingId, S
      * @return {@link CryptoKeyName} instance
      */
     public CryptoKeyName cryptoKeyName() {
+        return cryptoKeyNames().get(0);
+    }
+
+    /**
+     * Transform {@link GoogleKms} into a {@link CryptoKeyName} instance for every location.
+     *
+     * @return {@link CryptoKeyName} instances
+     */
+    public List<CryptoKeyName> cryptoKeyNames() {
         try {
-            return CryptoKeyName.of(this.projectId, this.locationId, this.keyRingId, this.keyId);
+            return locationIds().stream()
+                    .map(location -> CryptoKeyName.of(this.projectId, location, this.keyRingId, this.keyId))
+                    .toList();
         } catch (Exception e) {
             throw new RuntimeException("Unable to create Google KMS CryptoKeyName", e);
         }
     }
 
+    /**
+     * Gets the key ring locations.
+     *
+     * @return Location ids
+     */
+    public List<String> locationIds() {
+        return Arrays.stream(this.locationId.split(",")).map(String::trim).toList();
+    }
+
     /**
      * Transform java {@link Properties} into {@link GoogleKms} instance.
      *
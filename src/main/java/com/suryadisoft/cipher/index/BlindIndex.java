@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.index;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.suryadisoft.cipher.data.CipherString;
+import com.suryadisoft.cipher.exception.CipherException;
+import com.suryadisoft.cipher.provider.CipherProvider;
+import org.apache.commons.codec.binary.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <code>BlindIndex</code> computes keyed HMAC blind indexes of plain texts, so encrypted columns can be searched by
+ * equality without decrypting them. Every column uses its own key derived from the index key, so equal values of
+ * different columns have unrelated indexes, and the HMAC is truncated to <code>blindIndexLength</code> bytes to
+ * trade false positives for less leakage.
+ * <p>
+ * The index key is stored encrypted by the kms provider and decrypted once on first use. Every thread reuses one
+ * initialized {@link Mac} per column.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class BlindIndex {
+
+    private static final byte[] COLUMN_KEY_INFO = "blind-index:".getBytes(StandardCharsets.UTF_8);
+
+    private final BlindIndexConfig blindIndexConfig;
+    private final Supplier<SecretKeySpec> indexKey;
+    private final Map<String, SecretKeySpec> columnKeys = new ConcurrentHashMap<>();
+    private final ThreadLocal<Map<String, Mac>> columnMacs = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * Creates an instance of {@link BlindIndex} decrypting the index key with the given kms provider.
+     *
+     * @param cipherProvider   {@link CipherProvider} instance
+     * @param blindIndexConfig {@link BlindIndexConfig} instance
+     */
+    public BlindIndex(final CipherProvider cipherProvider, final BlindIndexConfig blindIndexConfig) {
+        if (!blindIndexConfig.isEnabled()) {
+            throw new CipherException("Blind index key is not configured!");
+        }
+        this.blindIndexConfig = blindIndexConfig;
+        this.indexKey = Suppliers.memoize(() -> {
+            final byte[] indexKey = cipherProvider.decrypt(CipherString.valueOf(blindIndexConfig.blindIndexKey()));
+            try {
+                return new SecretKeySpec(indexKey, blindIndexConfig.blindIndexAlgorithm());
+            } finally {
+                Arrays.fill(indexKey, (byte) 0);
+            }
+        });
+        final int macLength = newMac(new SecretKeySpec(new byte[32], blindIndexConfig.blindIndexAlgorithm())).getMacLength();
+        if (blindIndexConfig.blindIndexLength() < 1 || blindIndexConfig.blindIndexLength() > macLength) {
+            throw new CipherException("Blind index length must be between 1 and " + macLength + " bytes!");
+        }
+    }
+
+    /**
+     * Computes the blind index of the plain text for a given column.
+     *
+     * @param column    Column name
+     * @param plainText Plain text
+     * @return Blind index in base64 string
+     */
+    public String index(final String column, final String plainText) {
+        return Base64.encodeBase64URLSafeString(index(column, plainText.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Computes the blind index of the bytes array for a given column.
+     *
+     * @param column Column name
+     * @param bytes  Bytes array
+     * @return Blind index
+     */
+    public byte[] index(final String column, final byte[] bytes) {
+        final Mac mac = this.columnMacs.get().computeIfAbsent(column, name -> newMac(columnKey(name)));
+        final byte[] digest = mac.doFinal(bytes);
+        return digest.length == this.blindIndexConfig.blindIndexLength() ? digest
+                : Arrays.copyOf(digest, this.blindIndexConfig.blindIndexLength());
+    }
+
+    /**
+     * Derives the key of a column from the index key.
+     */
+    private SecretKeySpec columnKey(final String column) {
+        return this.columnKeys.computeIfAbsent(column, name -> {
+            final Mac mac = newMac(this.indexKey.get());
+            mac.update(COLUMN_KEY_INFO);
+            final byte[] columnKey = mac.doFinal(name.getBytes(StandardCharsets.UTF_8));
+            try {
+                return new SecretKeySpec(columnKey, this.blindIndexConfig.blindIndexAlgorithm());
+            } finally {
+                Arrays.fill(columnKey, (byte) 0);
+            }
+        });
+    }
+
+    private Mac newMac(final SecretKeySpec key) {
+        try {
+            final Mac mac = Mac.getInstance(this.blindIndexConfig.blindIndexAlgorithm());
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new CipherException(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.index;
+
+import java.util.Properties;
+
+/**
+ * <code>BlindIndexConfig</code> stores the blind index configuration values. The blind index key is the encrypted
+ * text of the index key, as returned by <code>CipherUtil.generateBlindIndexKey</code>.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public record BlindIndexConfig(String blindIndexKey, String blindIndexAlgorithm, int blindIndexLength) {
+    public BlindIndexConfig() {
+        this("", "HmacSHA256", 16);
+    }
+
+    /**
+     * Returns <code>true</code> if a blind index key is configured.
+     *
+     * @return <code>true</code> if blind index is enabled
+     */
+    public boolean isEnabled() {
+        return !this.blindIndexKey.isBlank();
+    }
+
+    /**
+     * Transform blind index configuration properties into {@link BlindIndexConfig} record instance.
+     *
+     * @param properties {@link Properties} configuration
+     *
+     * @return {@link BlindIndexConfig} record instance
+     */
+    static public BlindIndexConfig valueOf(final Properties properties) {
+        final BlindIndexConfig blindIndexConfig = new BlindIndexConfig();
+        return new BlindIndexConfig(properties.getProperty("blindIndexKey", blindIndexConfig.blindIndexKey())
+                , properties.getProperty("blindIndexAlgorithm", blindIndexConfig.blindIndexAlgorithm())
+                , Integer.parseInt(properties.getProperty("blindIndexLength", String.valueOf(blindIndexConfig.blindIndexLength()))));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.index;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.suryadisoft.cipher.AesSiv;
+import com.suryadisoft.cipher.data.CipherString;
+import com.suryadisoft.cipher.exception.CipherException;
+import com.suryadisoft.cipher.provider.CipherProvider;
+import org.apache.commons.codec.binary.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <code>DeterministicCipher</code> encrypts column values deterministically with AES-SIV, so equal plain texts of a
+ * column give equal cipher texts and the database can join, group and look up rows on the encrypted column. Every
+ * column uses its own AES-SIV key derived from the deterministic key, so columns joined together must be encrypted
+ * with the same column name.
+ * <p>
+ * The deterministic key is stored encrypted by the kms provider and decrypted once on first use.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class DeterministicCipher {
+
+    private static final byte[] COLUMN_KEY_INFO = "deterministic:".getBytes(StandardCharsets.UTF_8);
+
+    private final Supplier<SecretKeySpec> deterministicKey;
+    private final Map<String, AesSiv> columnCiphers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an instance of {@link DeterministicCipher} decrypting the deterministic key, as returned by
+     * <code>CipherUtil.generateDeterministicKey</code>, with the given kms provider.
+     *
+     * @param cipherProvider   {@link CipherProvider} instance
+     * @param deterministicKey Encrypted deterministic key
+     */
+    public DeterministicCipher(final CipherProvider cipherProvider, final String deterministicKey) {
+        if (deterministicKey == null || deterministicKey.isBlank()) {
+            throw new CipherException("Deterministic key is not configured!");
+        }
+        this.deterministicKey = Suppliers.memoize(() -> {
+            final byte[] key = cipherProvider.decrypt(CipherString.valueOf(deterministicKey));
+            try {
+                return new SecretKeySpec(key, "HmacSHA512");
+            } finally {
+                Arrays.fill(key, (byte) 0);
+            }
+        });
+    }
+
+    /**
+     * Encrypts the plain text of a column.
+     *
+     * @param column    Column name
+     * @param plainText Plain text
+     * @return Encrypted text in base64 string
+     */
+    public String encrypt(final String column, final byte[] plainText) {
+        return Base64.encodeBase64URLSafeString(columnCipher(column).encrypt(plainText));
+    }
+
+    /**
+     * Decrypts the encrypted text of a column.
+     *
+     * @param column     Column name
+     * @param cipherText Encrypted text in base64 string
+     * @return Plain text
+     */
+    public byte[] decrypt(final String column, final String cipherText) {
+        return columnCipher(column).decrypt(Base64.decodeBase64(cipherText));
+    }
+
+    /**
+     * Gets the AES-SIV cipher of a column keyed by the 512-bit key derived from the deterministic key.
+     */
+    private AesSiv columnCipher(final String column) {
+        return this.columnCiphers.computeIfAbsent(column, name -> {
+            byte[] columnKey = null;
+            try {
+                final Mac mac = Mac.getInstance("HmacSHA512");
+                mac.init(this.deterministicKey.get());
+                mac.update(COLUMN_KEY_INFO);
+                columnKey = mac.doFinal(name.getBytes(StandardCharsets.UTF_8));
+                return new AesSiv(columnKey);
+            } catch (GeneralSecurityException e) {
+                throw new CipherException(e.getMessage(), e);
+            } finally {
+                if (columnKey != null) {
+                    Arrays.fill(columnKey, (byte) 0);
+                }
+            }
+        });
+    }
+}
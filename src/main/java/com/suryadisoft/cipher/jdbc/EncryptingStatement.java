@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * <code>EncryptingStatement</code> is the prepared statement handler of {@link JdbcCipher}. The parameters are
+ * recorded instead of being bound, and are bound to the statement with the encrypted parameters encrypted when the
+ * statement is executed. The parameters of the batched rows are kept until the batch is executed, so the encrypted
+ * parameters of the whole batch are encrypted in parallel.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+class EncryptingStatement implements InvocationHandler {
+
+    private static final Set<String> ENCRYPTED_SETTERS = Set.of("setString", "setNString", "setBytes", "setNull");
+
+    private final PreparedStatement statement;
+    private final JdbcCipher jdbcCipher;
+    private final Set<Integer> encryptedParameters;
+    private final List<Parameter> parameters = new ArrayList<>();
+    private final List<List<Parameter>> batch = new ArrayList<>();
+
+    EncryptingStatement(final PreparedStatement statement, final JdbcCipher jdbcCipher,
+                        final int... encryptedParameters) {
+        this.statement = statement;
+        this.jdbcCipher = jdbcCipher;
+        this.encryptedParameters = Arrays.stream(encryptedParameters).boxed().collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        final String name = method.getName();
+        final int argCount = args == null ? 0 : args.length;
+        if (name.startsWith("set") && argCount >= 2 && args[0] instanceof Integer index) {
+            final boolean encrypted = this.encryptedParameters.contains(index);
+            if (encrypted && !ENCRYPTED_SETTERS.contains(name)) {
+                throw new SQLException("Encrypted parameter " + index + " must be bound with setString or setBytes");
+            }
+            // Replace the previous value of the parameter, like the statement does
+            this.parameters.removeIf(parameter -> parameter.index() == index);
+            this.parameters.add(new Parameter(index, method, args, encrypted));
+            return null;
+        }
+        switch (name) {
+            case "clearParameters" -> this.parameters.clear();
+            case "addBatch" -> {
+                if (argCount == 0) {
+                    this.batch.add(List.copyOf(this.parameters));
+                    return null;
+                }
+            }
+            case "clearBatch" -> this.batch.clear();
+            case "executeBatch", "executeLargeBatch" -> {
+                encrypt(this.batch.stream().flatMap(List::stream).toList());
+                for (final List<Parameter> row : this.batch) {
+                    bind(row);
+                    this.statement.addBatch();
+                }
+                this.batch.clear();
+            }
+            case "execute", "executeQuery", "executeUpdate", "executeLargeUpdate" -> {
+                if (argCount == 0) {
+                    encrypt(this.parameters);
+                    bind(this.parameters);
+                }
+            }
+            default -> {
+            }
+        }
+        final Object result = JdbcCipher.invoke(this.statement, method, args);
+        return result instanceof ResultSet resultSet ? this.jdbcCipher.wrap(resultSet) : result;
+    }
+
+    private void encrypt(final List<Parameter> row) {
+        row.stream().filter(Parameter::encrypted).toList().parallelStream().forEach(this::encrypt);
+    }
+
+    private void encrypt(final Parameter parameter) {
+        final Object value = parameter.method().getName().equals("setNull") ? null : parameter.args()[1];
+        parameter.encryptedValue = value instanceof byte[] bytes ? this.jdbcCipher.cipherUtil().encrypt(bytes)
+                : this.jdbcCipher.cipherUtil().encrypt((String) value);
+    }
+
+    private void bind(final List<Parameter> row) throws Throwable {
+        this.statement.clearParameters();
+        for (final Parameter parameter : row) {
+            if (parameter.encrypted() && parameter.encryptedValue != null) {
+                this.statement.setString(parameter.index(), parameter.encryptedValue);
+            } else {
+                JdbcCipher.invoke(this.statement, parameter.method(), parameter.args());
+            }
+        }
+    }
+
+    /**
+     * Parameter setter call, with its encrypted value once encrypted.
+     */
+    private static final class Parameter {
+
+        private final int index;
+        private final Method method;
+        private final Object[] args;
+        private final boolean encrypted;
+        private volatile String encryptedValue;
+
+        Parameter(final int index, final Method method, final Object[] args, final boolean encrypted) {
+            this.index = index;
+            this.method = method;
+            this.args = args;
+            this.encrypted = encrypted;
+        }
+
+        int index() {
+            return this.index;
+        }
+
+        Method method() {
+            return this.method;
+        }
+
+        Object[] args() {
+            return this.args;
+        }
+
+        boolean encrypted() {
+            return this.encrypted;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.jdbc;
+
+import com.suryadisoft.cipher.util.CipherUtil;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * <code>JdbcCipher</code> wraps JDBC result sets and prepared statements so encrypted columns are handled
+ * transparently. Result sets decrypt an encrypted column only when it is read with <code>getString</code>,
+ * <code>getNString</code>, <code>getBytes</code> or <code>getObject</code>, the other columns are returned as is.
+ * Prepared statements encrypt the parameters bound to encrypted columns when the statement is executed, all the
+ * parameters of a batch are encrypted in parallel when the batch is executed.
+ * <p>
+ * Encrypted columns are matched by their column label, ignoring case, and encrypted parameters by their index.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class JdbcCipher {
+
+    private final CipherUtil cipherUtil;
+    private final Set<String> encryptedColumns;
+
+    /**
+     * Creates an instance of {@link JdbcCipher}.
+     *
+     * @param cipherUtil       {@link CipherUtil} instance
+     * @param encryptedColumns Labels of the encrypted columns
+     */
+    public JdbcCipher(final CipherUtil cipherUtil, final Collection<String> encryptedColumns) {
+        this.cipherUtil = cipherUtil;
+        this.encryptedColumns = encryptedColumns.stream().map(column -> column.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Wraps a result set so its encrypted columns are decrypted when they are read.
+     *
+     * @param resultSet {@link ResultSet} instance
+     * @return Decrypting {@link ResultSet}
+     */
+    public ResultSet wrap(final ResultSet resultSet) {
+        return resultSet == null ? null : (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, new DecryptingResultSet(resultSet, this));
+    }
+
+    /**
+     * Wraps a prepared statement so the parameters at the given indexes are encrypted when the statement is
+     * executed. The result sets of the statement are wrapped too.
+     *
+     * @param statement           {@link PreparedStatement} instance
+     * @param encryptedParameters Indexes of the encrypted parameters, starting at 1
+     * @return Encrypting {@link PreparedStatement}
+     */
+    public PreparedStatement wrap(final PreparedStatement statement, final int... encryptedParameters) {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, new EncryptingStatement(statement, this, encryptedParameters));
+    }
+
+    /**
+     * Creates a prepared statement encrypting the parameters at the given indexes.
+     *
+     * @param connection          {@link Connection} instance
+     * @param sql                 SQL statement
+     * @param encryptedParameters Indexes of the encrypted parameters, starting at 1
+     * @return Encrypting {@link PreparedStatement}
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public PreparedStatement prepareStatement(final Connection connection, final String sql,
+                                              final int... encryptedParameters) throws SQLException {
+        return wrap(connection.prepareStatement(sql), encryptedParameters);
+    }
+
+    CipherUtil cipherUtil() {
+        return this.cipherUtil;
+    }
+
+    boolean isEncrypted(final String columnLabel) {
+        return this.encryptedColumns.contains(columnLabel.toLowerCase(Locale.ROOT));
+    }
+
+    static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Result set handler decrypting the encrypted columns on read.
+     */
+    private static class DecryptingResultSet implements InvocationHandler {
+
+        private final ResultSet resultSet;
+        private final JdbcCipher jdbcCipher;
+        private boolean[] encryptedIndexes;
+
+        DecryptingResultSet(final ResultSet resultSet, final JdbcCipher jdbcCipher) {
+            this.resultSet = resultSet;
+            this.jdbcCipher = jdbcCipher;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            if (args != null && args.length == 1 && isEncrypted(args[0])) {
+                switch (method.getName()) {
+                    case "getString", "getNString", "getObject" -> {
+                        final byte[] plainText = decrypt(args[0]);
+                        return plainText == null ? null : new String(plainText);
+                    }
+                    case "getBytes" -> {
+                        return decrypt(args[0]);
+                    }
+                    default -> {
+                    }
+                }
+            }
+            return JdbcCipher.invoke(this.resultSet, method, args);
+        }
+
+        private byte[] decrypt(final Object column) throws SQLException {
+            final String cipherText = column instanceof Integer index ? this.resultSet.getString(index)
+                    : this.resultSet.getString((String) column);
+            return this.jdbcCipher.cipherUtil().decrypt(cipherText);
+        }
+
+        private boolean isEncrypted(final Object column) throws SQLException {
+            if (column instanceof String columnLabel) {
+                return this.jdbcCipher.isEncrypted(columnLabel);
+            }
+            if (!(column instanceof Integer index)) {
+                return false;
+            }
+            if (this.encryptedIndexes == null) {
+                final ResultSetMetaData metaData = this.resultSet.getMetaData();
+                final boolean[] indexes = new boolean[metaData.getColumnCount() + 1];
+                for (int i = 1; i < indexes.length; i++) {
+                    indexes[i] = this.jdbcCipher.isEncrypted(metaData.getColumnLabel(i));
+                }
+                this.encryptedIndexes = indexes;
+            }
+            return index > 0 && index < this.encryptedIndexes.length && this.encryptedIndexes[index];
+        }
+    }
+}
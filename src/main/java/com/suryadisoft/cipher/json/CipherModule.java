@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBuilder;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.CreatorProperty;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.databind.type.MapType;
+import com.suryadisoft.cipher.cache.WarmupConfig;
+import com.suryadisoft.cipher.data.CipherString;
+import com.suryadisoft.cipher.provider.CipherProvider;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <code>CipherModule</code> is a Jackson module encrypting the {@link Encrypted} properties when serialized and
+ * decrypting them when deserialized, using a {@link CipherProvider}.
+ * <p>
+ * The encrypted fields and setters of a document are decrypted once the whole document is read, after the data keys
+ * of all of them are loaded in a single prewarm pass, instead of loading the data keys field by field. Encrypted
+ * constructor parameters, such as record components, are decrypted as soon as they are read. {@link EncryptedString}
+ * properties are only decrypted when their value is read.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class CipherModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    // Jackson modules are serializable, the provider is not and has to be registered again after deserialization
+    private final transient CipherProvider cipherProvider;
+    private final int prewarmConcurrency;
+
+    /**
+     * Creates an instance of {@link CipherModule} loading the data keys of a document with the default warmup
+     * concurrency.
+     *
+     * @param cipherProvider {@link CipherProvider} instance
+     */
+    public CipherModule(final CipherProvider cipherProvider) {
+        this(cipherProvider, new WarmupConfig().warmupConcurrency());
+    }
+
+    /**
+     * Creates an instance of {@link CipherModule}.
+     *
+     * @param cipherProvider     {@link CipherProvider} instance
+     * @param prewarmConcurrency Maximum number of concurrent data key loads of a document
+     */
+    public CipherModule(final CipherProvider cipherProvider, final int prewarmConcurrency) {
+        super("CipherModule");
+        this.cipherProvider = cipherProvider;
+        this.prewarmConcurrency = prewarmConcurrency;
+        addSerializer(EncryptedString.class, new EncryptedStringSerializer());
+        addDeserializer(EncryptedString.class, new EncryptedStringDeserializer());
+        setDeserializerModifier(new EncryptedDeserializerModifier());
+    }
+
+    @Override
+    public void setupModule(final SetupContext context) {
+        super.setupModule(context);
+        context.insertAnnotationIntrospector(new EncryptedAnnotationIntrospector());
+    }
+
+    /**
+     * Serializes and deserializes the {@link Encrypted} properties. The deserializer is used by the constructor
+     * parameters, the fields and setters are replaced by {@link EncryptedProperty}.
+     */
+    private class EncryptedAnnotationIntrospector extends NopAnnotationIntrospector {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Object findSerializer(final Annotated annotated) {
+            return annotated.hasAnnotation(Encrypted.class) ? new EncryptingSerializer() : null;
+        }
+
+        @Override
+        public Object findDeserializer(final Annotated annotated) {
+            return annotated.hasAnnotation(Encrypted.class) ? new DecryptingDeserializer(String.class) : null;
+        }
+    }
+
+    /**
+     * Replaces the encrypted settable properties and wraps the document deserializers.
+     */
+    private class EncryptedDeserializerModifier extends BeanDeserializerModifier {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public BeanDeserializerBuilder updateBuilder(final DeserializationConfig config, final BeanDescription beanDesc,
+                                                     final BeanDeserializerBuilder builder) {
+            final List<SettableBeanProperty> properties = new ArrayList<>();
+            builder.getProperties().forEachRemaining(properties::add);
+            for (final SettableBeanProperty property : properties) {
+                if (!(property instanceof CreatorProperty) && property.getAnnotation(Encrypted.class) != null) {
+                    builder.addOrReplaceProperty(new EncryptedProperty(property, cipherProvider), true);
+                }
+            }
+            return builder;
+        }
+
+        @Override
+        public JsonDeserializer<?> modifyDeserializer(final DeserializationConfig config, final BeanDescription beanDesc,
+                                                      final JsonDeserializer<?> deserializer) {
+            return new DocumentDeserializer(deserializer);
+        }
+
+        @Override
+        public JsonDeserializer<?> modifyCollectionDeserializer(final DeserializationConfig config, final CollectionType type,
+                                                                final BeanDescription beanDesc, final JsonDeserializer<?> deserializer) {
+            return new DocumentDeserializer(deserializer);
+        }
+
+        @Override
+        public JsonDeserializer<?> modifyMapDeserializer(final DeserializationConfig config, final MapType type,
+                                                         final BeanDescription beanDesc, final JsonDeserializer<?> deserializer) {
+            return new DocumentDeserializer(deserializer);
+        }
+    }
+
+    /**
+     * Deserializer of a value owning the {@link DecryptionBatch} of the document, when it is the document root.
+     */
+    private class DocumentDeserializer extends DelegatingDeserializer {
+
+        private static final long serialVersionUID = 1L;
+
+        DocumentDeserializer(final JsonDeserializer<?> delegatee) {
+            super(delegatee);
+        }
+
+        @Override
+        protected JsonDeserializer<?> newDelegatingInstance(final JsonDeserializer<?> newDelegatee) {
+            return new DocumentDeserializer(newDelegatee);
+        }
+
+        @Override
+        public Object deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+            if (DecryptionBatch.of(ctxt) != null) {
+                return super.deserialize(p, ctxt);
+            }
+            final DecryptionBatch batch = new DecryptionBatch();
+            ctxt.setAttribute(DecryptionBatch.class, batch);
+            try {
+                final Object value = super.deserialize(p, ctxt);
+                batch.decrypt(cipherProvider, prewarmConcurrency);
+                return value;
+            } finally {
+                ctxt.setAttribute(DecryptionBatch.class, null);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object deserialize(final JsonParser p, final DeserializationContext ctxt, final Object intoValue)
+                throws IOException {
+            if (DecryptionBatch.of(ctxt) != null) {
+                return ((JsonDeserializer<Object>) this._delegatee).deserialize(p, ctxt, intoValue);
+            }
+            final DecryptionBatch batch = new DecryptionBatch();
+            ctxt.setAttribute(DecryptionBatch.class, batch);
+            try {
+                final Object value = ((JsonDeserializer<Object>) this._delegatee).deserialize(p, ctxt, intoValue);
+                batch.decrypt(cipherProvider, prewarmConcurrency);
+                return value;
+            } finally {
+                ctxt.setAttribute(DecryptionBatch.class, null);
+            }
+        }
+    }
+
+    /**
+     * Serializer of the {@link Encrypted} properties.
+     */
+    private class EncryptingSerializer extends StdSerializer<Object> {
+
+        private static final long serialVersionUID = 1L;
+
+        EncryptingSerializer() {
+            super(Object.class);
+        }
+
+        @Override
+        public void serialize(final Object value, final JsonGenerator gen, final SerializerProvider provider)
+                throws IOException {
+            final byte[] plainText = value instanceof byte[] bytes ? bytes : value.toString().getBytes();
+            gen.writeString(cipherProvider.encrypt(plainText).toString());
+        }
+    }
+
+    /**
+     * Deserializer of the {@link Encrypted} constructor parameters, decrypting the value immediately.
+     */
+    private class DecryptingDeserializer extends StdDeserializer<Object> implements ContextualDeserializer {
+
+        private static final long serialVersionUID = 1L;
+
+        DecryptingDeserializer(final Class<?> valueClass) {
+            super(valueClass);
+        }
+
+        @Override
+        public JsonDeserializer<?> createContextual(final DeserializationContext ctxt, final BeanProperty property) {
+            return property == null ? this : new DecryptingDeserializer(property.getType().getRawClass());
+        }
+
+        @Override
+        public Object deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() != JsonToken.VALUE_STRING) {
+                return ctxt.handleUnexpectedToken(handledType(), p);
+            }
+            final byte[] plainText = cipherProvider.decrypt(CipherString.valueOf(p.getText()));
+            return handledType() == byte[].class ? plainText : new String(plainText);
+        }
+    }
+
+    /**
+     * Serializer of the {@link EncryptedString} properties, keeping the deserialized cipher text.
+     */
+    private class EncryptedStringSerializer extends StdSerializer<EncryptedString> {
+
+        private static final long serialVersionUID = 1L;
+
+        EncryptedStringSerializer() {
+            super(EncryptedString.class);
+        }
+
+        @Override
+        public void serialize(final EncryptedString value, final JsonGenerator gen, final SerializerProvider provider)
+                throws IOException {
+            gen.writeString(value.cipherText() != null ? value.cipherText()
+                    : cipherProvider.encrypt(value.get().getBytes()).toString());
+        }
+    }
+
+    /**
+     * Deserializer of the {@link EncryptedString} properties, deferring the decryption.
+     */
+    private class EncryptedStringDeserializer extends StdDeserializer<EncryptedString> {
+
+        private static final long serialVersionUID = 1L;
+
+        EncryptedStringDeserializer() {
+            super(EncryptedString.class);
+        }
+
+        @Override
+        public EncryptedString deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() != JsonToken.VALUE_STRING) {
+                return (EncryptedString) ctxt.handleUnexpectedToken(EncryptedString.class, p);
+            }
+            return new EncryptedString(p.getText(), null, cipherProvider);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.json;
+
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.suryadisoft.cipher.data.CipherString;
+import com.suryadisoft.cipher.provider.CipherProvider;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <code>DecryptionBatch</code> collects the encrypted properties of a document while it is deserialized, so their
+ * data keys are loaded in a single prewarm pass and the properties are decrypted and set once the whole document is
+ * read.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+class DecryptionBatch {
+
+    private final List<Pending> pendings = new ArrayList<>();
+
+    /**
+     * Gets the batch of the document being deserialized.
+     *
+     * @param ctxt {@link DeserializationContext} instance
+     * @return {@link DecryptionBatch} instance, or <code>null</code> outside of a document
+     */
+    static DecryptionBatch of(final DeserializationContext ctxt) {
+        return (DecryptionBatch) ctxt.getAttribute(DecryptionBatch.class);
+    }
+
+    void add(final Object instance, final SettableBeanProperty property, final CipherString cipherText) {
+        this.pendings.add(new Pending(instance, property, cipherText));
+    }
+
+    /**
+     * Loads the data keys of the collected properties, then decrypts and sets them.
+     *
+     * @param cipherProvider {@link CipherProvider} instance
+     * @param concurrency    Maximum number of concurrent data key loads
+     * @throws IOException if a property cannot be set
+     */
+    void decrypt(final CipherProvider cipherProvider, final int concurrency) throws IOException {
+        if (this.pendings.isEmpty()) {
+            return;
+        }
+        cipherProvider.prewarm(this.pendings.stream().map(Pending::cipherText).toList(), concurrency);
+        for (final Pending pending : this.pendings) {
+            final byte[] plainText = cipherProvider.decrypt(pending.cipherText());
+            pending.property().set(pending.instance(),
+                    pending.property().getType().getRawClass() == byte[].class ? plainText : new String(plainText));
+        }
+        this.pendings.clear();
+    }
+
+    /**
+     * Encrypted property of a deserialized instance.
+     */
+    private record Pending(Object instance, SettableBeanProperty property, CipherString cipherText) {
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.suryadisoft.cipher.data.CipherString;
+import com.suryadisoft.cipher.provider.CipherProvider;
+
+import java.io.IOException;
+
+/**
+ * <code>EncryptedProperty</code> is a settable {@link Encrypted} property adding its cipher text to the
+ * {@link DecryptionBatch} of the document instead of decrypting it immediately. Outside of a document, the cipher text
+ * is decrypted immediately.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+class EncryptedProperty extends SettableBeanProperty.Delegating {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient CipherProvider cipherProvider;
+
+    EncryptedProperty(final SettableBeanProperty delegate, final CipherProvider cipherProvider) {
+        super(delegate);
+        this.cipherProvider = cipherProvider;
+    }
+
+    @Override
+    protected SettableBeanProperty withDelegate(final SettableBeanProperty delegate) {
+        return new EncryptedProperty(delegate, this.cipherProvider);
+    }
+
+    @Override
+    public void deserializeAndSet(final JsonParser p, final DeserializationContext ctxt, final Object instance)
+            throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            this.delegate.set(instance, null);
+            return;
+        }
+        if (p.currentToken() != JsonToken.VALUE_STRING) {
+            ctxt.reportInputMismatch(this, "Encrypted property '%s' must be a string", getName());
+        }
+        final CipherString cipherText = CipherString.valueOf(p.getText());
+        final DecryptionBatch batch = DecryptionBatch.of(ctxt);
+        if (batch != null) {
+            batch.add(instance, this.delegate, cipherText);
+        } else {
+            final byte[] plainText = this.cipherProvider.decrypt(cipherText);
+            this.delegate.set(instance, getType().getRawClass() == byte[].class ? plainText : new String(plainText));
+        }
+    }
+
+    @Override
+    public Object deserializeSetAndReturn(final JsonParser p, final DeserializationContext ctxt, final Object instance)
+            throws IOException {
+        deserializeAndSet(p, ctxt, instance);
+        return instance;
+    }
+}
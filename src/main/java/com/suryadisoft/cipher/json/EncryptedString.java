@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.json;
+
+import com.suryadisoft.cipher.data.CipherString;
+import com.suryadisoft.cipher.provider.CipherProvider;
+
+import java.util.Objects;
+
+/**
+ * <code>EncryptedString</code> is a string property decrypted only when its value is read. Deserialized by the
+ * {@link CipherModule}, it keeps the cipher text and decrypts it on the first call to {@link #get()}, so documents
+ * can be read without decrypting the values that are never used. Created with {@link #of(String)}, it keeps the
+ * plain text and is encrypted when serialized.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public final class EncryptedString {
+
+    private final String cipherText;
+    private final CipherProvider cipherProvider;
+    private volatile String plainText;
+
+    EncryptedString(final String cipherText, final String plainText, final CipherProvider cipherProvider) {
+        this.cipherText = cipherText;
+        this.plainText = plainText;
+        this.cipherProvider = cipherProvider;
+    }
+
+    /**
+     * Creates an {@link EncryptedString} of a plain text, encrypted when serialized.
+     *
+     * @param plainText Plain text
+     * @return {@link EncryptedString} instance
+     */
+    static public EncryptedString of(final String plainText) {
+        return new EncryptedString(null, Objects.requireNonNull(plainText), null);
+    }
+
+    /**
+     * Gets the plain text, decrypting the cipher text on the first call.
+     *
+     * @return Plain text
+     */
+    public String get() {
+        String value = this.plainText;
+        if (value == null) {
+            value = new String(this.cipherProvider.decrypt(CipherString.valueOf(this.cipherText)));
+            this.plainText = value;
+        }
+        return value;
+    }
+
+    /**
+     * Gets the cipher text this value was deserialized from.
+     *
+     * @return Encrypted text, or <code>null</code> if the value was created from a plain text
+     */
+    public String cipherText() {
+        return this.cipherText;
+    }
+
+    /**
+     * Returns <code>true</code> if the plain text is available without decryption.
+     *
+     * @return <code>true</code> if already decrypted
+     */
+    public boolean isDecrypted() {
+        return this.plainText != null;
+    }
+}
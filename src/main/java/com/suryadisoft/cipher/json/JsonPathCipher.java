@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.suryadisoft.cipher.data.CipherString;
+import com.suryadisoft.cipher.exception.CipherException;
+import com.suryadisoft.cipher.provider.CipherProvider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * <code>JsonPathCipher</code> encrypts or decrypts the values of a set of JSON paths in a JSON stream, copying all the
+ * other tokens as they are, so documents of any size are processed without reading them into a tree.
+ * <p>
+ * The paths start with <code>$</code> and are made of <code>.name</code>, <code>.*</code>, <code>[n]</code> and
+ * <code>[*]</code> segments, e.g. <code>$.customers[*].ssn</code>. Only scalar values are encrypted, as strings, and
+ * <code>null</code> values are kept. A path matching an object or an array fails with a {@link CipherException}
+ * rather than leaving its content in plain text. The matching values are encrypted by <code>concurrency</code> threads, and the
+ * tokens following a value being encrypted are buffered until up to <code>batchSize</code> values are encrypted, so
+ * the memory used only depends on the batch size. The streams are not closed.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class JsonPathCipher implements AutoCloseable {
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+    /**
+     * Maximum number of tokens buffered behind the values being encrypted.
+     */
+    private static final int MAX_BUFFERED_TOKENS = 65536;
+
+    private final CipherProvider cipherProvider;
+    private final List<List<Segment>> paths;
+    private final int batchSize;
+    private final ExecutorService executor;
+
+    /**
+     * Creates an instance of {@link JsonPathCipher} with 8 threads and batches of 1000 values.
+     *
+     * @param cipherProvider {@link CipherProvider} instance
+     * @param paths          JSON paths of the encrypted values
+     */
+    public JsonPathCipher(final CipherProvider cipherProvider, final Collection<String> paths) {
+        this(cipherProvider, paths, 8, 1000);
+    }
+
+    /**
+     * Creates an instance of {@link JsonPathCipher}.
+     *
+     * @param cipherProvider {@link CipherProvider} instance
+     * @param paths          JSON paths of the encrypted values
+     * @param concurrency    Number of encrypting threads
+     * @param batchSize      Maximum number of values encrypted ahead of the output
+     */
+    public JsonPathCipher(final CipherProvider cipherProvider, final Collection<String> paths, final int concurrency,
+                          final int batchSize) {
+        this.cipherProvider = cipherProvider;
+        this.paths = paths.stream().map(JsonPathCipher::parse).toList();
+        this.batchSize = batchSize;
+        this.executor = Executors.newFixedThreadPool(concurrency, new ThreadFactoryBuilder()
+                .setDaemon(true).setNameFormat("cipher-json-%d").build());
+    }
+
+    /**
+     * Encrypts the values of the JSON paths of the input JSON stream into the output stream.
+     *
+     * @param in  JSON input stream
+     * @param out JSON output stream
+     * @return Number of values encrypted
+     */
+    public long encrypt(final InputStream in, final OutputStream out) {
+        return process(in, out, plainText -> this.cipherProvider.encrypt(plainText.getBytes()).toString());
+    }
+
+    /**
+     * Decrypts the values of the JSON paths of the input JSON stream into the output stream.
+     *
+     * @param in  JSON input stream
+     * @param out JSON output stream
+     * @return Number of values decrypted
+     */
+    public long decrypt(final InputStream in, final OutputStream out) {
+        return process(in, out, cipherText -> new String(this.cipherProvider.decrypt(CipherString.valueOf(cipherText))));
+    }
+
+    private long process(final InputStream in, final OutputStream out, final Function<String, String> transform) {
+        try (JsonParser parser = JSON_FACTORY.createParser(in);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            final Batch batch = new Batch(generator);
+            long count = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token.isScalarValue() && token != JsonToken.VALUE_NULL && matches(parser.getParsingContext())) {
+                    final String text = parser.getText();
+                    batch.add(CompletableFuture.supplyAsync(() -> transform.apply(text), this.executor));
+                    count++;
+                } else if (token.isStructStart() && matches(parser.getParsingContext().getParent())) {
+                    throw new CipherException("JSON path matches a structured value at "
+                            + parser.getParsingContext().getParent().pathAsPointer());
+                } else {
+                    batch.copy(parser);
+                }
+                if (batch.isFull()) {
+                    batch.flush();
+                }
+            }
+            batch.flush();
+            return count;
+        } catch (IOException e) {
+            throw new CipherException("Unable to process the JSON stream", e);
+        }
+    }
+
+    private boolean matches(final JsonStreamContext context) {
+        for (final List<Segment> path : this.paths) {
+            int i = path.size() - 1;
+            JsonStreamContext current = context;
+            while (i >= 0 && !current.inRoot() && path.get(i).matches(current)) {
+                current = current.getParent();
+                i--;
+            }
+            if (i < 0 && current.inRoot()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static List<Segment> parse(final String path) {
+        if (!path.startsWith("$")) {
+            throw new CipherException("Invalid JSON path: " + path);
+        }
+        final List<Segment> segments = new ArrayList<>();
+        int i = 1;
+        while (i < path.length()) {
+            if (path.charAt(i) == '.') {
+                int end = i + 1;
+                while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                if (end == i + 1) {
+                    throw new CipherException("Invalid JSON path: " + path);
+                }
+                segments.add(new Segment(false, path.substring(i + 1, end), -1));
+                i = end;
+            } else if (path.charAt(i) == '[') {
+                final int end = path.indexOf(']', i);
+                if (end < 0) {
+                    throw new CipherException("Invalid JSON path: " + path);
+                }
+                final String index = path.substring(i + 1, end);
+                try {
+                    segments.add(new Segment(true, null, index.equals("*") ? -1 : Integer.parseInt(index)));
+                } catch (NumberFormatException e) {
+                    throw new CipherException("Invalid JSON path: " + path, e);
+                }
+                i = end + 1;
+            } else {
+                throw new CipherException("Invalid JSON path: " + path);
+            }
+        }
+        return segments;
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * JSON path segment, an object field name or <code>*</code>, or an array index or <code>-1</code> for any index.
+     */
+    record Segment(boolean array, String name, int index) {
+
+        boolean matches(final JsonStreamContext context) {
+            return this.array ? context.inArray() && (this.index < 0 || this.index == context.getCurrentIndex())
+                    : context.inObject() && (this.name.equals("*") || this.name.equals(context.getCurrentName()));
+        }
+    }
+
+    /**
+     * Output waiting for the values being encrypted, alternating buffered tokens and encrypted values. Tokens are
+     * written directly while no value is being encrypted.
+     */
+    private class Batch {
+
+        private final JsonGenerator generator;
+        private final List<Object> segments = new ArrayList<>();
+        private TokenBuffer tokenBuffer;
+        private int values;
+        private int tokens;
+
+        Batch(final JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        void copy(final JsonParser parser) throws IOException {
+            if (this.segments.isEmpty()) {
+                this.generator.copyCurrentEvent(parser);
+                return;
+            }
+            if (this.tokenBuffer == null) {
+                this.tokenBuffer = new TokenBuffer(parser);
+                this.segments.add(this.tokenBuffer);
+            }
+            this.tokenBuffer.copyCurrentEvent(parser);
+            this.tokens++;
+        }
+
+        void add(final CompletableFuture<String> value) {
+            this.segments.add(value);
+            this.tokenBuffer = null;
+            this.values++;
+        }
+
+        boolean isFull() {
+            return this.values >= batchSize || this.tokens >= MAX_BUFFERED_TOKENS;
+        }
+
+        @SuppressWarnings("unchecked")
+        void flush() throws IOException {
+            for (final Object segment : this.segments) {
+                if (segment instanceof TokenBuffer buffer) {
+                    buffer.serialize(this.generator);
+                } else {
+                    try {
+                        this.generator.writeString(((CompletableFuture<String>) segment).join());
+                    } catch (CompletionException e) {
+                        throw e.getCause() instanceof CipherException cipherException ? cipherException
+                                : new CipherException("Unable to process the JSON value", e.getCause());
+                    }
+                }
+            }
+            this.segments.clear();
+            this.tokenBuffer = null;
+            this.values = 0;
+            this.tokens = 0;
+        }
+    }
+}
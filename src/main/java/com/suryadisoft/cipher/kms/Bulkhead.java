@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.kms;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <code>Bulkhead</code> limits the number of concurrent kms calls of one operation with an AIMD (additive
+ * increase, multiplicative decrease) adaptive limit: the limit grows by one every time a full window of calls
+ * completes under the latency threshold, and halves when a call is slower than the threshold or is rejected by the
+ * kms provider because the quota is exhausted. The limit halves at most once per congestion window: calls sent before
+ * the last decrease already contributed to the congestion it reacted to, so their outcome does not halve the limit
+ * again. Callers above the limit wait in a queue.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class Bulkhead {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = this.lock.newCondition();
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+
+    private double limit;
+    private int inFlight;
+    private int queued;
+    private long completed;
+    private long rejected;
+    private long overloads;
+    private long queueNanos;
+    private long admitted;
+    private long lastDecreaseNanos = System.nanoTime();
+
+    /**
+     * Creates an instance of {@link Bulkhead} for a given {@link KmsGovernorConfig}.
+     *
+     * @param config {@link KmsGovernorConfig} instance
+     */
+    public Bulkhead(final KmsGovernorConfig config) {
+        this.minLimit = Math.max(1, config.kmsMinConcurrency());
+        this.maxLimit = Math.max(this.minLimit, config.kmsMaxConcurrency());
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, config.kmsInitialConcurrency()));
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(config.kmsLatencyThreshold());
+    }
+
+    /**
+     * Waits until a call can be admitted under the current limit.
+     *
+     * @param timeoutNanos Maximum time to wait in nanoseconds
+     *
+     * @return <code>true</code> if the call is admitted, <code>false</code> if the wait timed out
+     *
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public boolean acquire(final long timeoutNanos) throws InterruptedException {
+        final long start = System.nanoTime();
+        this.lock.lock();
+        try {
+            long remaining = timeoutNanos;
+            this.queued++;
+            try {
+                while (this.inFlight >= (int) this.limit) {
+                    if (remaining <= 0) {
+                        this.rejected++;
+                        return false;
+                    }
+                    remaining = this.available.awaitNanos(remaining);
+                }
+            } finally {
+                this.queued--;
+            }
+            this.inFlight++;
+            this.admitted++;
+            this.queueNanos += System.nanoTime() - start;
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Releases an admitted call and adapts the limit to its outcome.
+     *
+     * @param latencyNanos Call latency in nanoseconds, ending now
+     * @param overloaded   <code>true</code> if the kms provider rejected the call because the quota is exhausted
+     */
+    public void release(final long latencyNanos, final boolean overloaded) {
+        final long now = System.nanoTime();
+        this.lock.lock();
+        try {
+            this.inFlight--;
+            this.completed++;
+            if (overloaded || latencyNanos > this.latencyThresholdNanos) {
+                this.overloads++;
+                if (now - latencyNanos - this.lastDecreaseNanos >= 0) {
+                    this.limit = Math.max(this.minLimit, this.limit / 2);
+                    this.lastDecreaseNanos = now;
+                }
+            } else {
+                this.limit = Math.min(this.maxLimit, this.limit + 1 / this.limit);
+            }
+            this.available.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets a snapshot of the queueing metrics.
+     *
+     * @return {@link BulkheadMetrics} instance
+     */
+    public BulkheadMetrics metrics() {
+        this.lock.lock();
+        try {
+            final double averageQueueMillis = this.admitted == 0 ? 0
+                    : (double) this.queueNanos / this.admitted / TimeUnit.MILLISECONDS.toNanos(1);
+            return new BulkheadMetrics((int) this.limit, this.inFlight, this.queued, this.completed, this.rejected,
+                    this.overloads, averageQueueMillis);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.kms;
+
+import java.util.Properties;
+
+/**
+ * <code>KmsContext</code> holds the components governing the calls of a kms client: the {@link KmsGovernor} enforcing
+ * the kms quota, the {@link KmsRequestExecutor} bounding the latency of every call and the {@link KmsRouter} tracking
+ * the health of every location. Providers calling kms with the same credential share one context, so the quota is
+ * enforced once for all of them.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public record KmsContext(KmsGovernor kmsGovernor, KmsRequestExecutor kmsExecutor, KmsRouter kmsRouter) {
+
+    /**
+     * Transform kms governor and request configuration properties into {@link KmsContext} record instance.
+     *
+     * @param properties {@link Properties} configuration
+     *
+     * @return {@link KmsContext} record instance
+     */
+    static public KmsContext valueOf(final Properties properties) {
+        final KmsRequestConfig kmsRequestConfig = KmsRequestConfig.valueOf(properties);
+        final KmsGovernor kmsGovernor = new KmsGovernor(KmsGovernorConfig.valueOf(properties));
+        return new KmsContext(kmsGovernor, new KmsRequestExecutor(kmsRequestConfig, kmsGovernor),
+                new KmsRouter(kmsRequestConfig));
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.kms;
+
+import com.google.api.gax.rpc.ApiException;
+import com.google.api.gax.rpc.StatusCode;
+import com.google.common.util.concurrent.RateLimiter;
+import com.suryadisoft.cipher.exception.CipherException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * <code>KmsGovernor</code> is a client-side governor around kms calls. Every call goes through a token bucket rate
+ * limiter shared by all operations, matching the kms quota, and then through the {@link Bulkhead} of its operation,
+ * so a burst of decryptions cannot starve encryptions and vice versa. Calls that cannot get a token and a slot
+ * within the queue timeout fail fast with a {@link CipherException} instead of piling up on the kms provider.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class KmsGovernor {
+
+    /**
+     * KMS operation
+     */
+    public enum Operation {
+        ENCRYPT, // Data key encryption
+        DECRYPT; // Data key decryption
+    }
+
+    private final KmsGovernorConfig config;
+    private final RateLimiter rateLimiter;
+    private final Map<Operation, Bulkhead> bulkheads = new EnumMap<>(Operation.class);
+
+    /**
+     * Creates an instance of {@link KmsGovernor} for a given {@link KmsGovernorConfig}.
+     *
+     * @param config {@link KmsGovernorConfig} instance
+     */
+    public KmsGovernor(final KmsGovernorConfig config) {
+        this.config = config;
+        this.rateLimiter = config.kmsRateLimit() > 0 ? RateLimiter.create(config.kmsRateLimit()) : null;
+        for (final Operation operation : Operation.values()) {
+            this.bulkheads.put(operation, new Bulkhead(config));
+        }
+    }
+
+    /**
+     * Calls the kms provider once the rate limit and the concurrency limit of the operation allow it.
+     *
+     * @param operation {@link Operation} type
+     * @param kmsCall   KMS call
+     * @param <T>       KMS call response type
+     *
+     * @return KMS call response
+     */
+    public <T> T call(final Operation operation, final Supplier<T> kmsCall) {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.config.kmsQueueTimeout());
+        final Bulkhead bulkhead = this.bulkheads.get(operation);
+        try {
+            if (!bulkhead.acquire(deadline - System.nanoTime())) {
+                throw new CipherException("KMS " + operation + " concurrency limit exceeded");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CipherException("Interrupted while waiting for KMS " + operation, e);
+        }
+        long start = System.nanoTime();
+        boolean overloaded = false;
+        try {
+            if (this.rateLimiter != null
+                    && !this.rateLimiter.tryAcquire(Math.max(0, deadline - start), TimeUnit.NANOSECONDS)) {
+                throw new CipherException("KMS " + operation + " rate limit exceeded");
+            }
+            // Only the kms call latency drives the concurrency limit, not the time spent waiting for a token
+            start = System.nanoTime();
+            return kmsCall.get();
+        } catch (ApiException e) {
+            overloaded = isResourceExhausted(e);
+            throw e;
+        } finally {
+            bulkhead.release(System.nanoTime() - start, overloaded);
+        }
+    }
+
+    /**
+     * Gets a snapshot of the queueing metrics of an operation.
+     *
+     * @param operation {@link Operation} type
+     *
+     * @return {@link BulkheadMetrics} instance
+     */
+    public BulkheadMetrics metrics(final Operation operation) {
+        return this.bulkheads.get(operation).metrics();
+    }
+
+    /**
+     * Returns <code>true</code> if the kms provider rejected the call because the quota is exhausted.
+     */
+    static boolean isResourceExhausted(final ApiException e) {
+        return e.getStatusCode().getCode() == StatusCode.Code.RESOURCE_EXHAUSTED;
+    }
+}
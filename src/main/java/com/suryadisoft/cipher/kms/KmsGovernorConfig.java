@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.kms;
+
+import java.util.Properties;
+
+/**
+ * <code>KmsGovernorConfig</code> stores the kms call rate limit and concurrency limit configuration values.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public record KmsGovernorConfig(double kmsRateLimit, int kmsInitialConcurrency, int kmsMinConcurrency,
+                                int kmsMaxConcurrency, long kmsLatencyThreshold, long kmsQueueTimeout) {
+    public KmsGovernorConfig() {
+        this(0, 16, 1, 64, 500, 5000);
+    }
+
+    /**
+     * Transform kms governor configuration properties into {@link KmsGovernorConfig} record instance.
+     *
+     * @param properties {@link Properties} configuration
+     *
+     * @return {@link KmsGovernorConfig} record instance
+     */
+    static public KmsGovernorConfig valueOf(final Properties properties) {
+        final KmsGovernorConfig config = new KmsGovernorConfig();
+        return new KmsGovernorConfig(Double.parseDouble(properties.getProperty("kmsRateLimit", String.valueOf(config.kmsRateLimit())))
+                , Integer.parseInt(properties.getProperty("kmsInitialConcurrency", String.valueOf(config.kmsInitialConcurrency())))
+                , Integer.parseInt(properties.getProperty("kmsMinConcurrency", String.valueOf(config.kmsMinConcurrency())))
+                , Integer.parseInt(properties.getProperty("kmsMaxConcurrency", String.valueOf(config.kmsMaxConcurrency())))
+                , Long.parseLong(properties.getProperty("kmsLatencyThreshold", String.valueOf(config.kmsLatencyThreshold())))
+                , Long.parseLong(properties.getProperty("kmsQueueTimeout", String.valueOf(config.kmsQueueTimeout()))));
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.kms;
+
+import java.util.Properties;
+
+/**
+ * <code>KmsRequestConfig</code> stores the kms request deadline, hedging, retry and failover configuration values.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public record KmsRequestConfig(long kmsDeadline, boolean kmsHedging, long kmsHedgeMinDelay, int kmsMaxRetries,
+                               long kmsRetryBaseDelay, long kmsRetryMaxDelay, int kmsFailoverThreshold,
+                               long kmsEjectDuration) {
+    public KmsRequestConfig() {
+        this(10000, true, 20, 3, 50, 2000, 3, 30000);
+    }
+
+    public KmsRequestConfig(long kmsDeadline, boolean kmsHedging, long kmsHedgeMinDelay, int kmsMaxRetries,
+                            long kmsRetryBaseDelay, long kmsRetryMaxDelay) {
+        this(kmsDeadline, kmsHedging, kmsHedgeMinDelay, kmsMaxRetries, kmsRetryBaseDelay, kmsRetryMaxDelay, 3, 30000);
+    }
+
+    /**
+     * Transform kms request configuration properties into {@link KmsRequestConfig} record instance.
+     *
+     * @param properties {@link Properties} configuration
+     *
+     * @return {@link KmsRequestConfig} record instance
+     */
+    static public KmsRequestConfig valueOf(final Properties properties) {
+        final KmsRequestConfig config = new KmsRequestConfig();
+        return new KmsRequestConfig(Long.parseLong(properties.getProperty("kmsDeadline", String.valueOf(config.kmsDeadline())))
+                , Boolean.parseBoolean(properties.getProperty("kmsHedging", String.valueOf(config.kmsHedging())))
+                , Long.parseLong(properties.getProperty("kmsHedgeMinDelay", String.valueOf(config.kmsHedgeMinDelay())))
+                , Integer.parseInt(properties.getProperty("kmsMaxRetries", String.valueOf(config.kmsMaxRetries())))
+                , Long.parseLong(properties.getProperty("kmsRetryBaseDelay", String.valueOf(config.kmsRetryBaseDelay())))
+                , Long.parseLong(properties.getProperty("kmsRetryMaxDelay", String.valueOf(config.kmsRetryMaxDelay())))
+                , Integer.parseInt(properties.getProperty("kmsFailoverThreshold", String.valueOf(config.kmsFailoverThreshold())))
+                , Long.parseLong(properties.getProperty("kmsEjectDuration", String.valueOf(config.kmsEjectDuration()))));
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.kms;
+
+import com.google.api.gax.rpc.ApiException;
+import com.google.api.gax.rpc.StatusCode;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.suryadisoft.cipher.exception.CipherException;
+import com.suryadisoft.cipher.kms.KmsGovernor.Operation;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * <code>KmsRequestExecutor</code> bounds the latency of kms calls:
+ * <ul>
+ *     <li>Every call must complete within the deadline, including its retries and hedged requests.</li>
+ *     <li>Calls failing with a retryable status are retried with exponential backoff and full jitter.</li>
+ *     <li>Decryptions are hedged: when the first request is slower than the observed 95th percentile latency, a
+ *     duplicate request is sent and the first answer wins.</li>
+ * </ul>
+ * Every request, including hedged ones, goes through the {@link KmsGovernor}, so hedging never exceeds the kms quota.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class KmsRequestExecutor {
+
+    private static final Set<StatusCode.Code> RETRYABLE_CODES = EnumSet.of(StatusCode.Code.UNAVAILABLE,
+            StatusCode.Code.DEADLINE_EXCEEDED, StatusCode.Code.RESOURCE_EXHAUSTED, StatusCode.Code.ABORTED);
+
+    private final KmsRequestConfig config;
+    private final KmsGovernor kmsGovernor;
+    private final Map<Operation, LatencyTracker> latencyTrackers = new EnumMap<>(Operation.class);
+    private final ExecutorService executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+            .setDaemon(true).setNameFormat("cipher-kms-request-%d").build());
+
+    /**
+     * Creates an instance of {@link KmsRequestExecutor} for a given {@link KmsRequestConfig} and
+     * {@link KmsGovernor}.
+     *
+     * @param config      {@link KmsRequestConfig} instance
+     * @param kmsGovernor {@link KmsGovernor} instance
+     */
+    public KmsRequestExecutor(final KmsRequestConfig config, final KmsGovernor kmsGovernor) {
+        this.config = config;
+        this.kmsGovernor = kmsGovernor;
+        for (final Operation operation : Operation.values()) {
+            this.latencyTrackers.put(operation, new LatencyTracker(0.95));
+        }
+    }
+
+    /**
+     * Calls the kms provider within the deadline, retrying and hedging the call when needed.
+     *
+     * @param operation {@link Operation} type
+     * @param kmsCall   KMS call
+     * @param <T>       KMS call response type
+     *
+     * @return KMS call response
+     */
+    public <T> T call(final Operation operation, final Supplier<T> kmsCall) {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.config.kmsDeadline());
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return attempt(operation, kmsCall, deadline);
+            } catch (ApiException e) {
+                if (attempt >= this.config.kmsMaxRetries() || !isRetryable(e)) {
+                    throw e;
+                }
+                final long backoff = TimeUnit.MILLISECONDS.toNanos(ThreadLocalRandom.current().nextLong(
+                        Math.min(this.config.kmsRetryMaxDelay(), this.config.kmsRetryBaseDelay() << Math.min(attempt, 20)) + 1));
+                if (System.nanoTime() + backoff >= deadline) {
+                    throw e;
+                }
+                sleep(backoff);
+            }
+        }
+    }
+
+    /**
+     * Runs one attempt of the call, hedging decryptions that are slower than the 95th percentile latency.
+     */
+    private <T> T attempt(final Operation operation, final Supplier<T> kmsCall, final long deadline) {
+        final LatencyTracker latencyTracker = this.latencyTrackers.get(operation);
+        final CompletionService<T> completionService = new ExecutorCompletionService<>(this.executor);
+        final List<Future<T>> requests = new ArrayList<>(2);
+        final Callable<T> request = () -> {
+            final long start = System.nanoTime();
+            final T response = this.kmsGovernor.call(operation, kmsCall);
+            latencyTracker.record(System.nanoTime() - start);
+            return response;
+        };
+        try {
+            requests.add(completionService.submit(request));
+            int pending = 1;
+            RuntimeException failure = null;
+            if (this.config.kmsHedging() && operation == Operation.DECRYPT) {
+                final long hedgeDelay = Math.max(TimeUnit.MILLISECONDS.toNanos(this.config.kmsHedgeMinDelay()),
+                        latencyTracker.percentileNanos());
+                final Future<T> first = completionService.poll(Math.min(hedgeDelay, deadline - System.nanoTime()),
+                        TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    return first.get();
+                }
+                if (System.nanoTime() < deadline) {
+                    requests.add(completionService.submit(request));
+                    pending++;
+                }
+            }
+            while (pending > 0) {
+                final Future<T> completed = completionService.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (completed == null) {
+                    throw new CipherException("KMS " + operation + " deadline exceeded");
+                }
+                pending--;
+                try {
+                    return completed.get();
+                } catch (ExecutionException e) {
+                    failure = unwrap(e);
+                }
+            }
+            throw failure;
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CipherException("Interrupted while waiting for KMS " + operation, e);
+        } finally {
+            requests.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if the kms call failed with a transient status.
+     */
+    static boolean isRetryable(final ApiException e) {
+        return RETRYABLE_CODES.contains(e.getStatusCode().getCode());
+    }
+
+    private static RuntimeException unwrap(final ExecutionException e) {
+        return e.getCause() instanceof RuntimeException cause ? cause : new CipherException(e.getCause());
+    }
+
+    private static void sleep(final long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CipherException("Interrupted while retrying KMS call", e);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.kms;
+
+import com.google.api.gax.rpc.ApiException;
+import com.google.api.gax.rpc.StatusCode;
+import com.suryadisoft.cipher.exception.CipherException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * <code>KmsRouter</code> routes kms calls across several equivalent key locations. It keeps an exponentially
+ * weighted moving average of the latency of every location and sends each call to the fastest healthy one, locations
+ * that just failed coming last, and fails over to the next one when a call fails with a transient error. A location
+ * failing <code>kmsFailoverThreshold</code> times in a row is ejected for <code>kmsEjectDuration</code> milliseconds,
+ * and one call in {@link #EXPLORE_INTERVAL} goes to another healthy location so the latency of every location stays
+ * up to date. Other errors, e.g. a permission or argument error, are thrown right away since every location would
+ * reject the call the same way.
+ * <p>
+ * The latency and health are tracked per location, so providers calling the keys of several tenants in the same
+ * locations share one router, and a location ejected by the calls of a tenant is skipped by the calls of the others.
+ * <p>
+ * A kms ciphertext can only be decrypted by the key that produced it, so only reads can fail over, and only across
+ * the locations holding a ciphertext of the same data key, e.g. the per-location wrapped keys of an envelope. Calls
+ * producing ciphertexts go through {@link #call(KmsEndpoint, Function)} so that every ciphertext is wrapped by a
+ * known location.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class KmsRouter {
+
+    static final int EXPLORE_INTERVAL = 100;
+    static final double LATENCY_WEIGHT = 0.2;
+
+    /**
+     * Error codes of transient location failures that another location may not have.
+     */
+    private static final Set<StatusCode.Code> FAILOVER_CODES = EnumSet.of(StatusCode.Code.UNAVAILABLE,
+            StatusCode.Code.DEADLINE_EXCEEDED, StatusCode.Code.RESOURCE_EXHAUSTED, StatusCode.Code.INTERNAL);
+
+    private final Map<String, Location> locations = new ConcurrentHashMap<>();
+    private final int failoverThreshold;
+    private final long ejectNanos;
+    private final AtomicLong calls = new AtomicLong();
+
+    /**
+     * Creates an instance of {@link KmsRouter} for a given {@link KmsRequestConfig}.
+     *
+     * @param config {@link KmsRequestConfig} instance
+     */
+    public KmsRouter(final KmsRequestConfig config) {
+        this.failoverThreshold = Math.max(1, config.kmsFailoverThreshold());
+        this.ejectNanos = TimeUnit.MILLISECONDS.toNanos(config.kmsEjectDuration());
+    }
+
+    /**
+     * Calls the fastest healthy endpoint of given kms endpoints, failing over to the other endpoints when the call
+     * fails with a transient error.
+     *
+     * @param endpoints {@link KmsEndpoint} instances, the first one is the primary endpoint and is preferred until
+     *                  latencies are measured
+     * @param kmsCall   KMS call for a given endpoint
+     * @param <T>       KMS call response type
+     *
+     * @return KMS call response
+     */
+    public <T> T call(final List<KmsEndpoint> endpoints, final Function<KmsEndpoint, T> kmsCall) {
+        if (endpoints.isEmpty()) {
+            throw new CipherException("At least one KMS endpoint is required");
+        }
+        ApiException failure = null;
+        for (final KmsEndpoint endpoint : route(endpoints)) {
+            final Location location = location(endpoint);
+            final long start = System.nanoTime();
+            try {
+                final T response = kmsCall.apply(endpoint);
+                location.succeeded(System.nanoTime() - start);
+                return response;
+            } catch (ApiException e) {
+                if (!isTransient(e)) {
+                    throw e;
+                }
+                location.failed(start, this.failoverThreshold, this.ejectNanos);
+                failure = e;
+            }
+        }
+        throw failure;
+    }
+
+    /**
+     * Returns <code>true</code> if a given kms error is a transient location failure that another location may not
+     * have.
+     *
+     * @param e {@link ApiException} instance
+     *
+     * @return <code>true</code> if the error is transient
+     */
+    static public boolean isTransient(final ApiException e) {
+        return FAILOVER_CODES.contains(e.getStatusCode().getCode());
+    }
+
+    /**
+     * Calls a given kms endpoint without failing over, e.g. to wrap a data key in a known location.
+     *
+     * @param endpoint {@link KmsEndpoint} instance
+     * @param kmsCall  KMS call for a given endpoint
+     * @param <T>      KMS call response type
+     *
+     * @return KMS call response
+     */
+    public <T> T call(final KmsEndpoint endpoint, final Function<KmsEndpoint, T> kmsCall) {
+        final Location location = location(endpoint);
+        final long start = System.nanoTime();
+        try {
+            final T response = kmsCall.apply(endpoint);
+            location.succeeded(System.nanoTime() - start);
+            return response;
+        } catch (ApiException e) {
+            if (isTransient(e)) {
+                location.failed(start, this.failoverThreshold, this.ejectNanos);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Orders given kms endpoints by preference: healthy endpoints from the fastest to the slowest, then the ejected
+     * endpoints as a last resort.
+     *
+     * @param endpoints {@link KmsEndpoint} instances
+     *
+     * @return {@link KmsEndpoint} instances
+     */
+    public List<KmsEndpoint> route(final List<KmsEndpoint> endpoints) {
+        final long now = System.nanoTime();
+        final List<KmsEndpoint> healthy = new ArrayList<>();
+        final List<KmsEndpoint> ejected = new ArrayList<>();
+        for (final KmsEndpoint endpoint : endpoints) {
+            (location(endpoint).isHealthy(now) ? healthy : ejected).add(endpoint);
+        }
+        healthy.sort(Comparator.<KmsEndpoint>comparingInt(endpoint -> location(endpoint).failures)
+                .thenComparingDouble(endpoint -> location(endpoint).latencyNanos));
+        final long call = this.calls.incrementAndGet();
+        if (healthy.size() > 1 && call % EXPLORE_INTERVAL == 0) {
+            // Move another healthy location first to refresh its latency
+            healthy.add(0, healthy.remove(1 + (int) (call / EXPLORE_INTERVAL % (healthy.size() - 1))));
+        }
+        healthy.addAll(ejected);
+        return healthy;
+    }
+
+    /**
+     * Gets the measured latency of the location of a kms endpoint.
+     *
+     * @param endpoint {@link KmsEndpoint} instance
+     *
+     * @return Average latency in nanoseconds or 0 if not measured yet
+     */
+    public long latencyNanos(final KmsEndpoint endpoint) {
+        return (long) location(endpoint).latencyNanos;
+    }
+
+    private Location location(final KmsEndpoint endpoint) {
+        return this.locations.computeIfAbsent(endpoint.cryptoKeyName().getLocation(), locationId -> new Location());
+    }
+
+    /**
+     * Latency and health state of a kms location.
+     */
+    private static class Location {
+        private volatile double latencyNanos;
+        private volatile int failures;
+        private volatile long ejectedUntil;
+        private volatile boolean ejected;
+
+        boolean isHealthy(final long now) {
+            return !this.ejected || now - this.ejectedUntil >= 0;
+        }
+
+        synchronized void succeeded(final long latency) {
+            this.latencyNanos = this.latencyNanos == 0 ? latency
+                    : (1 - LATENCY_WEIGHT) * this.latencyNanos + LATENCY_WEIGHT * latency;
+            this.failures = 0;
+            this.ejected = false;
+        }
+
+        synchronized void failed(final long now, final int failoverThreshold, final long ejectNanos) {
+            if (++this.failures >= failoverThreshold) {
+                this.ejected = true;
+                this.ejectedUntil = now + ejectNanos;
+            }
+        }
+    }
+}
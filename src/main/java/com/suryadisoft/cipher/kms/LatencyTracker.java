@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.kms;
+
+import java.util.Arrays;
+
+/**
+ * <code>LatencyTracker</code> keeps the most recent call latencies in a ring buffer and estimates their percentiles.
+ * The percentile is recomputed every {@link #REFRESH_INTERVAL} recordings, so reading it is cheap.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class LatencyTracker {
+
+    static final int WINDOW_SIZE = 1024;
+    static final int REFRESH_INTERVAL = 64;
+
+    private final long[] latencies = new long[WINDOW_SIZE];
+    private final double percentile;
+
+    private long recorded;
+    private volatile long percentileNanos = -1;
+
+    /**
+     * Creates an instance of {@link LatencyTracker} for a given percentile, e.g. 0.95.
+     *
+     * @param percentile Tracked percentile between 0 and 1
+     */
+    public LatencyTracker(final double percentile) {
+        this.percentile = percentile;
+    }
+
+    /**
+     * Records a call latency.
+     *
+     * @param latencyNanos Call latency in nanoseconds
+     */
+    public synchronized void record(final long latencyNanos) {
+        this.latencies[(int) (this.recorded % WINDOW_SIZE)] = latencyNanos;
+        this.recorded++;
+        if (this.recorded < REFRESH_INTERVAL || this.recorded % REFRESH_INTERVAL == 0) {
+            final long[] window = Arrays.copyOf(this.latencies, (int) Math.min(this.recorded, WINDOW_SIZE));
+            Arrays.sort(window);
+            this.percentileNanos = window[(int) Math.min(window.length - 1, Math.floor(this.percentile * window.length))];
+        }
+    }
+
+    /**
+     * Gets the tracked percentile latency.
+     *
+     * @return Percentile latency in nanoseconds or -1 if no latency was recorded yet
+     */
+    public long percentileNanos() {
+        return this.percentileNanos;
+    }
+}
@@ -12,7 +12,20 @@
  */
 package com.suryadisoft.cipher.provider;
 
+import com.suryadisoft.cipher.cache.CipherCache;
+import com.suryadisoft.cipher.data.CipherKey;
 import com.suryadisoft.cipher.data.CipherString;
+import com.suryadisoft.cipher.exception.CipherException;
+import org.apache.commons.codec.binary.Base64;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * <code>CipherProvider</code> is a cipher provider interface to encrypt and decrypt data key and text data
@@ -47,6 +60,40 @@ public interface CipherProvider {
      */
     byte[] decrypt(final CipherString cipherText);
 
+    /**
+     * Decrypts an encrypted data key with the master key, bypassing the data key cache.
+     *
+     * @param base64DataKey Encrypted data key in base64 string
+     * @return Data key
+     */
+    default CipherKey unwrapDataKey(final String base64DataKey) {
+        throw new CipherException("Data key unwrapping is not supported by the " + providerType() + " provider");
+    }
+
+    /**
+     * Encrypts the data key with the master key and envelopes it with the text it encrypted.
+     *
+     * @param dataKey          Data key
+     * @param base64CipherText Text encrypted with the data key in base64 string
+     * @return Encrypted text
+     */
+    default CipherString wrap(final CipherKey dataKey, final String base64CipherText) {
+        throw new CipherException("Data key wrapping is not supported by the " + providerType() + " provider");
+    }
+
+    /**
+     * Re-encrypts the data key of the cipher text with the master key of the target provider, leaving the encrypted
+     * text untouched.
+     *
+     * @param cipherText     Encrypted text
+     * @param targetProvider Provider of the new master key
+     * @return Encrypted text under the new master key
+     */
+    default CipherString rewrap(final CipherString cipherText, final CipherProvider targetProvider) {
+        return targetProvider.wrap(unwrapDataKey(cipherText.base64DataKey()), cipherText.base64CipherText())
+                .withCodec(cipherText.codec());
+    }
+
     /**
      * Hashes the plain text with predefined salt.
      *
@@ -55,6 +102,39 @@ public interface CipherProvider {
      */
     String hash(final String plainText, final String salt);
 
+    /**
+     * Hashes every plain text with the same salt.
+     *
+     * @param plainTexts Plain texts
+     * @param salt       Salt string
+     * @return Hashed plain texts, in the order of the plain texts
+     */
+    default List<String> hashAll(final List<String> plainTexts, final String salt) {
+        return plainTexts.stream().map(plainText -> hash(plainText, salt)).toList();
+    }
+
+    /**
+     * Hashes the remaining bytes of the buffer with predefined salt.
+     *
+     * @param buffer Bytes buffer
+     * @param salt   Salt string
+     * @return Hashed bytes
+     */
+    default String hash(final ByteBuffer buffer, final String salt) {
+        throw new CipherException("Buffer hashing is not supported by the " + providerType() + " provider");
+    }
+
+    /**
+     * Hashes the content of the file with predefined salt.
+     *
+     * @param file File path
+     * @param salt Salt string
+     * @return Hashed file content
+     */
+    default String hash(final Path file, final String salt) {
+        throw new CipherException("File hashing is not supported by the " + providerType() + " provider");
+    }
+
     /**
      * Return the cipher provider type.
      *
@@ -69,4 +149,52 @@ public interface CipherProvider {
      */
     String getMasterKeyInfo();
 
+    /**
+     * Return the id of the master key, which tags the cipher texts encrypted by this provider when
+     * <code>keyIdHeader</code> is enabled.
+     *
+     * @return Master key id
+     */
+    default String keyId() {
+        throw new CipherException("Master key id is not supported by the " + providerType() + " provider");
+    }
+
+    /**
+     * Return the data key cache used by this provider.
+     *
+     * @return {@link CipherCache} instance
+     */
+    CipherCache getCipherCache();
+
+    /**
+     * Loads the data keys of the given cipher texts into the data key cache, using at most
+     * <code>concurrency</code> concurrent data key decryptions.
+     *
+     * @param cipherTexts Encrypted texts
+     * @param concurrency Maximum number of concurrent data key decryptions
+     * @return Number of data keys loaded
+     */
+    default int prewarm(final Iterable<CipherString> cipherTexts, final int concurrency) {
+        final List<String> encryptedDataKeys = new ArrayList<>();
+        cipherTexts.forEach(cipherText -> encryptedDataKeys.add(cipherText.base64DataKey()));
+        return getCipherCache().prewarm(encryptedDataKeys, concurrency);
+    }
+
+    /**
+     * Derives a compact master key id from the provider type and a master key identity, i.e. the provider type
+     * initial followed by 8 base64 characters of the SHA-256 digest of the identity.
+     *
+     * @param type     Cipher provider type
+     * @param identity Master key identity, e.g. the kms key name
+     * @return Master key id
+     */
+    static String keyId(final Type type, final String identity) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(identity.getBytes(StandardCharsets.UTF_8));
+            return type.name().charAt(0) + Base64.encodeBase64URLSafeString(Arrays.copyOf(digest, 6));
+        } catch (NoSuchAlgorithmException e) {
+            throw new CipherException("Unable to derive the master key id", e);
+        }
+    }
+
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.provider;
+
+import com.suryadisoft.cipher.cache.CipherCache;
+import com.suryadisoft.cipher.data.CipherKey;
+import com.suryadisoft.cipher.data.CipherString;
+import com.suryadisoft.cipher.exception.CipherException;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <code>CipherRouter</code> is a cipher provider serving datasets encrypted with several master keys, e.g. during a
+ * migration from a local master key to Google KMS or after a kms key rotation. New data is encrypted with the primary
+ * provider, and every cipher text is decrypted by the provider, and its data key cache, whose key id tags the cipher
+ * text, so no decryption is attempted with the wrong master key. Untagged cipher texts are decrypted by the provider
+ * that encrypted them before key id tags were enabled, the primary provider by default.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class CipherRouter implements CipherProvider {
+
+    private final CipherProvider primaryProvider;
+    private final CipherProvider untaggedProvider;
+    private final Map<String, CipherProvider> providers;
+
+    /**
+     * Creates an instance of {@link CipherRouter} encrypting with the primary provider and decrypting untagged cipher
+     * texts with the primary provider as well.
+     *
+     * @param primaryProvider Provider encrypting new data
+     * @param otherProviders  Providers of the previous master keys
+     */
+    public CipherRouter(final CipherProvider primaryProvider, final CipherProvider... otherProviders) {
+        this(primaryProvider, primaryProvider, List.of(otherProviders));
+    }
+
+    /**
+     * Creates an instance of {@link CipherRouter}.
+     *
+     * @param primaryProvider  Provider encrypting new data
+     * @param untaggedProvider Provider decrypting the cipher texts without key id
+     * @param otherProviders   Providers of the previous master keys
+     */
+    public CipherRouter(final CipherProvider primaryProvider, final CipherProvider untaggedProvider,
+                        final List<CipherProvider> otherProviders) {
+        this.primaryProvider = primaryProvider;
+        this.untaggedProvider = untaggedProvider;
+        final Map<String, CipherProvider> providers = new HashMap<>();
+        providers.put(primaryProvider.keyId(), primaryProvider);
+        providers.put(untaggedProvider.keyId(), untaggedProvider);
+        otherProviders.forEach(provider -> providers.put(provider.keyId(), provider));
+        this.providers = Map.copyOf(providers);
+    }
+
+    /**
+     * Gets the provider of the master key that encrypted the cipher text.
+     *
+     * @param cipherText Encrypted text
+     * @return {@link CipherProvider} instance
+     */
+    public CipherProvider route(final CipherString cipherText) {
+        if (cipherText.keyId() == null) {
+            return this.untaggedProvider;
+        }
+        final CipherProvider provider = this.providers.get(cipherText.keyId());
+        if (provider == null) {
+            throw new CipherException("Unknown master key id: " + cipherText.keyId());
+        }
+        return provider;
+    }
+
+    @Override
+    public CipherString encrypt(final byte[] plaintext) {
+        return this.primaryProvider.encrypt(plaintext);
+    }
+
+    @Override
+    public byte[] decrypt(final CipherString cipherText) {
+        return route(cipherText).decrypt(cipherText);
+    }
+
+    @Override
+    public CipherKey unwrapDataKey(final String base64DataKey) {
+        return this.untaggedProvider.unwrapDataKey(base64DataKey);
+    }
+
+    @Override
+    public CipherString wrap(final CipherKey dataKey, final String base64CipherText) {
+        return this.primaryProvider.wrap(dataKey, base64CipherText);
+    }
+
+    @Override
+    public CipherString rewrap(final CipherString cipherText, final CipherProvider targetProvider) {
+        return route(cipherText).rewrap(cipherText, targetProvider);
+    }
+
+    @Override
+    public String hash(final String plainText, final String salt) {
+        return this.primaryProvider.hash(plainText, salt);
+    }
+
+    @Override
+    public List<String> hashAll(final List<String> plainTexts, final String salt) {
+        return this.primaryProvider.hashAll(plainTexts, salt);
+    }
+
+    @Override
+    public String hash(final ByteBuffer buffer, final String salt) {
+        return this.primaryProvider.hash(buffer, salt);
+    }
+
+    @Override
+    public String hash(final Path file, final String salt) {
+        return this.primaryProvider.hash(file, salt);
+    }
+
+    @Override
+    public Type providerType() {
+        return this.primaryProvider.providerType();
+    }
+
+    @Override
+    public String getMasterKeyInfo() {
+        return this.primaryProvider.getMasterKeyInfo();
+    }
+
+    @Override
+    public String keyId() {
+        return this.primaryProvider.keyId();
+    }
+
+    @Override
+    public CipherCache getCipherCache() {
+        return this.primaryProvider.getCipherCache();
+    }
+
+    @Override
+    public int prewarm(final Iterable<CipherString> cipherTexts, final int concurrency) {
+        // Pre-load every data key into the cache of the provider decrypting it
+        final Map<CipherProvider, List<CipherString>> routedCipherTexts = new LinkedHashMap<>();
+        cipherTexts.forEach(cipherText ->
+                routedCipherTexts.computeIfAbsent(route(cipherText), provider -> new ArrayList<>()).add(cipherText));
+        return routedCipherTexts.entrySet().stream()
+                .mapToInt(entry -> entry.getKey().prewarm(entry.getValue(), concurrency))
+                .sum();
+    }
+}
@@ -15,6 +15,7 @@ package com.suryadisoft.cipher.provider;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.api.gax.core.FixedCredentialsProvider;
+import com.google.api.gax.rpc.ApiException;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.cloud.kms.v1.*;
 import com.google.common.annotations.VisibleForTesting;
@@ -22,30 +23,57 @@ import com.google.protobuf.ByteString;
 import com.suryadisoft.cipher.Cipher;
 import com.suryadisoft.cipher.cache.CacheConfig;
 import com.suryadisoft.cipher.cache.CipherCache;
+import com.suryadisoft.cipher.codec.CompressionConfig;
+import com.suryadisoft.cipher.codec.Compressor;
 import com.suryadisoft.cipher.data.CipherData;
 import com.suryadisoft.cipher.data.CipherKey;
 import com.suryadisoft.cipher.data.CipherString;
 import com.suryadisoft.cipher.data.GoogleKms;
 import com.suryadisoft.cipher.exception.CipherException;
+import com.suryadisoft.cipher.kms.KmsContext;
+import com.suryadisoft.cipher.kms.KmsEndpoint;
+import com.suryadisoft.cipher.kms.KmsGovernor;
+import com.suryadisoft.cipher.kms.KmsRequestExecutor;
+import com.suryadisoft.cipher.kms.KmsRouter;
 import org.apache.commons.codec.binary.Base64;
 
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 
 /**
- * <code>GoogleCipher</code> is a Google KMS provider implementation.
+ * <code>GoogleCipher</code> is a Google KMS provider implementation. With several key locations configured, every data
+ * key is wrapped in each location and the envelope holds one wrapped key per location, so the data key can be unwrapped
+ * by any location holding it when the others are failing or slower.
  *
  * @author Edward Suryadi
  * @since May 2025
  */
 public class GoogleCipher implements CipherProvider {
 
+    /**
+     * Separator of the wrapped data keys of every location, never used by url-safe base64.
+     */
+    static final String WRAPPED_KEY_SEPARATOR = ".";
+
     private final Cipher cipher;
     private final GoogleKms googleKms;
     private final CipherCache cipherCache;
-    private final KeyManagementServiceClient kmsClient;
+    private final KmsGovernor kmsGovernor;
+    private final KmsRequestExecutor kmsExecutor;
+    private final KmsRouter kmsRouter;
+    private final List<KmsEndpoint> kmsEndpoints;
+    private final String keyId;
+    private final String keyIdHeader;
+    private final Compressor compressor;
 
     private CipherKey dataKey;
 
@@ -68,18 +96,53 @@ public class GoogleCipher implements CipherProvider {
      * @param properties Configuration {@link Properties}
      */
     public GoogleCipher(final Cipher cipher, final KeyManagementServiceClient kmsClient, final Properties properties) {
+        this(cipher, GoogleKms.valueOf(properties).cryptoKeyNames().stream()
+                .map(cryptoKeyName -> new KmsEndpoint(cryptoKeyName, kmsClient)).toList(), properties);
+    }
+
+    /**
+     * Creates an instance of {@link GoogleCipher} given google kms configuration, cipher instance, and the kms
+     * endpoints of every equivalent key location. Data keys are wrapped by the first location and unwrapped by the
+     * fastest healthy location.
+     *
+     * @param cipher       {@link Cipher} instance
+     * @param kmsEndpoints {@link KmsEndpoint} instances
+     * @param properties   Configuration {@link Properties}
+     */
+    public GoogleCipher(final Cipher cipher, final List<KmsEndpoint> kmsEndpoints, final Properties properties) {
+        this(cipher, kmsEndpoints, KmsContext.valueOf(properties),
+                dataKeyFunc -> new CipherCache(CacheConfig.valueOf(properties), dataKeyFunc), properties);
+    }
+
+    /**
+     * Creates an instance of {@link GoogleCipher} given google kms configuration, cipher instance, the kms endpoints
+     * of every equivalent key location, a {@link KmsContext} shared with the other providers of the same credential,
+     * and the factory of its data key cache, e.g. a partition of a cache shared with other providers.
+     *
+     * @param cipher       {@link Cipher} instance
+     * @param kmsEndpoints {@link KmsEndpoint} instances
+     * @param kmsContext   {@link KmsContext} instance
+     * @param cacheFactory Creates the data key cache for the data key decryption function of this provider
+     * @param properties   Configuration {@link Properties}
+     */
+    public GoogleCipher(final Cipher cipher, final List<KmsEndpoint> kmsEndpoints, final KmsContext kmsContext,
+                        final Function<Function<String, CipherKey>, CipherCache> cacheFactory,
+                        final Properties properties) {
         this.googleKms = GoogleKms.valueOf(properties);
         this.cipher = cipher;
-        this.kmsClient = kmsClient;
-        this.cipherCache = new CipherCache(CacheConfig.valueOf(properties), base64DataKey -> {
-            // Retrieve the base64 encrypted data key
-            final ByteString encryptedDataKey = ByteString.copyFrom(Base64.decodeBase64(base64DataKey.getBytes()));
-            // Decrypt the data key
-            final DecryptResponse dataKeyResp = kmsClient.decrypt(googleKms.cryptoKeyName(), encryptedDataKey);
-            final String dataKeyStr = dataKeyResp.getPlaintext().toStringUtf8();
-            // Parse the decrypted data key
-            return CipherKey.valueOf(dataKeyStr);
-        });
+        // Equivalent keys of every location share the same key id
+        this.keyId = CipherProvider.keyId(providerType(), String.join("/", this.googleKms.projectId(),
+                this.googleKms.keyRingId(), this.googleKms.keyId()));
+        this.keyIdHeader = Boolean.parseBoolean(properties.getProperty("keyIdHeader", "false")) ? this.keyId : null;
+        this.compressor = new Compressor(CompressionConfig.valueOf(properties));
+        if (kmsEndpoints.isEmpty()) {
+            throw new CipherException("At least one KMS endpoint is required");
+        }
+        this.kmsEndpoints = List.copyOf(kmsEndpoints);
+        this.kmsGovernor = kmsContext.kmsGovernor();
+        this.kmsExecutor = kmsContext.kmsExecutor();
+        this.kmsRouter = kmsContext.kmsRouter();
+        this.cipherCache = cacheFactory.apply(this::unwrapDataKey);
     }
 
     /**
@@ -87,7 +150,7 @@ public class GoogleCipher implements CipherProvider {
      *
      * @return {@link KeyManagementServiceClient} instance
      */
-    static KeyManagementServiceClient kmsClient(final GoogleKms googleKms) {
+    static public KeyManagementServiceClient kmsClient(final GoogleKms googleKms) {
         try {
             final GoogleCredentials credentials =
                     GoogleCredentials.fromStream(Objects.requireNonNull(ClassLoader.getSystemResourceAsStream(googleKms.credentialFile())));
@@ -99,6 +162,24 @@ public class GoogleCipher implements CipherProvider {
         }
     }
 
+    /**
+     * Gets the governor that limits the rate and concurrency of the kms calls.
+     *
+     * @return {@link KmsGovernor} instance
+     */
+    public KmsGovernor getKmsGovernor() {
+        return this.kmsGovernor;
+    }
+
+    /**
+     * Gets the router that selects the kms location of every kms call.
+     *
+     * @return {@link KmsRouter} instance
+     */
+    public KmsRouter getKmsRouter() {
+        return this.kmsRouter;
+    }
+
     @VisibleForTesting
     protected void setDataKey(final CipherKey dataKey) {
         this.dataKey = dataKey;
@@ -107,25 +188,99 @@ public class GoogleCipher implements CipherProvider {
     @Override
     public CipherString encrypt(final byte[] plaintext) {
         // If the data key is set, encrypt using a given data key
-        final CipherData cipherData = Objects.isNull(this.dataKey) ? cipher.encrypt(plaintext) : cipher.encrypt(plaintext, this.dataKey);
-        final CipherKey dataKey = cipherData.dataKey();
-        final CryptoKeyName cryptoKeyName = this.googleKms.cryptoKeyName();
+        final byte[] compressed = this.compressor.compress(plaintext);
+        final byte[] unencryptedData = compressed == null ? plaintext : compressed;
+        final String codec = compressed == null ? null : this.compressor.codecId();
+        final byte[] associatedData = CipherString.associatedData(codec);
+        final CipherData cipherData = Objects.isNull(this.dataKey) ? cipher.encrypt(unencryptedData, associatedData)
+                : cipher.encrypt(unencryptedData, this.dataKey, associatedData);
+
+        return wrap(cipherData.dataKey(), Base64.encodeBase64URLSafeString(cipherData.cipherText())).withCodec(codec);
+    }
+
+    /**
+     * Unwraps a data key in the fastest healthy location holding a wrapped copy of it. The wrapped keys of every
+     * location are separated by {@link #WRAPPED_KEY_SEPARATOR} in the order of the configured locations, and a single
+     * wrapped key belongs to the primary location.
+     *
+     * @param base64DataKey Wrapped data keys
+     *
+     * @return {@link CipherKey} instance
+     */
+    @Override
+    public CipherKey unwrapDataKey(final String base64DataKey) {
+        // Map every location to its wrapped data key, the locations that failed to wrap it have an empty slot
+        final String[] wrappedKeys = base64DataKey.split(Pattern.quote(WRAPPED_KEY_SEPARATOR), -1);
+        if (wrappedKeys.length > this.kmsEndpoints.size()) {
+            throw new CipherException("The data key is wrapped for " + wrappedKeys.length + " locations but only "
+                    + this.kmsEndpoints.size() + " are configured");
+        }
+        final Map<KmsEndpoint, ByteString> encryptedDataKeys = new LinkedHashMap<>();
+        for (int i = 0; i < wrappedKeys.length; i++) {
+            if (!wrappedKeys[i].isEmpty()) {
+                encryptedDataKeys.put(this.kmsEndpoints.get(i),
+                        ByteString.copyFrom(Base64.decodeBase64(wrappedKeys[i].getBytes())));
+            }
+        }
+        // Decrypt the data key in the fastest healthy location holding it
+        final List<KmsEndpoint> endpoints = List.copyOf(encryptedDataKeys.keySet());
+        final DecryptResponse dataKeyResp = this.kmsExecutor.call(KmsGovernor.Operation.DECRYPT,
+                () -> this.kmsRouter.call(endpoints, endpoint ->
+                        endpoint.kmsClient().decrypt(endpoint.cryptoKeyName(), encryptedDataKeys.get(endpoint))));
+        final String dataKeyStr = dataKeyResp.getPlaintext().toStringUtf8();
+        // Parse the decrypted data key
+        return CipherKey.valueOf(dataKeyStr);
+    }
+
+    /**
+     * Wraps a data key in every configured location, so that any of them can unwrap it. A location failing with a
+     * transient error leaves its slot empty as long as another location wrapped the data key.
+     *
+     * @param dataKey          {@link CipherKey} instance
+     * @param base64CipherText Base64 encrypted text
+     *
+     * @return {@link CipherString} instance
+     */
+    @Override
+    public CipherString wrap(final CipherKey dataKey, final String base64CipherText) {
         final ByteString dataKeyByteStr = ByteString.copyFromUtf8(dataKey.toBase64());
-        // Encrypt the data key in google kms
-        final EncryptResponse dataKeyResp = this.kmsClient.encrypt(cryptoKeyName, dataKeyByteStr);
-        final String encryptedDataKey = Base64.encodeBase64URLSafeString(dataKeyResp.getCiphertext().toByteArray());
-        final String cipherText = Base64.encodeBase64URLSafeString(cipherData.cipherText());
+        final StringJoiner encryptedDataKeys = new StringJoiner(WRAPPED_KEY_SEPARATOR);
+        RuntimeException failure = null;
+        boolean wrapped = false;
+        for (final KmsEndpoint kmsEndpoint : this.kmsEndpoints) {
+            try {
+                final EncryptResponse dataKeyResp = this.kmsExecutor.call(KmsGovernor.Operation.ENCRYPT,
+                        () -> this.kmsRouter.call(kmsEndpoint, endpoint ->
+                                endpoint.kmsClient().encrypt(endpoint.cryptoKeyName(), dataKeyByteStr)));
+                encryptedDataKeys.add(Base64.encodeBase64URLSafeString(dataKeyResp.getCiphertext().toByteArray()));
+                wrapped = true;
+            } catch (ApiException e) {
+                if (!KmsRouter.isTransient(e)) {
+                    throw e;
+                }
+                encryptedDataKeys.add("");
+                failure = failure == null ? e : failure;
+            } catch (CipherException e) {
+                // Deadline or queue timeout of the location
+                encryptedDataKeys.add("");
+                failure = failure == null ? e : failure;
+            }
+        }
+        if (!wrapped) {
+            throw failure;
+        }
 
-        return new CipherString(encryptedDataKey, cipherText);
+        return new CipherString(encryptedDataKeys.toString(), base64CipherText, this.keyIdHeader);
     }
 
     @Override
     public byte[] decrypt(final CipherString cipherText) {
-        final CipherKey dataKey = this.cipherCache.getDataKey(cipherText.base64DataKey());
         // Retrieve the encrypted text
         final byte[] encryptedText = Base64.decodeBase64(cipherText.base64CipherText());
-
-        return this.cipher.decrypt(new CipherData(dataKey, encryptedText));
+        final byte[] plainText = this.cipherCache.decrypt(cipherText.base64DataKey(), encryptedText,
+                cipherText.associatedData(), this.cipher);
+        // Decompress the plain text compressed before encryption
+        return cipherText.codec() == null ? plainText : this.compressor.decompress(cipherText.codec(), plainText);
     }
 
     @Override
@@ -133,6 +288,21 @@ public class GoogleCipher implements CipherProvider {
         return this.cipher.hash(plaintext, salt);
     }
 
+    @Override
+    public List<String> hashAll(final List<String> plainTexts, final String salt) {
+        return this.cipher.hashAll(plainTexts, salt);
+    }
+
+    @Override
+    public String hash(final ByteBuffer buffer, final String salt) {
+        return this.cipher.hash(buffer, salt);
+    }
+
+    @Override
+    public String hash(final Path file, final String salt) {
+        return this.cipher.hash(file, salt);
+    }
+
     @Override
     public Type providerType() {
         return Type.GOOGLE_KMS;
@@ -154,4 +324,14 @@ public class GoogleCipher implements CipherProvider {
         }
     }
 
+    @Override
+    public String keyId() {
+        return this.keyId;
+    }
+
+    @Override
+    public CipherCache getCipherCache() {
+        return this.cipherCache;
+    }
+
 }
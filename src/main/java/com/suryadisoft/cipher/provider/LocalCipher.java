@@ -15,16 +15,23 @@ package com.suryadisoft.cipher.provider;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.suryadisoft.cipher.Cipher;
+import com.suryadisoft.cipher.KeyWrapper;
 import com.suryadisoft.cipher.cache.CacheConfig;
 import com.suryadisoft.cipher.cache.CipherCache;
+import com.suryadisoft.cipher.codec.CompressionConfig;
+import com.suryadisoft.cipher.codec.Compressor;
 import com.suryadisoft.cipher.data.CipherData;
 import com.suryadisoft.cipher.data.CipherKey;
 import com.suryadisoft.cipher.data.CipherString;
 import org.apache.commons.codec.binary.Base64;
 
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.function.Function;
 
 /**
  * <code>GoogleCipher</code> is a Google KMS provider implementation.
@@ -37,40 +44,76 @@ public class LocalCipher implements CipherProvider {
     private final Cipher cipher;
     private final CipherCache cipherCache;
     private final CipherKey masterKey;
+    private final KeyWrapper keyWrapper;
+    private final String keyId;
+    private final String keyIdHeader;
+    private final Compressor compressor;
 
     public LocalCipher(final Cipher cipher, final Properties properties) {
+        this(cipher, dataKeyFunc -> new CipherCache(CacheConfig.valueOf(properties), dataKeyFunc), properties);
+    }
+
+    /**
+     * Creates an instance of {@link LocalCipher} given the factory of its data key cache, e.g. a partition of a cache
+     * shared with other providers.
+     *
+     * @param cipher       {@link Cipher} instance
+     * @param cacheFactory Creates the data key cache for the data key decryption function of this provider
+     * @param properties   Configuration {@link Properties}
+     */
+    public LocalCipher(final Cipher cipher, final Function<Function<String, CipherKey>, CipherCache> cacheFactory,
+                       final Properties properties) {
         this.cipher = cipher;
         this.masterKey = CipherKey.valueOf(properties.getProperty("masterKey"));
-        this.cipherCache = new CipherCache(CacheConfig.valueOf(properties), base64DataKey -> {
-            // Decode the base64 encrypted data key
-            final byte[] encryptedDataKey = Base64.decodeBase64(base64DataKey);
-            // Decrypt the data key
-            final byte[] dataKey = this.cipher.decrypt(new CipherData(this.masterKey, encryptedDataKey));
-            // Transform into CipherKey
-            return CipherKey.valueOf(dataKey);
-        });
+        this.keyWrapper = new KeyWrapper(this.masterKey);
+        this.keyId = CipherProvider.keyId(providerType(), properties.getProperty("masterKey"));
+        this.keyIdHeader = Boolean.parseBoolean(properties.getProperty("keyIdHeader", "false")) ? this.keyId : null;
+        this.compressor = new Compressor(CompressionConfig.valueOf(properties));
+        this.cipherCache = cacheFactory.apply(this::unwrapDataKey);
     }
 
     @Override
     public CipherString encrypt(final byte[] plaintext) {
         // Encrypt the plain text
-        final CipherData cipherData = this.cipher.encrypt(plaintext);
-        // Get the data key that is created
-        final CipherKey dataKey = cipherData.dataKey();
+        final byte[] compressed = this.compressor.compress(plaintext);
+        final String codec = compressed == null ? null : this.compressor.codecId();
+        final CipherData cipherData = this.cipher.encrypt(compressed == null ? plaintext : compressed,
+                CipherString.associatedData(codec));
+
+        return wrap(cipherData.dataKey(), Base64.encodeBase64URLSafeString(cipherData.cipherText())).withCodec(codec);
+    }
+
+    @Override
+    public CipherKey unwrapDataKey(final String base64DataKey) {
+        // Decode the base64 encrypted data key
+        final byte[] encryptedDataKey = Base64.decodeBase64(base64DataKey);
+        if (KeyWrapper.isWrapped(encryptedDataKey)) {
+            return this.keyWrapper.unwrap(encryptedDataKey);
+        }
+        // Decrypt the data key serialized by previous versions
+        final byte[] dataKey = this.cipher.decrypt(new CipherData(this.masterKey, encryptedDataKey));
+        // Transform into CipherKey
+        return CipherKey.valueOf(dataKey);
+    }
+
+    @Override
+    public CipherString wrap(final CipherKey dataKey, final String base64CipherText) {
         // Encrypt the data key with master key
-        final CipherData encryptedDataKey = this.cipher.encrypt(dataKey.toBytes(), this.masterKey);
+        final byte[] encryptedDataKey = this.keyWrapper.wrap(dataKey);
         // Convert the encrypted String to base64 string
-        final String encryptedDataKeyBase64Str = Base64.encodeBase64URLSafeString(encryptedDataKey.cipherText());
+        final String encryptedDataKeyBase64Str = Base64.encodeBase64URLSafeString(encryptedDataKey);
 
-        return new CipherString(encryptedDataKeyBase64Str, Base64.encodeBase64URLSafeString(cipherData.cipherText()));
+        return new CipherString(encryptedDataKeyBase64Str, base64CipherText, this.keyIdHeader);
     }
 
     @Override
     public byte[] decrypt(final CipherString cipherText) {
-        final CipherKey cipherKey = this.cipherCache.getDataKey(cipherText.base64DataKey());
+        // Retrieve the encrypted text
         final byte[] encryptedText = Base64.decodeBase64(cipherText.base64CipherText());
-
-        return this.cipher.decrypt(new CipherData(cipherKey, encryptedText));
+        final byte[] plainText = this.cipherCache.decrypt(cipherText.base64DataKey(), encryptedText,
+                cipherText.associatedData(), this.cipher);
+        // Decompress the plain text compressed before encryption
+        return cipherText.codec() == null ? plainText : this.compressor.decompress(cipherText.codec(), plainText);
     }
 
     @Override
@@ -78,6 +121,21 @@ public class LocalCipher implements CipherProvider {
         return this.cipher.hash(plaintext, salt);
     }
 
+    @Override
+    public List<String> hashAll(final List<String> plainTexts, final String salt) {
+        return this.cipher.hashAll(plainTexts, salt);
+    }
+
+    @Override
+    public String hash(final ByteBuffer buffer, final String salt) {
+        return this.cipher.hash(buffer, salt);
+    }
+
+    @Override
+    public String hash(final Path file, final String salt) {
+        return this.cipher.hash(file, salt);
+    }
+
     @Override
     public Type providerType() {
         return Type.LOCAL;
@@ -95,4 +153,14 @@ public class LocalCipher implements CipherProvider {
         }
     }
 
+    @Override
+    public String keyId() {
+        return this.keyId;
+    }
+
+    @Override
+    public CipherCache getCipherCache() {
+        return this.cipherCache;
+    }
+
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.rotation;
+
+import java.util.Properties;
+
+/**
+ * <code>RewrapConfig</code> stores the master key rotation configuration values.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public record RewrapConfig(int rewrapConcurrency, int rewrapBatchSize, int rewrapDedupSize) {
+    public RewrapConfig() {
+        this(8, 10000, 100000);
+    }
+
+    /**
+     * Transform rotation configuration properties into {@link RewrapConfig} record instance.
+     *
+     * @param properties {@link Properties} configuration
+     *
+     * @return {@link RewrapConfig} record instance
+     */
+    static public RewrapConfig valueOf(final Properties properties) {
+        final RewrapConfig rewrapConfig = new RewrapConfig();
+        return new RewrapConfig(Integer.parseInt(properties.getProperty("rewrapConcurrency", String.valueOf(rewrapConfig.rewrapConcurrency())))
+                , Integer.parseInt(properties.getProperty("rewrapBatchSize", String.valueOf(rewrapConfig.rewrapBatchSize())))
+                , Integer.parseInt(properties.getProperty("rewrapDedupSize", String.valueOf(rewrapConfig.rewrapDedupSize()))));
+    }
+}
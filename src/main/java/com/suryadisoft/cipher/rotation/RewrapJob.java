@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.rotation;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.suryadisoft.cipher.data.CipherString;
+import com.suryadisoft.cipher.exception.CipherException;
+import com.suryadisoft.cipher.provider.CipherProvider;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * <code>RewrapJob</code> rotates the master key of a dataset of cipher texts by re-encrypting only their data keys
+ * from the source provider to the target provider, the encrypted texts are copied as is. The cipher texts are
+ * processed in batches of <code>rewrapBatchSize</code> using <code>rewrapConcurrency</code> threads, and the output
+ * keeps the input order. Cipher texts sharing the same encrypted data key are re-wrapped only once.
+ * <p>
+ * When rotating a file, a checkpoint is written after every batch, so an interrupted rotation resumes after the last
+ * completed batch. The checkpoint is removed once the rotation completes.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class RewrapJob implements AutoCloseable {
+
+    private final CipherProvider sourceProvider;
+    private final CipherProvider targetProvider;
+    private final RewrapConfig rewrapConfig;
+    private final ExecutorService executor;
+    private final Cache<String, CipherString> rewrappedDataKeys;
+    private final LongAdder dataKeyCount = new LongAdder();
+
+    /**
+     * Creates an instance of {@link RewrapJob}.
+     *
+     * @param sourceProvider Provider of the current master key
+     * @param targetProvider Provider of the new master key
+     * @param rewrapConfig   {@link RewrapConfig} instance
+     */
+    public RewrapJob(final CipherProvider sourceProvider, final CipherProvider targetProvider,
+                     final RewrapConfig rewrapConfig) {
+        this.sourceProvider = sourceProvider;
+        this.targetProvider = targetProvider;
+        this.rewrapConfig = rewrapConfig;
+        this.executor = Executors.newFixedThreadPool(rewrapConfig.rewrapConcurrency(), new ThreadFactoryBuilder()
+                .setDaemon(true).setNameFormat("cipher-rewrap-%d").build());
+        this.rewrappedDataKeys = CacheBuilder.newBuilder()
+                .concurrencyLevel(rewrapConfig.rewrapConcurrency())
+                .maximumSize(rewrapConfig.rewrapDedupSize())
+                .build();
+    }
+
+    /**
+     * Re-wraps the cipher texts, passing every re-wrapped cipher text to the output in the input order. Blank
+     * lines are passed as is.
+     *
+     * @param cipherTexts Encrypted texts
+     * @param output      Consumer of the re-wrapped encrypted texts
+     * @return Number of cipher texts processed
+     */
+    public long rewrap(final Iterator<String> cipherTexts, final Consumer<String> output) {
+        long count = 0;
+        while (cipherTexts.hasNext()) {
+            final List<String> batch = nextBatch(cipherTexts);
+            rewrapBatch(batch).forEach(output);
+            count += batch.size();
+        }
+        return count;
+    }
+
+    /**
+     * Re-wraps a file of cipher texts, one per line, into the output file, resuming from the checkpoint file when it
+     * exists.
+     *
+     * @param inputFile      File of encrypted texts
+     * @param outputFile     File of re-wrapped encrypted texts
+     * @param checkpointFile Checkpoint file
+     * @return Number of cipher texts processed by this run
+     */
+    public long rewrap(final Path inputFile, final Path outputFile, final Path checkpointFile) {
+        final Checkpoint checkpoint = Checkpoint.read(checkpointFile);
+        try (BufferedReader reader = Files.newBufferedReader(inputFile, StandardCharsets.US_ASCII);
+             FileChannel channel = FileChannel.open(outputFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // Discard the output written after the last checkpoint
+            channel.truncate(checkpoint.bytes());
+            channel.position(checkpoint.bytes());
+            final Writer writer = Channels.newWriter(channel, StandardCharsets.US_ASCII);
+            for (long i = 0; i < checkpoint.rows(); i++) {
+                reader.readLine();
+            }
+            final Iterator<String> lines = reader.lines().iterator();
+            long rows = checkpoint.rows();
+            long bytes = checkpoint.bytes();
+            while (lines.hasNext()) {
+                final List<String> batch = nextBatch(lines);
+                for (final String line : rewrapBatch(batch)) {
+                    writer.write(line);
+                    writer.write('\n');
+                    bytes += line.length() + 1;
+                }
+                writer.flush();
+                channel.force(false);
+                rows += batch.size();
+                new Checkpoint(rows, bytes).write(checkpointFile);
+            }
+            Files.deleteIfExists(checkpointFile);
+            return rows - checkpoint.rows();
+        } catch (IOException e) {
+            throw new CipherException("Unable to re-wrap the cipher text file", e);
+        }
+    }
+
+    /**
+     * Gets the number of distinct data keys re-wrapped so far.
+     *
+     * @return Number of data keys
+     */
+    public long dataKeyCount() {
+        return this.dataKeyCount.sum();
+    }
+
+    private List<String> nextBatch(final Iterator<String> cipherTexts) {
+        final List<String> batch = new ArrayList<>(this.rewrapConfig.rewrapBatchSize());
+        while (batch.size() < this.rewrapConfig.rewrapBatchSize() && cipherTexts.hasNext()) {
+            batch.add(cipherTexts.next());
+        }
+        return batch;
+    }
+
+    private List<String> rewrapBatch(final List<String> batch) {
+        final List<CompletableFuture<String>> futures = batch.stream()
+                .map(line -> CompletableFuture.supplyAsync(() -> rewrap(line), this.executor))
+                .toList();
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof CipherException cipherException ? cipherException
+                    : new CipherException("Unable to re-wrap the cipher text", e.getCause());
+        }
+    }
+
+    private String rewrap(final String line) {
+        if (line.isBlank()) {
+            return line;
+        }
+        final CipherString cipherText = CipherString.valueOf(line);
+        try {
+            final CipherString rewrappedDataKey = this.rewrappedDataKeys.get(cipherText.keyId() + ":" + cipherText.base64DataKey(), () -> {
+                this.dataKeyCount.increment();
+                return this.sourceProvider.rewrap(new CipherString(cipherText.base64DataKey(), "", cipherText.keyId()),
+                        this.targetProvider);
+            });
+            return new CipherString(rewrappedDataKey.base64DataKey(), cipherText.base64CipherText(),
+                    rewrappedDataKey.keyId(), cipherText.codec()).toString();
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw e.getCause() instanceof CipherException cipherException ? cipherException
+                    : new CipherException("Unable to re-wrap the data key", e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Number of input rows processed and output bytes written by the completed batches.
+     */
+    private record Checkpoint(long rows, long bytes) {
+
+        static Checkpoint read(final Path checkpointFile) {
+            if (!Files.isRegularFile(checkpointFile)) {
+                return new Checkpoint(0, 0);
+            }
+            try (InputStream in = Files.newInputStream(checkpointFile)) {
+                final Properties properties = new Properties();
+                properties.load(in);
+                return new Checkpoint(Long.parseLong(properties.getProperty("rows")),
+                        Long.parseLong(properties.getProperty("bytes")));
+            } catch (IOException | RuntimeException e) {
+                throw new CipherException("Unable to read the re-wrap checkpoint file", e);
+            }
+        }
+
+        void write(final Path checkpointFile) throws IOException {
+            final Path parent = checkpointFile.toAbsolutePath().getParent();
+            final Path tempFile = Files.createTempFile(parent, checkpointFile.getFileName().toString(), ".tmp");
+            final Properties properties = new Properties();
+            properties.setProperty("rows", String.valueOf(this.rows));
+            properties.setProperty("bytes", String.valueOf(this.bytes));
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                properties.store(out, null);
+            }
+            Files.move(tempFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+}
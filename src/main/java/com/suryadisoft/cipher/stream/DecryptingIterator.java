@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.stream;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.suryadisoft.cipher.exception.CipherException;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <code>DecryptingIterator</code> decrypts a sequence of cipher texts ahead of its consumer. Up to
+ * <code>prefetchSize</code> cipher texts, holding at most <code>prefetchMaxBytes</code> characters, are read ahead of
+ * the current one and decrypted by <code>prefetchConcurrency</code> threads, so the data keys missing from the cache
+ * are loaded from the kms provider while the consumer processes the previous plain texts. The plain texts are returned
+ * in the order of the cipher texts, a <code>null</code> cipher text gives a <code>null</code> plain text.
+ * <p>
+ * The iterator must be closed to stop its threads, once the sequence is consumed or abandoned.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class DecryptingIterator implements Iterator<byte[]>, AutoCloseable {
+
+    private final Iterator<String> cipherTexts;
+    private final Function<String, byte[]> decryptor;
+    private final PrefetchConfig prefetchConfig;
+    private final ExecutorService executor;
+    private final Queue<Prefetch> prefetched = new ArrayDeque<>();
+    private long prefetchedBytes;
+
+    /**
+     * Creates an instance of {@link DecryptingIterator}.
+     *
+     * @param cipherTexts    Encrypted texts
+     * @param decryptor      Function decrypting a cipher text
+     * @param prefetchConfig {@link PrefetchConfig} instance
+     */
+    public DecryptingIterator(final Iterator<String> cipherTexts, final Function<String, byte[]> decryptor,
+                              final PrefetchConfig prefetchConfig) {
+        this.cipherTexts = cipherTexts;
+        this.decryptor = decryptor;
+        this.prefetchConfig = prefetchConfig;
+        this.executor = Executors.newFixedThreadPool(prefetchConfig.prefetchConcurrency(), new ThreadFactoryBuilder()
+                .setDaemon(true).setNameFormat("cipher-prefetch-%d").build());
+    }
+
+    /**
+     * Creates a sequential ordered {@link Stream} of the plain texts of the cipher texts, decrypted ahead of the
+     * stream consumer. The stream must be closed to stop the decrypting threads.
+     *
+     * @param cipherTexts    Encrypted texts
+     * @param decryptor      Function decrypting a cipher text
+     * @param prefetchConfig {@link PrefetchConfig} instance
+     * @return {@link Stream} of plain texts
+     */
+    static public Stream<byte[]> stream(final Stream<String> cipherTexts, final Function<String, byte[]> decryptor,
+                                        final PrefetchConfig prefetchConfig) {
+        final DecryptingIterator iterator = new DecryptingIterator(cipherTexts.iterator(), decryptor, prefetchConfig);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(iterator::close)
+                .onClose(cipherTexts::close);
+    }
+
+    @Override
+    public boolean hasNext() {
+        prefetch();
+        return !this.prefetched.isEmpty();
+    }
+
+    @Override
+    public byte[] next() {
+        prefetch();
+        final Prefetch prefetch = this.prefetched.poll();
+        if (prefetch == null) {
+            throw new NoSuchElementException();
+        }
+        this.prefetchedBytes -= prefetch.length();
+        // Refill the freed slot before waiting for the current plain text
+        prefetch();
+        try {
+            return prefetch.plainText().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof CipherException cipherException ? cipherException
+                    : new CipherException("Unable to decrypt the cipher text", e.getCause());
+        }
+    }
+
+    private void prefetch() {
+        // Always read at least one cipher text ahead, so a single cipher text above the byte limit still progresses
+        while ((this.prefetched.isEmpty() || this.prefetched.size() < this.prefetchConfig.prefetchSize()
+                && this.prefetchedBytes < this.prefetchConfig.prefetchMaxBytes()) && this.cipherTexts.hasNext()) {
+            final String cipherText = this.cipherTexts.next();
+            final int length = cipherText == null ? 0 : cipherText.length();
+            this.prefetched.add(new Prefetch(cipherText == null ? CompletableFuture.completedFuture(null)
+                    : CompletableFuture.supplyAsync(() -> this.decryptor.apply(cipherText), this.executor), length));
+            this.prefetchedBytes += length;
+        }
+    }
+
+    @Override
+    public void close() {
+        this.prefetched.forEach(prefetch -> prefetch.plainText().cancel(false));
+        this.prefetched.clear();
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Pending decryption of a cipher text of a given length.
+     */
+    private record Prefetch(CompletableFuture<byte[]> plainText, int length) {
+    }
+}
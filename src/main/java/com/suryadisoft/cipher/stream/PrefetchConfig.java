@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.stream;
+
+import java.util.Properties;
+
+/**
+ * <code>PrefetchConfig</code> stores the decrypting iterator look-ahead configuration values.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public record PrefetchConfig(int prefetchSize, int prefetchConcurrency, long prefetchMaxBytes) {
+    public PrefetchConfig() {
+        this(256, 8, 16777216);
+    }
+
+    /**
+     * Transform look-ahead configuration properties into {@link PrefetchConfig} record instance.
+     *
+     * @param properties {@link Properties} configuration
+     *
+     * @return {@link PrefetchConfig} record instance
+     */
+    static public PrefetchConfig valueOf(final Properties properties) {
+        final PrefetchConfig prefetchConfig = new PrefetchConfig();
+        return new PrefetchConfig(Integer.parseInt(properties.getProperty("prefetchSize", String.valueOf(prefetchConfig.prefetchSize())))
+                , Integer.parseInt(properties.getProperty("prefetchConcurrency", String.valueOf(prefetchConfig.prefetchConcurrency())))
+                , Long.parseLong(properties.getProperty("prefetchMaxBytes", String.valueOf(prefetchConfig.prefetchMaxBytes()))));
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.util;
+
+import com.google.cloud.kms.v1.KeyManagementServiceClient;
+import com.suryadisoft.cipher.CipherImpl;
+import com.suryadisoft.cipher.cache.AutoTuneConfig;
+import com.suryadisoft.cipher.cache.CacheConfig;
+import com.suryadisoft.cipher.cache.CipherCache;
+import com.suryadisoft.cipher.data.CipherConfig;
+import com.suryadisoft.cipher.data.GoogleKms;
+import com.suryadisoft.cipher.exception.CipherException;
+import com.suryadisoft.cipher.kms.KmsContext;
+import com.suryadisoft.cipher.kms.KmsEndpoint;
+import com.suryadisoft.cipher.provider.CipherProvider;
+import com.suryadisoft.cipher.provider.GoogleCipher;
+import com.suryadisoft.cipher.provider.LocalCipher;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <code>CipherRegistry</code> serves many tenants, each with its own master key, from one process. It keeps one
+ * {@link CipherUtil} per tenant in a concurrent map, so looking up an existing tenant never locks, and shares:
+ * <ul>
+ *     <li>one Google KMS client, and its gRPC channels, per credential file across all tenants,</li>
+ *     <li>one {@link KmsContext} per credential file, so the kms rate limit, concurrency, retries and location health
+ *     are enforced once for all the tenants calling kms with the same credential, and</li>
+ *     <li>one data key cache of <code>registryMaximumSize</code> data keys, or <code>maximumWeightBytes</code> bytes,
+ *     partitioned by tenant with a fair share of at least <code>registryMinimumSize</code> data keys each.</li>
+ * </ul>
+ * The fair share is recomputed every time the number of tenants crosses a power of 2. A tenant can use the capacity
+ * left idle by the others, but its data keys weigh more once it holds more than its share. The shared cache and kms
+ * settings are read from the registry properties only, and tenant properties setting them are rejected.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class CipherRegistry {
+
+    /**
+     * Tenant properties configuring the shared data key cache and kms contexts.
+     */
+    static final Set<String> REGISTRY_PROPERTIES = Set.of("initialCapacity", "concurrencyLevel", "maximumSize",
+            "expireDuration", "maximumWeightBytes", "cacheOffHeap", "cipherContexts", "kmsRateLimit",
+            "kmsInitialConcurrency", "kmsMinConcurrency", "kmsMaxConcurrency", "kmsLatencyThreshold", "kmsQueueTimeout",
+            "kmsDeadline", "kmsHedging", "kmsHedgeMinDelay", "kmsMaxRetries", "kmsRetryBaseDelay", "kmsRetryMaxDelay",
+            "kmsFailoverThreshold", "kmsEjectDuration");
+
+    private final Map<String, CipherUtil> tenants = new ConcurrentHashMap<>();
+    private final Map<String, KeyManagementServiceClient> kmsClients = new ConcurrentHashMap<>();
+    private final Map<String, KmsContext> kmsContexts = new ConcurrentHashMap<>();
+    private final Properties properties;
+    private final CipherCache cipherCache;
+    private final long maximumSize;
+    private final int minimumSize;
+
+    private volatile int tenantMaximumSize;
+
+    /**
+     * Creates an instance of {@link CipherRegistry} for given registry configuration properties, including the
+     * configuration of the shared data key cache and kms contexts.
+     *
+     * @param properties Registry configuration properties
+     */
+    public CipherRegistry(final Properties properties) {
+        this.properties = properties;
+        this.maximumSize = Long.parseLong(properties.getProperty("registryMaximumSize", "100000"));
+        this.minimumSize = Integer.parseInt(properties.getProperty("registryMinimumSize", "100"));
+        final CacheConfig cacheConfig = CacheConfig.valueOf(properties);
+        // A weighted cache stays bounded by maximumWeightBytes instead of registryMaximumSize
+        this.cipherCache = CipherCache.shared(cacheConfig.isWeighted() ? cacheConfig
+                : cacheConfig.resize((int) Math.min(Integer.MAX_VALUE, this.maximumSize), cacheConfig.expireDuration()));
+        this.tenantMaximumSize = fairShare(1);
+        this.cipherCache.setPartitionShare(this.tenantMaximumSize);
+    }
+
+    /**
+     * Gets the {@link CipherUtil} instance of a tenant, creating it with the given kms provider type and
+     * configuration properties on first use.
+     *
+     * @param tenantId     Tenant id
+     * @param providerType KMS provider type
+     * @param properties   Tenant configuration properties
+     *
+     * @return {@link CipherUtil} instance
+     */
+    public CipherUtil getInstance(final String tenantId, final CipherProvider.Type providerType,
+                                  final Properties properties) {
+        final CipherUtil cipherUtil = this.tenants.get(tenantId);
+        if (cipherUtil != null) {
+            return cipherUtil;
+        }
+        // Build the instance outside of the map so a slow provider does not block the other tenants
+        final CipherUtil newUtil = newInstance(tenantId, providerType, properties);
+        final CipherUtil existingUtil = this.tenants.putIfAbsent(tenantId, newUtil);
+        if (existingUtil != null) {
+            newUtil.close();
+            return existingUtil;
+        }
+        rebalance();
+        return newUtil;
+    }
+
+    /**
+     * Gets the {@link CipherUtil} instance of a tenant if it is registered.
+     *
+     * @param tenantId Tenant id
+     *
+     * @return {@link CipherUtil} instance or <code>null</code>
+     */
+    public CipherUtil getInstance(final String tenantId) {
+        return this.tenants.get(tenantId);
+    }
+
+    /**
+     * Removes a tenant from the registry and closes its {@link CipherUtil} instance.
+     *
+     * @param tenantId Tenant id
+     */
+    public void remove(final String tenantId) {
+        final CipherUtil cipherUtil = this.tenants.remove(tenantId);
+        if (cipherUtil != null) {
+            cipherUtil.close();
+            cipherUtil.getCipherProvider().getCipherCache().invalidateAll();
+            rebalance();
+        }
+    }
+
+    /**
+     * Gets the number of registered tenants.
+     *
+     * @return Number of tenants
+     */
+    public int size() {
+        return this.tenants.size();
+    }
+
+    /**
+     * Gets the fair share of the data key cache of every tenant.
+     *
+     * @return Number of cached data keys per tenant
+     */
+    public int getTenantMaximumSize() {
+        return this.tenantMaximumSize;
+    }
+
+    /**
+     * Gets the data key cache shared by all the tenants.
+     *
+     * @return {@link CipherCache} instance
+     */
+    public CipherCache getCipherCache() {
+        return this.cipherCache;
+    }
+
+    private CipherUtil newInstance(final String tenantId, final CipherProvider.Type providerType,
+                                   final Properties properties) {
+        for (final String name : properties.stringPropertyNames()) {
+            if (REGISTRY_PROPERTIES.contains(name)) {
+                throw new CipherException("Tenant property " + name
+                        + " configures the shared cache or kms context, set it in the registry properties");
+            }
+        }
+        if (AutoTuneConfig.valueOf(properties).autoTune()) {
+            throw new CipherException("Cache auto-tuning is not supported for the shared cache of a registry");
+        }
+        final CipherImpl cipher = new CipherImpl(CipherConfig.valueOf(properties));
+        final CipherProvider cipherProvider;
+        if (providerType == CipherProvider.Type.GOOGLE_KMS) {
+            final GoogleKms googleKms = GoogleKms.valueOf(properties);
+            final KeyManagementServiceClient kmsClient = this.kmsClients.computeIfAbsent(googleKms.credentialFile(),
+                    credentialFile -> GoogleCipher.kmsClient(googleKms));
+            final KmsContext kmsContext = this.kmsContexts.computeIfAbsent(googleKms.credentialFile(),
+                    credentialFile -> KmsContext.valueOf(this.properties));
+            final List<KmsEndpoint> kmsEndpoints = googleKms.cryptoKeyNames().stream()
+                    .map(cryptoKeyName -> new KmsEndpoint(cryptoKeyName, kmsClient)).toList();
+            cipherProvider = new GoogleCipher(cipher, kmsEndpoints, kmsContext,
+                    dataKeyFunc -> this.cipherCache.partition(tenantId, dataKeyFunc), properties);
+        } else {
+            cipherProvider = new LocalCipher(cipher, dataKeyFunc -> this.cipherCache.partition(tenantId, dataKeyFunc),
+                    properties);
+        }
+        return new CipherUtil(cipherProvider, properties);
+    }
+
+    /**
+     * Recomputes the fair share of every tenant when the number of tenants crosses a power of 2. The shared cache
+     * weighs the data keys loaded beyond the new share accordingly.
+     */
+    private synchronized void rebalance() {
+        final int fairShare = fairShare(this.tenants.size());
+        if (fairShare != this.tenantMaximumSize) {
+            this.tenantMaximumSize = fairShare;
+            this.cipherCache.setPartitionShare(fairShare);
+        }
+    }
+
+    /**
+     * Computes the cache partition size for a number of tenants rounded up to the next power of 2.
+     */
+    private int fairShare(final int tenantCount) {
+        final long roundedTenants = Long.highestOneBit(Math.max(1, tenantCount - 1)) << 1;
+        return (int) Math.max(this.minimumSize, Math.min(Integer.MAX_VALUE,
+                this.maximumSize / (tenantCount <= 1 ? 1 : roundedTenants)));
+    }
+}
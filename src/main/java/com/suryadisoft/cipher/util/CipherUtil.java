@@ -13,34 +13,71 @@
 package com.suryadisoft.cipher.util;
 
 import com.suryadisoft.cipher.CipherImpl;
+import com.suryadisoft.cipher.cache.AutoTuneConfig;
+import com.suryadisoft.cipher.cache.CacheTuner;
+import com.suryadisoft.cipher.cache.CacheWarmer;
+import com.suryadisoft.cipher.cache.PlainTextCache;
+import com.suryadisoft.cipher.cache.PlainTextCacheConfig;
+import com.suryadisoft.cipher.cache.WarmupConfig;
+import com.suryadisoft.cipher.cache.simulation.AccessTraceRecorder;
+import com.suryadisoft.cipher.column.ColumnCipher;
+import com.suryadisoft.cipher.column.ColumnConfig;
+import com.suryadisoft.cipher.column.EncryptedColumn;
 import com.suryadisoft.cipher.data.CipherConfig;
 import com.suryadisoft.cipher.data.CipherKey;
 import com.suryadisoft.cipher.data.CipherString;
 import com.suryadisoft.cipher.data.GoogleKms;
+import com.suryadisoft.cipher.exception.CipherException;
+import com.suryadisoft.cipher.index.BlindIndex;
+import com.suryadisoft.cipher.index.BlindIndexConfig;
+import com.suryadisoft.cipher.index.DeterministicCipher;
 import com.suryadisoft.cipher.provider.CipherProvider;
 import com.suryadisoft.cipher.provider.GoogleCipher;
 import com.suryadisoft.cipher.provider.LocalCipher;
+import com.suryadisoft.cipher.stream.DecryptingIterator;
+import com.suryadisoft.cipher.stream.PrefetchConfig;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.stream.Stream;
 
 /**
  * <code>CipherUtil</code> is a singleton utility class to encrypt, decrypt and hash data using the envelope
  * encryption algorithm given the kms provider.
+ * <p>
+ * The singleton instance is configured by the first call to <code>getInstance</code>, services serving several
+ * tenants or master keys should use a {@link CipherRegistry} instead.
  *
  * @author Edward Suryadi
  * @since May 2025
  */
-public class CipherUtil {
+public class CipherUtil implements AutoCloseable {
 
     private static CipherUtil _INSTANCE;
 
     private final CipherProvider cipherProvider;
     private final Properties properties;
+    private final WarmupConfig warmupConfig;
+    private final BlindIndex blindIndex;
+    private final DeterministicCipher deterministicCipher;
+    private final PlainTextCache plainTextCache;
+    private final PrefetchConfig prefetchConfig;
+    private final ColumnCipher columnCipher;
+    private final CacheWarmer cacheWarmer;
+    private final CacheTuner cacheTuner;
+    private final AccessTraceRecorder accessTraceRecorder;
 
     /**
      * Creates an instance of {@link CipherUtil} for a given kms provider type and configuration properties.
@@ -49,11 +86,52 @@ public class CipherUtil {
      * @param properties   Configuration properties
      */
     private CipherUtil(final CipherProvider.Type providerType, final Properties properties) {
+        this(providerType == CipherProvider.Type.GOOGLE_KMS
+                ? new GoogleCipher(new CipherImpl(CipherConfig.valueOf(properties)), properties)
+                : new LocalCipher(new CipherImpl(CipherConfig.valueOf(properties)), properties), properties);
+    }
+
+    /**
+     * Creates an instance of {@link CipherUtil} for a given kms provider and configuration properties.
+     *
+     * @param cipherProvider {@link CipherProvider} instance
+     * @param properties     Configuration properties
+     */
+    CipherUtil(final CipherProvider cipherProvider, final Properties properties) {
         this.properties = properties;
-        if (providerType == CipherProvider.Type.GOOGLE_KMS) {
-            this.cipherProvider = new GoogleCipher(new CipherImpl(CipherConfig.valueOf(properties)), properties);
+        this.cipherProvider = cipherProvider;
+        this.warmupConfig = WarmupConfig.valueOf(properties);
+        final BlindIndexConfig blindIndexConfig = BlindIndexConfig.valueOf(properties);
+        this.blindIndex = blindIndexConfig.isEnabled() ? new BlindIndex(cipherProvider, blindIndexConfig) : null;
+        final String deterministicKey = properties.getProperty("deterministicKey", "");
+        this.deterministicCipher = deterministicKey.isBlank() ? null
+                : new DeterministicCipher(cipherProvider, deterministicKey);
+        final PlainTextCacheConfig plainTextCacheConfig = PlainTextCacheConfig.valueOf(properties);
+        this.plainTextCache = plainTextCacheConfig.isEnabled() ? new PlainTextCache(plainTextCacheConfig) : null;
+        this.prefetchConfig = PrefetchConfig.valueOf(properties);
+        this.columnCipher = new ColumnCipher(cipherProvider, CipherConfig.valueOf(properties),
+                ColumnConfig.valueOf(properties));
+        if (this.warmupConfig.isEnabled()) {
+            // Pre-load the hot data keys of the previous run before the instance is handed out
+            this.cacheWarmer = new CacheWarmer(this.cipherProvider.getCipherCache(), this.warmupConfig);
+            this.cacheWarmer.warmup();
+            this.cacheWarmer.start();
+        } else {
+            this.cacheWarmer = null;
+        }
+        final AutoTuneConfig autoTuneConfig = AutoTuneConfig.valueOf(properties);
+        if (autoTuneConfig.autoTune()) {
+            this.cacheTuner = new CacheTuner(this.cipherProvider.getCipherCache(), autoTuneConfig);
+            this.cacheTuner.start();
+        } else {
+            this.cacheTuner = null;
+        }
+        final String accessTraceFile = properties.getProperty("accessTraceFile", "");
+        if (!accessTraceFile.isBlank()) {
+            this.accessTraceRecorder = new AccessTraceRecorder(Paths.get(accessTraceFile));
+            this.cipherProvider.getCipherCache().setAccessListener(this.accessTraceRecorder);
         } else {
-            this.cipherProvider = new LocalCipher(new CipherImpl(CipherConfig.valueOf(properties)), properties);
+            this.accessTraceRecorder = null;
         }
     }
 
@@ -88,6 +166,15 @@ public class CipherUtil {
         return new CipherUtil(providerType, properties);
     }
 
+    /**
+     * Gets a new instance of {@link CipherUtil} instance for a given kms provider and configuration properties.
+     *
+     * @return {@link CipherUtil} instance
+     */
+    static public CipherUtil getNewInstance(final CipherProvider cipherProvider, final Properties properties) {
+        return new CipherUtil(cipherProvider, properties);
+    }
+
     /**
      * Gets a singleton instance of {@link CipherUtil} instance with local kms provider and auto-generated master key.
      *
@@ -132,6 +219,24 @@ public class CipherUtil {
         return properties;
     }
 
+    /**
+     * Gets the kms provider.
+     *
+     * @return {@link CipherProvider} instance
+     */
+    public CipherProvider getCipherProvider() {
+        return this.cipherProvider;
+    }
+
+    /**
+     * Gets the estimated memory footprint in bytes of the data keys currently cached by the kms provider.
+     *
+     * @return Estimated memory footprint in bytes
+     */
+    public long getCacheMemoryFootprint() {
+        return this.cipherProvider.getCipherCache().memoryFootprint();
+    }
+
     /**
      * Encrypts the plain text.
      *
@@ -159,9 +264,100 @@ public class CipherUtil {
      * @return Bytes Array
      */
     public byte[] decrypt(final String cipherText) {
+        return decrypt(cipherText, true);
+    }
+
+    /**
+     * Decrypts the cipher text into bytes array. When the <code>plainTextCacheSize</code> property is set, repeated
+     * decryptions of the same cipher text are served from the plain text cache, unless <code>cached</code> is
+     * <code>false</code>.
+     *
+     * @param cipherText Encrypted text
+     * @param cached     <code>false</code> to bypass the plain text cache
+     * @return Bytes Array
+     */
+    public byte[] decrypt(final String cipherText, final boolean cached) {
+        if (cipherText != null && cached && this.plainTextCache != null) {
+            return this.plainTextCache.get(cipherText, this::decryptUncached);
+        }
+        return decryptUncached(cipherText);
+    }
+
+    /**
+     * Decrypts a sequence of cipher texts, such as a database column, ahead of its consumer. The cipher texts are
+     * read up to <code>prefetchSize</code> ahead and decrypted by <code>prefetchConcurrency</code> threads, so the
+     * consumer does not wait for the kms provider once the look-ahead is filled. The iterator must be closed.
+     *
+     * @param cipherTexts Encrypted texts
+     * @return {@link DecryptingIterator} of the plain texts, in the cipher texts order
+     */
+    public DecryptingIterator decryptAll(final Iterator<String> cipherTexts) {
+        return new DecryptingIterator(cipherTexts, this::decrypt, this.prefetchConfig);
+    }
+
+    /**
+     * Decrypts a stream of cipher texts ahead of its consumer, see {@link #decryptAll(Iterator)}. The returned stream
+     * must be closed.
+     *
+     * @param cipherTexts Encrypted texts
+     * @return {@link Stream} of the plain texts, in the cipher texts order
+     */
+    public Stream<byte[]> decryptAll(final Stream<String> cipherTexts) {
+        return DecryptingIterator.stream(cipherTexts, this::decrypt, this.prefetchConfig);
+    }
+
+    /**
+     * Encrypts a column of values into a single {@link EncryptedColumn} arena. Every value gets its own data key, and
+     * {@link EncryptedColumn#cipherString(int)} gives the cipher text of a value that {@link #decrypt(String)} can
+     * decrypt.
+     *
+     * @param values Column values
+     * @return {@link EncryptedColumn} instance
+     */
+    public EncryptedColumn encryptColumn(final byte[][] values) {
+        return this.columnCipher.encrypt(values);
+    }
+
+    /**
+     * Encrypts a column of values packed in a buffer, value <code>i</code> spanning from <code>offsets[i]</code> to
+     * <code>offsets[i + 1]</code>, into a single {@link EncryptedColumn} arena.
+     *
+     * @param buffer  Packed values
+     * @param offsets Value offsets, one more than the number of values
+     * @return {@link EncryptedColumn} instance
+     */
+    public EncryptedColumn encryptColumn(final byte[] buffer, final int[] offsets) {
+        return this.columnCipher.encrypt(buffer, offsets);
+    }
+
+    /**
+     * Decrypts a column of values encrypted by {@link #encryptColumn(byte[][])}.
+     *
+     * @param column {@link EncryptedColumn} instance
+     * @return Column values
+     */
+    public byte[][] decryptColumn(final EncryptedColumn column) {
+        return this.columnCipher.decrypt(column);
+    }
+
+    private byte[] decryptUncached(final String cipherText) {
         return Optional.ofNullable(cipherText).map(CipherString::valueOf).map(cipherProvider::decrypt).orElse(null);
     }
 
+    /**
+     * Loads the data keys of the given cipher texts into the data key cache, so the following decryptions of these
+     * cipher texts do not need to wait for the kms provider. The data keys are decrypted in parallel using at most
+     * <code>warmupConcurrency</code> concurrent decryptions.
+     *
+     * @param cipherTexts Encrypted texts
+     * @return Number of data keys loaded
+     */
+    public int prewarm(final Iterable<String> cipherTexts) {
+        final List<CipherString> cipherStrings = new ArrayList<>();
+        cipherTexts.forEach(cipherText -> cipherStrings.add(CipherString.valueOf(cipherText)));
+        return this.cipherProvider.prewarm(cipherStrings, this.warmupConfig.warmupConcurrency());
+    }
+
     /**
      * Hashes the plain text with predefined salt.
      *
@@ -172,6 +368,136 @@ public class CipherUtil {
         return Pair.ofNonNull(plainText, salt).apply(cipherProvider::hash);
     }
 
+    /**
+     * Hashes every plain text with the same salt.
+     *
+     * @param plainTexts Plain texts
+     * @param salt       Salt string
+     * @return Hashed plain texts, in the order of the plain texts
+     */
+    public List<String> hashAll(final List<String> plainTexts, final String salt) {
+        return Pair.ofNonNull(plainTexts, salt).apply(cipherProvider::hashAll);
+    }
+
+    /**
+     * Hashes the remaining bytes of the buffer with predefined salt, e.g. a large binary value, without copying it.
+     *
+     * @param buffer Bytes buffer
+     * @param salt   Salt string
+     * @return Hashed bytes
+     */
+    public String hash(final ByteBuffer buffer, final String salt) {
+        return Pair.ofNonNull(buffer, salt).apply(cipherProvider::hash);
+    }
+
+    /**
+     * Hashes the content of the file with predefined salt, reading it through memory-mapped windows.
+     *
+     * @param file File path
+     * @param salt Salt string
+     * @return Hashed file content
+     */
+    public String hash(final Path file, final String salt) {
+        return Pair.ofNonNull(file, salt).apply(cipherProvider::hash);
+    }
+
+    /**
+     * Computes the keyed blind index of the plain text for a given column, so the encrypted column can be searched
+     * by equality without decrypting it. Requires the <code>blindIndexKey</code> property.
+     *
+     * @param column    Column name
+     * @param plainText Plain text
+     * @return Blind index
+     */
+    public String blindIndex(final String column, final String plainText) {
+        if (this.blindIndex == null) {
+            throw new CipherException("Blind index key is not configured!");
+        }
+        return Optional.ofNullable(plainText).map(text -> this.blindIndex.index(column, text)).orElse(null);
+    }
+
+    /**
+     * Generates a new blind index key encrypted by the kms provider, to be set as the <code>blindIndexKey</code>
+     * property.
+     *
+     * @return Encrypted blind index key
+     */
+    public String generateBlindIndexKey() {
+        return generateEncryptedKey(32);
+    }
+
+    /**
+     * Encrypts the plain text of a column deterministically, so equal plain texts of the column give equal encrypted
+     * texts that can be joined and looked up by the database. Requires the <code>deterministicKey</code> property.
+     *
+     * @param column    Column name
+     * @param plainText Plain text
+     * @return Encrypted plain text
+     */
+    public String encryptDeterministic(final String column, final String plainText) {
+        return Optional.ofNullable(plainText)
+                .map(text -> deterministicCipher().encrypt(column, text.getBytes(StandardCharsets.UTF_8)))
+                .orElse(null);
+    }
+
+    /**
+     * Decrypts the deterministically encrypted text of a column.
+     *
+     * @param column     Column name
+     * @param cipherText Encrypted text
+     * @return Bytes Array
+     */
+    public byte[] decryptDeterministic(final String column, final String cipherText) {
+        return Optional.ofNullable(cipherText).map(text -> deterministicCipher().decrypt(column, text)).orElse(null);
+    }
+
+    /**
+     * Generates a new deterministic key encrypted by the kms provider, to be set as the <code>deterministicKey</code>
+     * property.
+     *
+     * @return Encrypted deterministic key
+     */
+    public String generateDeterministicKey() {
+        return generateEncryptedKey(64);
+    }
+
+    private DeterministicCipher deterministicCipher() {
+        if (this.deterministicCipher == null) {
+            throw new CipherException("Deterministic key is not configured!");
+        }
+        return this.deterministicCipher;
+    }
+
+    private String generateEncryptedKey(final int size) {
+        final byte[] key = new byte[size];
+        new SecureRandom().nextBytes(key);
+        try {
+            return encrypt(key);
+        } finally {
+            Arrays.fill(key, (byte) 0);
+        }
+    }
+
+    /**
+     * Stops the background tasks of this instance, i.e. the column cipher threads, the cache warmer, the cache tuner
+     * and the access trace recorder. The cache warmer writes a last snapshot of the hot data keys and the access trace
+     * is flushed.
+     */
+    @Override
+    public void close() {
+        this.columnCipher.close();
+        if (this.cacheWarmer != null) {
+            this.cacheWarmer.close();
+        }
+        if (this.cacheTuner != null) {
+            this.cacheTuner.close();
+        }
+        if (this.accessTraceRecorder != null) {
+            this.cipherProvider.getCipherCache().setAccessListener(null);
+            this.accessTraceRecorder.close();
+        }
+    }
+
     /**
      * Generates a new data key for a given security algorithm, e.g. "AES".
      *
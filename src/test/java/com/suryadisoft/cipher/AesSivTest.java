@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher;
+
+import com.suryadisoft.cipher.exception.CipherException;
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.binary.Hex;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <code>AesSivTest</code> class is a unit-test for {@link AesSiv} implementation class.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+class AesSivTest {
+
+    /**
+     * RFC 5297 A.1 deterministic authenticated encryption example.
+     */
+    @Test
+    void testRfcVector() throws DecoderException {
+        AesSiv aesSiv = new AesSiv(Hex.decodeHex("fffefdfcfbfaf9f8f7f6f5f4f3f2f1f0f0f1f2f3f4f5f6f7f8f9fafbfcfdfeff"));
+        byte[] associatedData = Hex.decodeHex("101112131415161718191a1b1c1d1e1f2021222324252627");
+        byte[] plainText = Hex.decodeHex("112233445566778899aabbccddee");
+        byte[] cipherText = aesSiv.encrypt(plainText, associatedData);
+        assertEquals("85632d07c6e8f37f950acd320a2ecc9340c02b9690c4dc04daef7f6afe5c", Hex.encodeHexString(cipherText));
+        assertArrayEquals(plainText, aesSiv.decrypt(cipherText, associatedData));
+    }
+
+    @Test
+    void testDeterministic() {
+        byte[] key = new byte[64];
+        new SecureRandom().nextBytes(key);
+        AesSiv aesSiv = new AesSiv(key);
+        for (String value : new String[]{"", "short", "exactly 16 bytes", "a plain text longer than one block"}) {
+            byte[] plainText = value.getBytes(StandardCharsets.UTF_8);
+            byte[] cipherText = aesSiv.encrypt(plainText);
+            assertArrayEquals(cipherText, aesSiv.encrypt(plainText));
+            assertEquals(16 + plainText.length, cipherText.length);
+            assertArrayEquals(plainText, aesSiv.decrypt(cipherText));
+
+            cipherText[cipherText.length - 1] ^= 1;
+            assertThrows(CipherException.class, () -> aesSiv.decrypt(cipherText));
+        }
+        assertThrows(CipherException.class, () -> new AesSiv(new byte[16]));
+    }
+}
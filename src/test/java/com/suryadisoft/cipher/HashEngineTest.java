@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher;
+
+import com.suryadisoft.cipher.util.CipherUtil;
+import org.apache.commons.codec.binary.Base64;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <code>HashEngineTest</code> class is a unit-test for {@link HashEngine} implementation class.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+class HashEngineTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final HashEngine hashEngine = new HashEngine("SHA3-256");
+
+    private static byte[] expectedHash(final byte[] bytes, final String salt) throws NoSuchAlgorithmException {
+        final MessageDigest digest = MessageDigest.getInstance("SHA3-256");
+        digest.update(Base64.decodeBase64(salt));
+        return digest.digest(bytes);
+    }
+
+    @Test
+    void testHash() throws NoSuchAlgorithmException {
+        String salt = CipherUtil.generateNewSalt();
+        byte[] bytes = "Hello World".getBytes(StandardCharsets.UTF_8);
+        assertEquals(Base64.encodeBase64URLSafeString(expectedHash(bytes, salt)), this.hashEngine.hash("Hello World", salt));
+        // The cached salted digest is not altered by previous hashes
+        assertArrayEquals(expectedHash(bytes, salt), this.hashEngine.hash(bytes, salt));
+        assertArrayEquals(expectedHash(bytes, salt), this.hashEngine.hash(ByteBuffer.wrap(bytes), salt));
+        assertArrayEquals(expectedHash(bytes, salt), this.hashEngine.hash(ByteBuffer.allocateDirect(11).put(bytes).flip(), salt));
+        assertNotEquals(this.hashEngine.hash("Hello World", salt), this.hashEngine.hash("Hello World", CipherUtil.generateNewSalt()));
+    }
+
+    @Test
+    void testHashAll() throws NoSuchAlgorithmException {
+        String salt = CipherUtil.generateNewSalt();
+        List<String> plainTexts = IntStream.range(0, 100).mapToObj(i -> "value" + i).toList();
+        List<String> hashes = this.hashEngine.hashAll(plainTexts, salt);
+        assertEquals(100, hashes.size());
+        for (int i = 0; i < plainTexts.size(); i++) {
+            assertEquals(new CipherImpl().hash(plainTexts.get(i), salt), hashes.get(i));
+        }
+    }
+
+    @Test
+    void testHashFile() throws IOException, NoSuchAlgorithmException {
+        String salt = CipherUtil.generateNewSalt();
+        byte[] bytes = new byte[1024 * 1024 + 7];
+        new Random(42).nextBytes(bytes);
+        Path file = Files.write(this.tempDir.resolve("data.bin"), bytes);
+        assertArrayEquals(expectedHash(bytes, salt), this.hashEngine.hash(file, salt));
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher;
+
+import com.suryadisoft.cipher.data.CipherKey;
+import com.suryadisoft.cipher.exception.CipherException;
+import com.suryadisoft.cipher.provider.LocalCipher;
+import com.suryadisoft.cipher.util.CipherUtil;
+import org.apache.commons.codec.binary.Base64;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <code>KeyWrapperTest</code> class is a unit-test for {@link KeyWrapper} implementation class.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+class KeyWrapperTest {
+
+    private final String masterKey = CipherUtil.generateNewKey("AES");
+    private final KeyWrapper keyWrapper = new KeyWrapper(CipherKey.valueOf(this.masterKey));
+
+    @Test
+    void testWrap() {
+        CipherKey dataKey = CipherKey.valueOf(CipherUtil.generateNewKey("AES"));
+        byte[] wrappedKey = this.keyWrapper.wrap(dataKey);
+        assertEquals(30 + dataKey.dataKey().length + dataKey.iv().length, wrappedKey.length);
+        assertTrue(KeyWrapper.isWrapped(wrappedKey));
+        // Every wrap uses a new nonce
+        assertFalse(Arrays.equals(wrappedKey, this.keyWrapper.wrap(dataKey)));
+
+        CipherKey unwrappedKey = this.keyWrapper.unwrap(wrappedKey);
+        assertArrayEquals(dataKey.dataKey(), unwrappedKey.dataKey());
+        assertArrayEquals(dataKey.iv(), unwrappedKey.iv());
+
+        wrappedKey[wrappedKey.length - 1] ^= 1;
+        assertThrows(CipherException.class, () -> this.keyWrapper.unwrap(wrappedKey));
+        assertThrows(CipherException.class,
+                () -> new KeyWrapper(CipherKey.valueOf(CipherUtil.generateNewKey("AES"))).unwrap(this.keyWrapper.wrap(dataKey)));
+    }
+
+    @Test
+    void testLegacyDataKey() {
+        Properties properties = new Properties();
+        properties.setProperty("masterKey", this.masterKey);
+        LocalCipher localCipher = new LocalCipher(new CipherImpl(), properties);
+        CipherKey dataKey = CipherKey.valueOf(CipherUtil.generateNewKey("AES"));
+        // Data keys serialized and encrypted by previous versions
+        byte[] legacyKey = new CipherImpl().encrypt(dataKey.toBytes(), CipherKey.valueOf(this.masterKey)).cipherText();
+        assertFalse(KeyWrapper.isWrapped(legacyKey));
+
+        CipherKey unwrappedKey = localCipher.unwrapDataKey(Base64.encodeBase64URLSafeString(legacyKey));
+        assertArrayEquals(dataKey.dataKey(), unwrappedKey.dataKey());
+        assertArrayEquals(dataKey.iv(), unwrappedKey.iv());
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.bulk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suryadisoft.cipher.exception.CipherException;
+import com.suryadisoft.cipher.util.CipherUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <code>BulkCipherTest</code> class is a unit-test for {@link BulkCipher} class.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+class BulkCipherTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final CipherUtil cipherUtil = CipherUtil.getNewInstance();
+
+    @Test
+    void testCsv() throws IOException {
+        final List<String> lines = new ArrayList<>();
+        lines.add("id,name,\"email\",note");
+        for (int i = 0; i < 1000; i++) {
+            lines.add(i + ",\"Doe, Jane " + i + "\",jane" + i + "@example.com," + (i % 10 == 0 ? "" : "\"say \"\"hi\"\"\""));
+        }
+        lines.add("");
+        final Path input = Files.write(this.tempDir.resolve("input.csv"), lines);
+        final Path encrypted = this.tempDir.resolve("encrypted.csv");
+        final Path decrypted = this.tempDir.resolve("decrypted.csv");
+
+        try (BulkCipher bulkCipher = new BulkCipher(this.cipherUtil, BulkCipher.Format.CSV, List.of("name", "note"),
+                new BulkConfig(4, 1000))) {
+            assertEquals(1000, bulkCipher.encrypt(input, encrypted));
+            final List<String> encryptedLines = Files.readAllLines(encrypted);
+            assertEquals(lines.size(), encryptedLines.size());
+            assertEquals(lines.get(0), encryptedLines.get(0));
+            final String[] cells = encryptedLines.get(2).split(",");
+            assertEquals(4, cells.length);
+            assertEquals("1", cells[0]);
+            assertEquals("Doe, Jane 1", new String(this.cipherUtil.decrypt(cells[1])));
+            assertEquals("jane1@example.com", cells[2]);
+            assertEquals("say \"hi\"", new String(this.cipherUtil.decrypt(cells[3])));
+            assertTrue(encryptedLines.get(1).endsWith("@example.com,"));
+
+            assertEquals(1000, bulkCipher.decrypt(encrypted, decrypted));
+        }
+        assertEquals(lines, Files.readAllLines(decrypted));
+    }
+
+    @Test
+    void testJsonLines() throws IOException {
+        final ObjectMapper mapper = new ObjectMapper();
+        final List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            lines.add("{\"id\":" + i + ",\"ssn\":\"123-45-" + i + "\",\"address\":{\"street\":\"" + i
+                    + " Main Street\",\"zip\":" + (90000 + i) + "},\"phone\":null,\"active\":" + (i % 2 == 0) + "}");
+        }
+        final Path input = Files.write(this.tempDir.resolve("input.jsonl"), lines);
+        final Path encrypted = this.tempDir.resolve("encrypted.jsonl");
+        final Path decrypted = this.tempDir.resolve("decrypted.jsonl");
+
+        try (BulkCipher bulkCipher = new BulkCipher(this.cipherUtil, BulkCipher.Format.JSONL,
+                List.of("ssn", "address.street", "address.zip", "phone", "active", "missing"),
+                new BulkConfig(3, 4096))) {
+            assertEquals(500, bulkCipher.encrypt(input, encrypted));
+            final List<String> encryptedLines = Files.readAllLines(encrypted);
+            assertEquals(500, encryptedLines.size());
+            final JsonNode record = mapper.readTree(encryptedLines.get(7));
+            assertEquals(7, record.get("id").asInt());
+            assertEquals("123-45-7", new String(this.cipherUtil.decrypt(record.get("ssn").asText())));
+            assertEquals("7 Main Street", new String(this.cipherUtil.decrypt(record.get("address").get("street").asText())));
+            final String zip = record.get("address").get("zip").asText();
+            assertTrue(zip.startsWith(BulkCipher.JSON_VALUE_PREFIX));
+            assertEquals("90007", new String(this.cipherUtil.decrypt(zip.substring(BulkCipher.JSON_VALUE_PREFIX.length()))));
+            assertTrue(record.get("phone").isNull());
+            assertTrue(record.get("active").asText().startsWith(BulkCipher.JSON_VALUE_PREFIX));
+
+            assertEquals(500, bulkCipher.decrypt(encrypted, decrypted));
+        }
+        assertEquals(lines, Files.readAllLines(decrypted));
+    }
+
+    @Test
+    void testMissingColumn() throws IOException {
+        final Path input = Files.write(this.tempDir.resolve("input.csv"), List.of("id,name", "1,Jane"));
+        try (BulkCipher bulkCipher = new BulkCipher(this.cipherUtil, BulkCipher.Format.CSV, List.of("email"),
+                new BulkConfig())) {
+            assertThrows(CipherException.class, () -> bulkCipher.encrypt(input, this.tempDir.resolve("output.csv")));
+        }
+    }
+}
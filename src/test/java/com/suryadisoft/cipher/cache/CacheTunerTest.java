@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.cache;
+
+import com.suryadisoft.cipher.data.CipherKey;
+import com.suryadisoft.cipher.util.CipherUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <code>CacheTunerTest</code> class is a unit-test for {@link CacheTuner} implementation class.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+@Execution(ExecutionMode.CONCURRENT)
+class CacheTunerTest {
+
+    private static final CipherKey DATA_KEY = CipherKey.valueOf(CipherUtil.generateNewKey("AES"));
+
+    private static AutoTuneConfig autoTuneConfig(final long heapBudgetBytes) {
+        return new AutoTuneConfig(true, 60000, 0.9, 50, heapBudgetBytes, 10, 3600000);
+    }
+
+    /**
+     * Test method for {@link CacheTuner#tune()} growing a cache that is too small.
+     */
+    @Test
+    void testGrow() {
+        CipherCache cache = new CipherCache(new CacheConfig(16, 1, 10, 60000), key -> DATA_KEY);
+        CacheTuner tuner = new CacheTuner(cache, autoTuneConfig(1024 * 1024));
+        for (int i = 0; i < 200; i++) {
+            cache.getDataKey("key" + (i % 20));
+        }
+        assertEquals(20, tuner.tune().maximumSize());
+        for (int i = 0; i < 200; i++) {
+            cache.getDataKey("key" + (i % 20));
+        }
+        assertEquals(20, tuner.tune().maximumSize());
+        assertTrue(cache.stats().hitCount() > 0);
+    }
+
+    /**
+     * Test method for {@link CacheTuner#setMaximumSizeCap(int)}.
+     */
+    @Test
+    void testMaximumSizeCap() {
+        CipherCache cache = new CipherCache(new CacheConfig(16, 1, 10, 60000), key -> DATA_KEY);
+        CacheTuner tuner = new CacheTuner(cache, autoTuneConfig(1024 * 1024));
+        tuner.setMaximumSizeCap(15);
+        for (int i = 0; i < 200; i++) {
+            cache.getDataKey("key" + (i % 20));
+        }
+        assertEquals(15, tuner.tune().maximumSize());
+    }
+
+    /**
+     * Test method for {@link CacheTuner#tune()} capping the cache to the heap budget.
+     */
+    @Test
+    void testHeapBudget() {
+        CipherCache cache = new CipherCache(new CacheConfig(16, 1, 1000, 60000), key -> DATA_KEY);
+        CacheTuner tuner = new CacheTuner(cache, autoTuneConfig(20 * 200));
+        for (int i = 0; i < 200; i++) {
+            cache.getDataKey("key" + (i % 100));
+        }
+        CacheConfig tuned = tuner.tune();
+        assertTrue(tuned.maximumSize() < 100);
+        assertTrue(cache.memoryFootprint() <= 20 * 200);
+    }
+
+    /**
+     * Test method for {@link CacheTuner#tune()} shrinking an oversized cache.
+     */
+    @Test
+    void testShrink() {
+        CipherCache cache = new CipherCache(new CacheConfig(16, 1, 1000, 60000), key -> DATA_KEY);
+        CacheTuner tuner = new CacheTuner(cache, autoTuneConfig(1024 * 1024));
+        for (int i = 0; i < 200; i++) {
+            cache.getDataKey("key" + (i % 5));
+        }
+        assertEquals(10, tuner.tune().maximumSize());
+        assertEquals(5, cache.size());
+    }
+
+    /**
+     * Test method for {@link CacheTuner#tune()} growing a cache bounded by weight from its weight budget.
+     */
+    @Test
+    void testGrowWeighted() {
+        long entryBytes = CipherCache.weigh(new KeyDigest(0, 0), DATA_KEY);
+        CipherCache cache = new CipherCache(new CacheConfig(16, 1, 100, 60000, 300 * entryBytes, false, 0),
+                key -> DATA_KEY);
+        CacheTuner tuner = new CacheTuner(cache, autoTuneConfig(1024 * 1024 * 1024));
+        for (int i = 0; i < 800; i++) {
+            cache.getDataKey("key" + (i % 400));
+        }
+        CacheConfig tuned = tuner.tune();
+        assertFalse(tuned.isWeighted());
+        assertTrue(tuned.maximumSize() >= 500);
+    }
+
+    /**
+     * Test method for {@link CacheTuner#tune()} shrinking the expire duration of a cache using most of its heap budget.
+     */
+    @Test
+    void testShrinkExpireDuration() {
+        long entryBytes = CipherCache.weigh(new KeyDigest(0, 0), DATA_KEY);
+        CipherCache cache = new CipherCache(new CacheConfig(16, 1, 200, 60000), key -> DATA_KEY);
+        CacheTuner tuner = new CacheTuner(cache, autoTuneConfig(200 * entryBytes));
+        cache.reconfigure(new CacheConfig(16, 1, 200, 240000));
+        for (int i = 0; i < 120; i++) {
+            cache.getDataKey("key" + i);
+        }
+        for (int i = 0; i < 1900; i++) {
+            cache.getDataKey("key" + (i % 10));
+        }
+        assertEquals(120000, tuner.tune().expireDuration());
+        for (int i = 0; i < 100; i++) {
+            cache.getDataKey("key" + (i % 10));
+        }
+        assertEquals(60000, tuner.tune().expireDuration());
+        for (int i = 0; i < 100; i++) {
+            cache.getDataKey("key" + (i % 10));
+        }
+        assertEquals(60000, tuner.tune().expireDuration());
+    }
+}
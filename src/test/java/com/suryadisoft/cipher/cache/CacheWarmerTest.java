@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.cache;
+
+import com.suryadisoft.cipher.data.CipherKey;
+import com.suryadisoft.cipher.data.CipherString;
+import com.suryadisoft.cipher.util.CipherUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <code>CacheWarmerTest</code> class is a unit-test for {@link CacheWarmer} implementation class.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+@Execution(ExecutionMode.CONCURRENT)
+class CacheWarmerTest {
+
+    private static final CipherKey DATA_KEY = CipherKey.valueOf(CipherUtil.generateNewKey("AES"));
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Test method for {@link CacheWarmer#snapshot()} and {@link CacheWarmer#warmup()}.
+     */
+    @Test
+    void testSnapshotAndWarmup() throws IOException {
+        Path warmupFile = tempDir.resolve("warmup.txt");
+        WarmupConfig warmupConfig = new WarmupConfig(warmupFile.toString(), 10, 2, 60000);
+
+        CipherCache cache = new CipherCache(new CacheConfig(), key -> DATA_KEY);
+        try (CacheWarmer warmer = new CacheWarmer(cache, warmupConfig)) {
+            assertEquals(0, warmer.warmup());
+            cache.getDataKey("key1");
+            cache.getDataKey("key2");
+            warmer.snapshot();
+        }
+        assertEquals(2, Files.readAllLines(warmupFile).size());
+
+        CipherCache newCache = new CipherCache(new CacheConfig(), key -> DATA_KEY);
+        try (CacheWarmer warmer = new CacheWarmer(newCache, warmupConfig)) {
+            assertEquals(2, warmer.warmup());
+        }
+        assertEquals(2, newCache.size());
+        assertTrue(newCache.hotDataKeys().containsAll(List.of("key1", "key2")));
+    }
+
+    /**
+     * Test method for {@link CipherUtil#prewarm(Iterable)} with a warmup file.
+     */
+    @Test
+    void testCipherUtilWarmup() throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("masterKey", CipherUtil.generateNewKey("AES"));
+        properties.setProperty("warmupFile", tempDir.resolve("util-warmup.txt").toString());
+        String cipherText;
+        try (CipherUtil cipherUtil = CipherUtil.getNewInstance(properties)) {
+            cipherText = cipherUtil.encrypt("Hello World");
+            assertEquals(1, cipherUtil.prewarm(List.of(cipherText)));
+            assertEquals(0, cipherUtil.prewarm(List.of(cipherText)));
+            assertEquals("Hello World", new String(cipherUtil.decrypt(cipherText)));
+        }
+        // Closing writes the last snapshot of the hot data keys
+        assertEquals(List.of(CipherString.valueOf(cipherText).base64DataKey()),
+                Files.readAllLines(tempDir.resolve("util-warmup.txt")));
+    }
+}
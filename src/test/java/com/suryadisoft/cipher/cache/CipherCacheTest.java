@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.cache;
+
+import com.suryadisoft.cipher.Cipher;
+import com.suryadisoft.cipher.CipherImpl;
+import com.suryadisoft.cipher.data.CipherData;
+import com.suryadisoft.cipher.data.CipherKey;
+import com.suryadisoft.cipher.exception.CipherException;
+import com.suryadisoft.cipher.util.CipherUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * <code>CipherCacheTest</code> class is a unit-test for {@link CipherCache} implementation class.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+@Execution(ExecutionMode.CONCURRENT)
+class CipherCacheTest {
+
+    private static final CipherKey DATA_KEY = CipherKey.valueOf(CipherUtil.generateNewKey("AES"));
+
+    /**
+     * Test method for {@link CipherCache#getDataKey(String)}.
+     */
+    @Test
+    void testGetDataKey() {
+        CipherCache cache = new CipherCache(new CacheConfig(), key -> DATA_KEY);
+        assertSame(DATA_KEY, cache.getDataKey("encryptedKey"));
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * Test method for {@link CipherCache#memoryFootprint()}.
+     */
+    @Test
+    void testMemoryFootprint() {
+        CipherCache cache = new CipherCache(new CacheConfig(), key -> DATA_KEY);
+        assertEquals(0, cache.memoryFootprint());
+        cache.getDataKey("encryptedKey");
+        assertEquals(CipherCache.weigh(KeyDigest.of("encryptedKey"), DATA_KEY), cache.memoryFootprint());
+        cache.getDataKey("anotherEncryptedKey");
+        assertEquals(CipherCache.weigh(KeyDigest.of("encryptedKey"), DATA_KEY)
+                + CipherCache.weigh(KeyDigest.of("anotherEncryptedKey"), DATA_KEY), cache.memoryFootprint());
+    }
+
+    /**
+     * Test method for {@link CipherCache#prewarm(Iterable, int)}.
+     */
+    @Test
+    void testPrewarm() {
+        AtomicInteger loads = new AtomicInteger();
+        CipherCache cache = new CipherCache(new CacheConfig(), key -> {
+            if (key.equals("invalidKey")) {
+                throw new IllegalArgumentException(key);
+            }
+            loads.incrementAndGet();
+            return DATA_KEY;
+        });
+        assertEquals(3, cache.prewarm(List.of("key1", "key2", "key3", "invalidKey"), 2));
+        assertEquals(3, cache.size());
+        assertEquals(0, cache.prewarm(List.of("key1", "key2"), 2));
+        cache.getDataKey("key1");
+        assertEquals(3, loads.get());
+    }
+
+    /**
+     * Test method for {@link CipherCache#hotDataKeys()}.
+     */
+    @Test
+    void testHotDataKeys() {
+        CipherCache cache = new CipherCache(new CacheConfig(), key -> DATA_KEY);
+        cache.getDataKey("untrackedKey");
+        assertTrue(cache.hotDataKeys().isEmpty());
+        cache.trackHotKeys(2);
+        cache.getDataKey("key1");
+        cache.getDataKey("key2");
+        cache.getDataKey("key1");
+        cache.getDataKey("key3");
+        // The most recently used data keys are tracked
+        assertEquals(2, cache.hotDataKeys().size());
+        assertTrue(cache.hotDataKeys().containsAll(List.of("key1", "key3")));
+    }
+
+    /**
+     * Test method for {@link KeyDigest#of(String)}.
+     */
+    @Test
+    void testKeyDigest() {
+        KeyDigest digest = KeyDigest.of("encryptedKey");
+        assertEquals(digest, KeyDigest.of("encryptedKey"));
+        assertNotEquals(digest, KeyDigest.of("anotherEncryptedKey"));
+        assertEquals(digest, KeyDigest.valueOf(digest.toHex()));
+    }
+
+    /**
+     * Test method for {@link CacheConfig#maximumWeightBytes()}.
+     */
+    @Test
+    void testMaximumWeightBytes() {
+        Properties properties = new Properties();
+        properties.setProperty("concurrencyLevel", "1");
+        properties.setProperty("maximumWeightBytes", "2048");
+        CacheConfig config = CacheConfig.valueOf(properties);
+        assertTrue(config.isWeighted());
+        CipherCache cache = new CipherCache(config, key -> DATA_KEY);
+        for (int i = 0; i < 100; i++) {
+            cache.getDataKey("encryptedKey" + i);
+        }
+        assertTrue(cache.size() < 100);
+        assertTrue(cache.memoryFootprint() <= 2048);
+    }
+
+    /**
+     * Test method for {@link CacheConfig#offHeap()}.
+     */
+    @Test
+    void testOffHeap() {
+        Properties properties = new Properties();
+        properties.setProperty("concurrencyLevel", "1");
+        properties.setProperty("maximumSize", "10");
+        properties.setProperty("cacheOffHeap", "true");
+        CipherCache cache = new CipherCache(CacheConfig.valueOf(properties),
+                key -> CipherKey.valueOf(DATA_KEY.toBase64()));
+        CipherKey dataKey = cache.getDataKey("encryptedKey");
+        assertNotSame(DATA_KEY, dataKey);
+        assertArrayEquals(DATA_KEY.dataKey(), dataKey.dataKey());
+        assertArrayEquals(DATA_KEY.iv(), dataKey.iv());
+        assertEquals(KeySlab.SLOTS_PER_SLAB * KeySlab.SLOT_SIZE, cache.offHeapBytes());
+        assertTrue(cache.memoryFootprint() < CipherCache.weigh(KeyDigest.of("encryptedKey"), DATA_KEY));
+
+        // Evicted slots are reused, the slab does not grow
+        for (int i = 0; i < 10 * KeySlab.SLOTS_PER_SLAB; i++) {
+            assertArrayEquals(DATA_KEY.dataKey(), cache.getDataKey("key" + i).dataKey());
+        }
+        assertEquals(KeySlab.SLOTS_PER_SLAB * KeySlab.SLOT_SIZE, cache.offHeapBytes());
+    }
+
+    /**
+     * Test method for {@link CipherCache#reconfigure(CacheConfig)} with data keys stored off heap.
+     */
+    @Test
+    void testReconfigureOffHeap() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        CipherCache cache = new CipherCache(new CacheConfig(16, 1, 10, 60000, 0, true, 0), key -> {
+            loads.incrementAndGet();
+            return CipherKey.valueOf(DATA_KEY.toBase64());
+        });
+        for (int i = 0; i < 10; i++) {
+            cache.getDataKey("key" + i);
+        }
+        // The moved data keys stay readable once the previous cache is emptied
+        cache.reconfigure(new CacheConfig(16, 1, 20, 60000, 0, true, 0));
+        for (int i = 0; i < 10; i++) {
+            assertArrayEquals(DATA_KEY.dataKey(), cache.getDataKey("key" + i).dataKey());
+        }
+        assertEquals(10, loads.get());
+
+        // Data keys loaded while the cache is replaced are released, so the slots are reused
+        AtomicInteger mismatches = new AtomicInteger();
+        Thread loader = new Thread(() -> {
+            for (int i = 0; i < 4 * KeySlab.SLOTS_PER_SLAB; i++) {
+                if (!Arrays.equals(DATA_KEY.dataKey(), cache.getDataKey("key" + i).dataKey())) {
+                    mismatches.incrementAndGet();
+                }
+            }
+        });
+        loader.start();
+        for (int i = 0; loader.isAlive(); i++) {
+            cache.reconfigure(new CacheConfig(16, 1, 10 + i % 10, 60000, 0, true, 0));
+        }
+        loader.join();
+        assertEquals(0, mismatches.get());
+        assertEquals(KeySlab.SLOTS_PER_SLAB * KeySlab.SLOT_SIZE, cache.offHeapBytes());
+    }
+
+    /**
+     * Test method for {@link KeySlab#release(KeySlab.SlabKey)}.
+     */
+    @Test
+    void testKeySlab() {
+        KeySlab keySlab = new KeySlab();
+        KeySlab.SlabKey slabKey = keySlab.store(DATA_KEY);
+        assertArrayEquals(DATA_KEY.dataKey(), slabKey.cipherKey().dataKey());
+        slabKey.release();
+        assertNull(slabKey.cipherKey());
+        // The released slot holds another data key, the stale handle still reads nothing
+        CipherKey anotherKey = CipherKey.valueOf(CipherUtil.generateNewKey("AES"));
+        KeySlab.SlabKey anotherSlabKey = keySlab.store(anotherKey);
+        assertNull(slabKey.cipherKey());
+        slabKey.release();
+        assertArrayEquals(anotherKey.dataKey(), anotherSlabKey.cipherKey().dataKey());
+        assertNull(keySlab.store(new CipherKey(new byte[64], new byte[16])));
+    }
+
+    /**
+     * Test method for {@link CipherCache#decrypt(String, byte[], Cipher)}.
+     */
+    @Test
+    void testCipherContexts() {
+        Cipher cipher = spy(new CipherImpl());
+        CipherData cipherData = cipher.encrypt("Hello World".getBytes(), DATA_KEY);
+        CipherCache cache = new CipherCache(new CacheConfig(16, 1, 100, 60000, 0, false, 2), key -> DATA_KEY);
+        for (int i = 0; i < 10; i++) {
+            assertEquals("Hello World", new String(cache.decrypt("encryptedKey", cipherData.cipherText(), cipher)));
+        }
+        // The data key is set up once, and its cipher reused for every decryption
+        verify(cipher, times(1)).decryptor(any());
+        verify(cipher, never()).decrypt(any(), any());
+        // Every decryption is recorded once
+        assertEquals(1, cache.stats().missCount());
+        assertEquals(9, cache.stats().hitCount());
+
+        byte[] tampered = cipherData.cipherText().clone();
+        tampered[0] ^= 1;
+        assertThrows(CipherException.class, () -> cache.decrypt("encryptedKey", tampered, cipher));
+        assertEquals("Hello World", new String(cache.decrypt("encryptedKey", cipherData.cipherText(), cipher)));
+
+        // The ciphers of a data key are dropped with the data key
+        assertEquals(1, cache.cipherContextCount());
+        cache.reconfigure(new CacheConfig(16, 1, 1, 60000, 0, false, 2));
+        assertEquals("Hello World", new String(cache.decrypt("encryptedKey", cipherData.cipherText(), cipher)));
+        cache.getDataKey("otherKey");
+        assertEquals(0, cache.cipherContextCount());
+
+        // Without contexts every decryption sets the data key up
+        CipherCache plainCache = new CipherCache(new CacheConfig(), key -> DATA_KEY);
+        assertEquals("Hello World", new String(plainCache.decrypt("encryptedKey", cipherData.cipherText(), cipher)));
+        verify(cipher, times(1)).decrypt(any(), any());
+    }
+
+    /**
+     * Test method for {@link CipherCache#partition(String, java.util.function.Function)}.
+     */
+    @Test
+    void testPartition() {
+        CipherCache sharedCache = CipherCache.shared(new CacheConfig(16, 1, 6, 10000));
+        AtomicInteger loads = new AtomicInteger();
+        CipherCache tenant1 = sharedCache.partition("tenant1", key -> {
+            loads.incrementAndGet();
+            return DATA_KEY;
+        });
+        CipherCache tenant2 = sharedCache.partition("tenant2", key -> {
+            loads.incrementAndGet();
+            return DATA_KEY;
+        });
+        assertThrows(RuntimeException.class, () -> sharedCache.getDataKey("encryptedKey"));
+        assertThrows(CipherException.class, () -> tenant1.partition("tenant3", key -> DATA_KEY));
+        assertThrows(CipherException.class, () -> tenant1.reconfigure(new CacheConfig()));
+
+        // The same encrypted data key is cached once per partition
+        assertSame(DATA_KEY, tenant1.getDataKey("encryptedKey"));
+        assertSame(DATA_KEY, tenant2.getDataKey("encryptedKey"));
+        assertSame(DATA_KEY, tenant1.getDataKey("encryptedKey"));
+        assertEquals(2, loads.get());
+        assertEquals(1, tenant1.size());
+        assertEquals(2, sharedCache.size());
+        assertEquals(1, tenant1.stats().hitCount());
+        assertEquals(0, tenant2.stats().hitCount());
+        assertEquals(CipherCache.PARTITION_KEY_OVERHEAD
+                + CipherCache.weigh(KeyDigest.of("tenant1", "encryptedKey"), DATA_KEY), tenant1.memoryFootprint());
+
+        // Beyond its share, every data key of a partition weighs more of the shared capacity
+        sharedCache.setPartitionShare(1);
+        tenant1.getDataKey("anotherEncryptedKey");
+        tenant2.getDataKey("encryptedKey");
+        tenant1.getDataKey("thirdEncryptedKey");
+        assertEquals(3, sharedCache.size());
+        assertEquals(1, tenant1.stats().evictionCount());
+        assertEquals(2, tenant1.size());
+        assertEquals(1, tenant2.size());
+
+        tenant1.invalidateAll();
+        assertEquals(0, tenant1.size());
+        assertEquals(1, tenant2.size());
+        assertEquals(1, sharedCache.size());
+    }
+}
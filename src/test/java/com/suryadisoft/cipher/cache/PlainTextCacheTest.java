@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <code>PlainTextCacheTest</code> class is a unit-test for {@link PlainTextCache} class.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class PlainTextCacheTest {
+
+    @Test
+    void testGet() {
+        AtomicInteger decryptions = new AtomicInteger();
+        Function<String, byte[]> decryptor = cipherText -> {
+            decryptions.incrementAndGet();
+            return cipherText.substring(3).getBytes();
+        };
+        PlainTextCache cache = new PlainTextCache(new PlainTextCacheConfig(2, 60000, 8));
+
+        byte[] plainText = cache.get("{a}Hello", decryptor);
+        assertEquals("Hello", new String(plainText));
+        plainText[0] = 'X';
+        assertEquals("Hello", new String(cache.get("{a}Hello", decryptor)));
+        assertEquals(1, decryptions.get());
+
+        // Plain texts longer than the maximum length are not cached
+        cache.get("{a}Hello World", decryptor);
+        cache.get("{a}Hello World", decryptor);
+        assertEquals(3, decryptions.get());
+        assertEquals(1, cache.size());
+
+        cache.get("{b}Hello", decryptor);
+        cache.get("{c}Hello", decryptor);
+        assertEquals(2, cache.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+        cache.get("{a}Hello", decryptor);
+        assertEquals(6, decryptions.get());
+    }
+
+    @Test
+    void testExpiry() throws InterruptedException {
+        AtomicInteger decryptions = new AtomicInteger();
+        PlainTextCache cache = new PlainTextCache(new PlainTextCacheConfig(10, 50, 256));
+        cache.get("{a}Hello", cipherText -> {
+            decryptions.incrementAndGet();
+            return "Hello".getBytes();
+        });
+        Thread.sleep(100);
+        assertEquals("Hello", new String(cache.get("{a}Hello", cipherText -> {
+            decryptions.incrementAndGet();
+            return "Hello".getBytes();
+        })));
+        assertEquals(2, decryptions.get());
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.cache.simulation;
+
+import com.suryadisoft.cipher.cache.KeyDigest;
+import com.suryadisoft.cipher.cache.simulation.CacheSimulator.EvictionPolicy;
+import com.suryadisoft.cipher.util.CipherUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <code>CacheSimulatorTest</code> class is a unit-test for {@link CacheSimulator} implementation class.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+@Execution(ExecutionMode.CONCURRENT)
+class CacheSimulatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Creates a trace that cycles through a given number of keys, one lookup per millisecond.
+     */
+    private static AccessTrace cyclicTrace(final int keys, final int lookups) {
+        long[] timestamps = new long[lookups];
+        long[] keyIds = new long[lookups];
+        for (int i = 0; i < lookups; i++) {
+            timestamps[i] = i;
+            keyIds[i] = i % keys;
+        }
+        return new AccessTrace(timestamps, keyIds);
+    }
+
+    /**
+     * Test method for {@link CacheSimulator#simulate(EvictionPolicy, int, long)}.
+     */
+    @Test
+    void testSimulate() {
+        CacheSimulator simulator = new CacheSimulator(cyclicTrace(10, 1000), 0.03);
+        for (EvictionPolicy policy : EvictionPolicy.values()) {
+            SimulationResult fits = simulator.simulate(policy, 10, 10000);
+            assertEquals(1000, fits.requests());
+            assertEquals(10, fits.kmsCalls());
+            assertEquals(0.99, fits.hitRatio(), 0.0001);
+        }
+        // A cyclic scan larger than the cache always misses with LRU and FIFO
+        assertEquals(0, simulator.simulate(EvictionPolicy.LRU, 9, 10000).hits());
+        assertEquals(0, simulator.simulate(EvictionPolicy.FIFO, 9, 10000).hits());
+        // Keys are looked up every 10 milliseconds, so they expire with a shorter expire duration
+        assertEquals(0, simulator.simulate(EvictionPolicy.LRU, 10, 5).hits());
+        SimulationResult result = simulator.simulate(EvictionPolicy.LRU, 1, 10000);
+        assertEquals(1000 * 0.03 / 10000, result.kmsCost(), 0.000001);
+    }
+
+    /**
+     * Test method for {@link CacheSimulator#simulate(int[], long[], EvictionPolicy...)}.
+     */
+    @Test
+    void testSimulateAll() {
+        CacheSimulator simulator = new CacheSimulator(cyclicTrace(10, 100), 0.03);
+        List<SimulationResult> results = simulator.simulate(new int[]{5, 10}, new long[]{5, 100}, EvictionPolicy.values());
+        assertEquals(12, results.size());
+    }
+
+    /**
+     * Test method for {@link AccessTraceRecorder} and {@link AccessTrace#read(Path)}.
+     */
+    @Test
+    void testRecordAndRead() {
+        Path traceFile = tempDir.resolve("trace.csv");
+        try (AccessTraceRecorder recorder = new AccessTraceRecorder(traceFile)) {
+            for (int i = 0; i < 100; i++) {
+                recorder.accept(KeyDigest.of("key" + (i % 10)));
+            }
+        }
+        AccessTrace trace = AccessTrace.read(traceFile);
+        assertEquals(100, trace.size());
+        assertEquals(10, Arrays.stream(trace.keyIds()).distinct().count());
+        assertEquals(0.9, new CacheSimulator(trace, 0.03).simulate(EvictionPolicy.LRU, 10, 60000).hitRatio(), 0.0001);
+    }
+
+    /**
+     * Test method for {@link CipherUtil#close()} flushing the access trace.
+     */
+    @Test
+    void testCipherUtilAccessTrace() {
+        Path traceFile = tempDir.resolve("util-trace.csv");
+        Properties properties = new Properties();
+        properties.setProperty("masterKey", CipherUtil.generateNewKey("AES"));
+        properties.setProperty("accessTraceFile", traceFile.toString());
+        try (CipherUtil cipherUtil = CipherUtil.getNewInstance(properties)) {
+            String cipherText = cipherUtil.encrypt("Hello World");
+            for (int i = 0; i < 3; i++) {
+                assertEquals("Hello World", new String(cipherUtil.decrypt(cipherText)));
+            }
+        }
+        AccessTrace trace = AccessTrace.read(traceFile);
+        assertEquals(3, trace.size());
+        assertEquals(1, Arrays.stream(trace.keyIds()).distinct().count());
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.codec;
+
+import com.suryadisoft.cipher.CipherImpl;
+import com.suryadisoft.cipher.data.CipherString;
+import com.suryadisoft.cipher.provider.LocalCipher;
+import com.suryadisoft.cipher.util.CipherUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+/**
+ * <code>CompressionBenchmark</code> measures the cipher text size and the encryption and decryption time of JSON
+ * documents of several sizes, with and without compression at several deflate levels.
+ * <p>
+ * Usage: <code>java CompressionBenchmark [iterations]</code>
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class CompressionBenchmark {
+
+    public static void main(final String[] args) {
+        final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        final String masterKey = CipherUtil.generateNewKey("AES");
+        System.out.printf("%-10s %-8s %12s %12s %14s %14s%n", "plaintext", "level", "ciphertext", "ratio",
+                "encrypt (us)", "decrypt (us)");
+        for (final int records : new int[]{10, 100, 1000}) {
+            final byte[] document = CompressorTest.document(records).getBytes(StandardCharsets.UTF_8);
+            for (final String level : new String[]{"none", "1", "6", "9"}) {
+                final Properties properties = new Properties();
+                properties.setProperty("masterKey", masterKey);
+                properties.setProperty("compression", "none".equals(level) ? "none" : "deflate");
+                properties.setProperty("compressionLevel", "none".equals(level) ? "6" : level);
+                properties.setProperty("compressionThreshold", "0");
+                final LocalCipher localCipher = new LocalCipher(new CipherImpl(), properties);
+
+                // Warm up the JIT and the data key cache
+                final CipherString cipherText = localCipher.encrypt(document);
+                for (int i = 0; i < iterations; i++) {
+                    localCipher.decrypt(localCipher.encrypt(document));
+                }
+                long start = System.nanoTime();
+                for (int i = 0; i < iterations; i++) {
+                    localCipher.encrypt(document);
+                }
+                final double encryptMicros = (System.nanoTime() - start) / 1000.0 / iterations;
+                start = System.nanoTime();
+                for (int i = 0; i < iterations; i++) {
+                    localCipher.decrypt(cipherText);
+                }
+                final double decryptMicros = (System.nanoTime() - start) / 1000.0 / iterations;
+                final int size = cipherText.toString().length();
+                System.out.printf("%-10d %-8s %12d %12.2f %14.1f %14.1f%n", document.length, level, size,
+                        (double) document.length / size, encryptMicros, decryptMicros);
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.codec;
+
+import com.suryadisoft.cipher.CipherImpl;
+import com.suryadisoft.cipher.data.CipherString;
+import com.suryadisoft.cipher.exception.CipherException;
+import com.suryadisoft.cipher.provider.LocalCipher;
+import com.suryadisoft.cipher.util.CipherUtil;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <code>CompressorTest</code> class is a unit-test for {@link Compressor} implementation class.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+class CompressorTest {
+
+    static String document(final int records) {
+        final StringBuilder document = new StringBuilder("[");
+        for (int i = 0; i < records; i++) {
+            document.append(i == 0 ? "" : ",").append("{\"id\":").append(i)
+                    .append(",\"name\":\"customer ").append(i).append("\",\"status\":\"ACTIVE\",\"country\":\"US\"}");
+        }
+        return document.append("]").toString();
+    }
+
+    @Test
+    void testCompressedEnvelope() {
+        Properties properties = new Properties();
+        properties.setProperty("masterKey", CipherUtil.generateNewKey("AES"));
+        properties.setProperty("compression", "deflate");
+        properties.setProperty("compressionThreshold", "256");
+        LocalCipher localCipher = new LocalCipher(new CipherImpl(), properties);
+
+        byte[] document = document(100).getBytes(StandardCharsets.UTF_8);
+        CipherString cipherText = CipherString.valueOf(localCipher.encrypt(document).toString());
+        assertEquals("z", cipherText.codec());
+        assertTrue(cipherText.base64CipherText().length() * 3 / 4 < document.length / 4);
+        assertArrayEquals(document, localCipher.decrypt(cipherText));
+
+        // Small and incompressible plain texts are not compressed
+        assertNull(localCipher.encrypt("Hello World".getBytes()).codec());
+        byte[] random = new byte[1024];
+        new SecureRandom().nextBytes(random);
+        CipherString randomText = localCipher.encrypt(random);
+        assertNull(randomText.codec());
+        assertArrayEquals(random, localCipher.decrypt(randomText));
+
+        // The codec id is authenticated, it cannot be stripped from or added to the header
+        assertThrows(CipherException.class, () -> localCipher.decrypt(cipherText.withCodec(null)));
+        assertThrows(CipherException.class, () -> localCipher.decrypt(randomText.withCodec("z")));
+
+        // Compressed cipher texts can be decrypted without compression enabled
+        properties.setProperty("compression", "none");
+        assertArrayEquals(document, new LocalCipher(new CipherImpl(), properties).decrypt(cipherText));
+    }
+
+    @Test
+    void testDecompressionLimit() {
+        Compressor compressor = new Compressor(new CompressionConfig("deflate", 6, 0, 4096));
+        byte[] zeros = new byte[1024 * 1024];
+        byte[] compressed = compressor.compress(zeros);
+        assertTrue(compressed.length < 2048);
+        assertThrows(CipherException.class, () -> compressor.decompress(compressor.codecId(), compressed));
+        assertThrows(CipherException.class, () -> compressor.decompress("unknown", compressed));
+        assertThrows(CipherException.class, () -> new Compressor(new CompressionConfig("unknown", 6, 0, 4096)));
+    }
+}
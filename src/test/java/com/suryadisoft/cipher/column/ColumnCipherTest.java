@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.column;
+
+import com.suryadisoft.cipher.data.CipherConfig;
+import com.suryadisoft.cipher.exception.CipherException;
+import com.suryadisoft.cipher.provider.CipherRouter;
+import com.suryadisoft.cipher.provider.LocalCipher;
+import com.suryadisoft.cipher.provider.TestCiphers;
+import com.suryadisoft.cipher.util.CipherUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.suryadisoft.cipher.provider.TestCiphers.localCipher;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <code>ColumnCipherTest</code> class is a unit-test for {@link ColumnCipher} class.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+class ColumnCipherTest {
+
+    @Test
+    void testEncryptColumn() {
+        final CipherUtil cipherUtil = CipherUtil.getNewInstance(TestCiphers.properties(true));
+        final byte[][] values = new byte[3000][];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i % 100 == 0 ? null : ("Value " + i).getBytes();
+        }
+        values[1] = new byte[0];
+
+        final EncryptedColumn column = cipherUtil.encryptColumn(values);
+        assertEquals(3000, column.size());
+        assertEquals(cipherUtil.getCipherProvider().keyId(), column.keyId());
+        assertEquals(column.arena().length, column.offsets()[3000]);
+        assertNull(column.dataKeys()[0]);
+        assertNull(column.cipherString(0));
+        assertEquals(16, column.cipherText(1).length);
+        assertEquals("Value 2", new String(cipherUtil.decrypt(column.cipherString(2).toString())));
+        assertEquals("Value 2999", new String(cipherUtil.decrypt(column.cipherString(2999).toString())));
+
+        final byte[][] decrypted = cipherUtil.decryptColumn(column);
+        for (int i = 0; i < values.length; i++) {
+            assertArrayEquals(values[i], decrypted[i]);
+        }
+
+        column.arena()[column.offsets()[5]] ^= 1;
+        assertThrows(CipherException.class, () -> cipherUtil.decryptColumn(column));
+    }
+
+    @Test
+    void testEncryptPackedColumn() {
+        final CipherUtil cipherUtil = CipherUtil.getNewInstance();
+        final byte[] buffer = "abcdefghij".getBytes();
+        final EncryptedColumn column = cipherUtil.encryptColumn(buffer, new int[]{0, 3, 3, 10});
+        assertEquals(3, column.size());
+        assertArrayEquals(new int[]{0, 19, 35, 58}, column.offsets());
+        assertNull(column.keyId());
+        final byte[][] decrypted = cipherUtil.decryptColumn(column);
+        assertEquals("abc", new String(decrypted[0]));
+        assertEquals("", new String(decrypted[1]));
+        assertEquals("defghij", new String(cipherUtil.decrypt(column.cipherString(2).toString())));
+    }
+
+    @Test
+    void testDecryptRoutedColumn() {
+        final LocalCipher oldCipher = localCipher(true);
+        final LocalCipher newCipher = localCipher(true);
+        final CipherRouter router = new CipherRouter(newCipher, newCipher, List.of(oldCipher));
+        final byte[][] values = {"old".getBytes(), null, "older".getBytes()};
+
+        final EncryptedColumn column = new ColumnCipher(oldCipher, new CipherConfig(), new ColumnConfig()).encrypt(values);
+        assertEquals(oldCipher.keyId(), column.keyId());
+        final byte[][] decrypted = new ColumnCipher(router, new CipherConfig(), new ColumnConfig()).decrypt(column);
+        for (int i = 0; i < values.length; i++) {
+            assertArrayEquals(values[i], decrypted[i]);
+        }
+        assertEquals(0, newCipher.getCipherCache().size());
+    }
+}
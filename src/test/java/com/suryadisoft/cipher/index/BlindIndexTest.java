@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.index;
+
+import com.suryadisoft.cipher.exception.CipherException;
+import com.suryadisoft.cipher.provider.CipherProvider;
+import com.suryadisoft.cipher.util.CipherUtil;
+import org.apache.commons.codec.binary.Base64;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * <code>BlindIndexTest</code> class is a unit-test for {@link BlindIndex} implementation class.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+class BlindIndexTest {
+
+    @Test
+    void testIndex() {
+        CipherUtil cipherUtil = CipherUtil.getNewInstance();
+        CipherProvider cipherProvider = spy(cipherUtil.getCipherProvider());
+        String blindIndexKey = cipherUtil.generateBlindIndexKey();
+        BlindIndex blindIndex = new BlindIndex(cipherProvider, new BlindIndexConfig(blindIndexKey, "HmacSHA256", 12));
+
+        String index = blindIndex.index("email", "jane@example.com");
+        assertEquals(12, Base64.decodeBase64(index).length);
+        assertEquals(index, blindIndex.index("email", "jane@example.com"));
+        assertNotEquals(index, blindIndex.index("email", "john@example.com"));
+        // Every column has its own derived key
+        assertNotEquals(index, blindIndex.index("username", "jane@example.com"));
+        // Another index key gives unrelated indexes
+        assertNotEquals(index, new BlindIndex(cipherProvider,
+                new BlindIndexConfig(cipherUtil.generateBlindIndexKey(), "HmacSHA256", 12)).index("email", "jane@example.com"));
+
+        Set<String> indexes = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 1000).parallel().forEach(i -> indexes.add(blindIndex.index("email", "user" + (i % 100))));
+        assertEquals(100, indexes.size());
+        // The index key is decrypted once
+        verify(cipherProvider, times(2)).decrypt(any());
+    }
+
+    @Test
+    void testCipherUtil() {
+        Properties properties = new Properties();
+        properties.setProperty("masterKey", CipherUtil.generateNewKey("AES"));
+        CipherUtil cipherUtil = CipherUtil.getNewInstance(properties);
+        assertThrows(CipherException.class, () -> cipherUtil.blindIndex("email", "jane@example.com"));
+
+        properties.setProperty("blindIndexKey", cipherUtil.generateBlindIndexKey());
+        CipherUtil indexingUtil = CipherUtil.getNewInstance(properties);
+        assertEquals(indexingUtil.blindIndex("email", "jane@example.com"),
+                CipherUtil.getNewInstance(properties).blindIndex("email", "jane@example.com"));
+        assertEquals(22, indexingUtil.blindIndex("email", "jane@example.com").length());
+        assertNull(indexingUtil.blindIndex("email", null));
+        assertThrows(CipherException.class,
+                () -> new BlindIndex(cipherUtil.getCipherProvider(), new BlindIndexConfig("{a}b", "HmacSHA256", 33)));
+    }
+}
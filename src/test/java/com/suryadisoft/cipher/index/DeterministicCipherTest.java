@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.index;
+
+import com.suryadisoft.cipher.exception.CipherException;
+import com.suryadisoft.cipher.util.CipherUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <code>DeterministicCipherTest</code> class is a unit-test for {@link DeterministicCipher} implementation class.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+class DeterministicCipherTest {
+
+    @Test
+    void testEncryptDeterministic() {
+        Properties properties = new Properties();
+        properties.setProperty("masterKey", CipherUtil.generateNewKey("AES"));
+        CipherUtil cipherUtil = CipherUtil.getNewInstance(properties);
+        assertThrows(CipherException.class, () -> cipherUtil.encryptDeterministic("email", "jane@example.com"));
+
+        properties.setProperty("deterministicKey", cipherUtil.generateDeterministicKey());
+        CipherUtil deterministicUtil = CipherUtil.getNewInstance(properties);
+        String cipherText = deterministicUtil.encryptDeterministic("email", "jane@example.com");
+        // Equal plain texts of a column give equal cipher texts, across instances sharing the key
+        assertEquals(cipherText, deterministicUtil.encryptDeterministic("email", "jane@example.com"));
+        assertEquals(cipherText, CipherUtil.getNewInstance(properties).encryptDeterministic("email", "jane@example.com"));
+        assertNotEquals(cipherText, deterministicUtil.encryptDeterministic("email", "john@example.com"));
+        assertNotEquals(cipherText, deterministicUtil.encryptDeterministic("username", "jane@example.com"));
+
+        assertEquals("jane@example.com", new String(deterministicUtil.decryptDeterministic("email", cipherText)));
+        assertThrows(CipherException.class, () -> deterministicUtil.decryptDeterministic("username", cipherText));
+        assertNull(deterministicUtil.encryptDeterministic("email", null));
+        assertNull(deterministicUtil.decryptDeterministic("email", null));
+    }
+}
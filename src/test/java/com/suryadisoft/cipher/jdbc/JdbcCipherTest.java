@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.jdbc;
+
+import com.suryadisoft.cipher.util.CipherUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <code>JdbcCipherTest</code> class is a unit-test for {@link JdbcCipher} class, against an in-memory database.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+class JdbcCipherTest {
+
+    private final CipherUtil cipherUtil = CipherUtil.getNewInstance();
+    private final JdbcCipher jdbcCipher = new JdbcCipher(cipherUtil, List.of("EMAIL", "photo"));
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        this.connection = DriverManager.getConnection("jdbc:h2:mem:");
+        try (Statement statement = this.connection.createStatement()) {
+            statement.execute("create table customer (id int primary key, name varchar(100), email varchar(1000), photo varchar(1000))");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        this.connection.close();
+    }
+
+    @Test
+    void testBatchInsert() throws SQLException {
+        try (PreparedStatement statement = this.jdbcCipher.prepareStatement(this.connection,
+                "insert into customer (id, name, email, photo) values (?, ?, ?, ?)", 3, 4)) {
+            for (int i = 1; i <= 100; i++) {
+                statement.setInt(1, i);
+                statement.setString(2, "Customer " + i);
+                statement.setString(3, "customer" + i + "@example.com");
+                if (i % 2 == 0) {
+                    statement.setBytes(4, new byte[]{(byte) i});
+                } else {
+                    statement.setNull(4, Types.VARCHAR);
+                }
+                statement.addBatch();
+            }
+            assertEquals(100, statement.executeBatch().length);
+        }
+
+        try (Statement statement = this.connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select email, name from customer where id = 2")) {
+            assertTrue(resultSet.next());
+            assertNotEquals("customer2@example.com", resultSet.getString("email"));
+            assertEquals("customer2@example.com", new String(this.cipherUtil.decrypt(resultSet.getString(1))));
+            assertEquals("Customer 2", resultSet.getString(2));
+        }
+
+        try (Statement statement = this.connection.createStatement();
+             ResultSet resultSet = this.jdbcCipher.wrap(statement.executeQuery("select * from customer order by id"))) {
+            int count = 0;
+            while (resultSet.next()) {
+                count++;
+                assertEquals(count, resultSet.getInt("id"));
+                assertEquals("Customer " + count, resultSet.getString("name"));
+                assertEquals("customer" + count + "@example.com", resultSet.getString(3));
+                assertEquals("customer" + count + "@example.com", resultSet.getObject("Email"));
+                if (count % 2 == 0) {
+                    assertArrayEquals(new byte[]{(byte) count}, resultSet.getBytes("photo"));
+                } else {
+                    assertNull(resultSet.getBytes(4));
+                }
+            }
+            assertEquals(100, count);
+        }
+    }
+
+    @Test
+    void testQuery() throws SQLException {
+        try (PreparedStatement statement = this.jdbcCipher.prepareStatement(this.connection,
+                "insert into customer (id, name, email) values (?, ?, ?)", 3)) {
+            statement.setInt(1, 1);
+            statement.setString(2, "Jane");
+            statement.setString(3, "jane@example.com");
+            assertEquals(1, statement.executeUpdate());
+            assertThrows(SQLException.class, () -> statement.setInt(3, 1));
+        }
+        try (PreparedStatement statement = this.jdbcCipher.prepareStatement(this.connection,
+                "select name, email from customer where id = ?")) {
+            statement.setInt(1, 1);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                assertTrue(resultSet.next());
+                assertEquals("Jane", resultSet.getString("name"));
+                assertEquals("jane@example.com", resultSet.getString("email"));
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.json;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suryadisoft.cipher.data.CipherString;
+import com.suryadisoft.cipher.provider.LocalCipher;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.suryadisoft.cipher.provider.TestCiphers.localCipher;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * <code>CipherModuleTest</code> class is a unit-test for {@link CipherModule} class.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+class CipherModuleTest {
+
+    public static class Customer {
+        public String name;
+        @Encrypted
+        public String email;
+        private byte[] photo;
+        public Address address;
+        public EncryptedString notes;
+
+        @Encrypted
+        public byte[] getPhoto() {
+            return this.photo;
+        }
+
+        public void setPhoto(final byte[] photo) {
+            this.photo = photo;
+        }
+    }
+
+    public record Address(String city, @Encrypted String street) {
+    }
+
+    private static Customer customer(final int i) {
+        final Customer customer = new Customer();
+        customer.name = "Customer " + i;
+        customer.email = "customer" + i + "@example.com";
+        customer.photo = new byte[]{(byte) i};
+        customer.address = new Address("City " + i, i + " Main Street");
+        customer.notes = EncryptedString.of("Notes " + i);
+        return customer;
+    }
+
+    @Test
+    void testSerialize() throws IOException {
+        final LocalCipher cipher = spy(localCipher(false));
+        final ObjectMapper mapper = new ObjectMapper().registerModule(new CipherModule(cipher));
+        final JsonNode json = mapper.readTree(mapper.writeValueAsString(customer(1)));
+        assertEquals("Customer 1", json.get("name").asText());
+        assertEquals("City 1", json.get("address").get("city").asText());
+        assertEquals("customer1@example.com", new String(cipher.decrypt(CipherString.valueOf(json.get("email").asText()))));
+        assertArrayEquals(new byte[]{1}, cipher.decrypt(CipherString.valueOf(json.get("photo").asText())));
+        assertEquals("1 Main Street", new String(cipher.decrypt(CipherString.valueOf(json.get("address").get("street").asText()))));
+        assertEquals("Notes 1", new String(cipher.decrypt(CipherString.valueOf(json.get("notes").asText()))));
+        final Customer customer = new Customer();
+        assertNull(mapper.readTree(mapper.writeValueAsString(customer)).get("email").textValue());
+    }
+
+    @Test
+    void testDeserialize() throws IOException {
+        final LocalCipher cipher = spy(localCipher(false));
+        final ObjectMapper mapper = new ObjectMapper().registerModule(new CipherModule(cipher, 2));
+        final String json = mapper.writeValueAsString(List.of(customer(1), customer(2), customer(3)));
+        reset(cipher);
+
+        final List<Customer> customers = mapper.readValue(json, new TypeReference<>() {
+        });
+        assertEquals(3, customers.size());
+        // The data keys of the encrypted fields and setters of the whole document are loaded together
+        verify(cipher, times(1)).prewarm(argThat(cipherTexts -> cipherTexts.spliterator().getExactSizeIfKnown() == 6), anyInt());
+        for (int i = 1; i <= 3; i++) {
+            final Customer customer = customers.get(i - 1);
+            assertEquals("Customer " + i, customer.name);
+            assertEquals("customer" + i + "@example.com", customer.email);
+            assertArrayEquals(new byte[]{(byte) i}, customer.getPhoto());
+            assertEquals(new Address("City " + i, i + " Main Street"), customer.address);
+        }
+        // Lazy values are decrypted when read only
+        verify(cipher, times(9)).decrypt(any());
+        assertFalse(customers.get(0).notes.isDecrypted());
+        assertEquals("Notes 1", customers.get(0).notes.get());
+        verify(cipher, times(10)).decrypt(any());
+        // Lazy values keep their cipher text, the other encrypted values are encrypted again
+        assertEquals(mapper.readTree(json).get(1).get("notes"), mapper.readTree(mapper.writeValueAsString(customers)).get(1).get("notes"));
+
+        final Customer customer = mapper.readValue("{\"name\":\"Jane\",\"email\":null}", Customer.class);
+        assertEquals("Jane", customer.name);
+        assertNull(customer.email);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.suryadisoft.cipher.data.CipherString;
+import com.suryadisoft.cipher.exception.CipherException;
+import com.suryadisoft.cipher.provider.LocalCipher;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static com.suryadisoft.cipher.provider.TestCiphers.localCipher;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <code>JsonPathCipherTest</code> class is a unit-test for {@link JsonPathCipher} class.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+class JsonPathCipherTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private JsonNode document() {
+        final ObjectNode document = this.mapper.createObjectNode();
+        document.putObject("meta").put("owner", "Jane").put("count", 100);
+        final ArrayNode customers = document.putArray("customers");
+        for (int i = 0; i < 100; i++) {
+            final ObjectNode customer = customers.addObject().put("id", i).put("ssn", "123-45-" + i);
+            customer.putObject("address").put("zip", 90000 + i).putNull("ssn");
+            customer.putNull("phone");
+            customer.putArray("tags").add("a").add("b");
+        }
+        document.putNull("ssn");
+        return document;
+    }
+
+    @Test
+    void testEncrypt() throws IOException {
+        final LocalCipher cipher = localCipher(false);
+        final JsonNode document = document();
+        final byte[] json = this.mapper.writeValueAsBytes(document);
+        final ByteArrayOutputStream encrypted = new ByteArrayOutputStream();
+        final ByteArrayOutputStream decrypted = new ByteArrayOutputStream();
+        final List<String> paths = List.of("$.customers[*].ssn", "$.meta.owner", "$.customers[1].tags[0]");
+        try (JsonPathCipher jsonPathCipher = new JsonPathCipher(cipher, paths, 4, 7)) {
+            assertEquals(102, jsonPathCipher.encrypt(new ByteArrayInputStream(json), encrypted));
+            final JsonNode encryptedDocument = this.mapper.readTree(encrypted.toByteArray());
+            assertNotEquals(document, encryptedDocument);
+            assertEquals(100, encryptedDocument.get("meta").get("count").asInt());
+            assertEquals("Jane", new String(cipher.decrypt(CipherString.valueOf(encryptedDocument.get("meta").get("owner").asText()))));
+            final JsonNode customer = encryptedDocument.get("customers").get(1);
+            assertEquals(1, customer.get("id").asInt());
+            assertEquals("123-45-1", new String(cipher.decrypt(CipherString.valueOf(customer.get("ssn").asText()))));
+            assertEquals(90001, customer.get("address").get("zip").asInt());
+            assertEquals("b", customer.get("tags").get(1).asText());
+            assertEquals("b", encryptedDocument.get("customers").get(2).get("tags").get(1).asText());
+
+            assertEquals(102, jsonPathCipher.decrypt(new ByteArrayInputStream(encrypted.toByteArray()), decrypted));
+            assertEquals(document, this.mapper.readTree(decrypted.toByteArray()));
+        }
+    }
+
+    @Test
+    void testInvalidPath() {
+        final LocalCipher cipher = localCipher(false);
+        assertThrows(CipherException.class, () -> new JsonPathCipher(cipher, List.of("customers.ssn")));
+        assertThrows(CipherException.class, () -> new JsonPathCipher(cipher, List.of("$.customers[x]")));
+        assertThrows(CipherException.class, () -> new JsonPathCipher(cipher, List.of("$..ssn")));
+    }
+
+    @Test
+    void testStructuredValue() throws IOException {
+        final LocalCipher cipher = localCipher(false);
+        final byte[] json = this.mapper.writeValueAsBytes(document());
+        final Map<String, String> pointers = Map.of("$.meta", "/meta", "$.customers[3].tags", "/customers/3/tags",
+                "$.customers[*].address", "/customers/0/address");
+        for (final Map.Entry<String, String> pointer : pointers.entrySet()) {
+            try (JsonPathCipher jsonPathCipher = new JsonPathCipher(cipher, List.of(pointer.getKey()))) {
+                final CipherException e = assertThrows(CipherException.class,
+                        () -> jsonPathCipher.encrypt(new ByteArrayInputStream(json), new ByteArrayOutputStream()));
+                assertTrue(e.getMessage().endsWith(pointer.getValue()));
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.kms;
+
+import com.google.api.gax.grpc.GrpcStatusCode;
+import com.google.api.gax.rpc.ApiException;
+import com.google.api.gax.rpc.ApiExceptionFactory;
+import com.suryadisoft.cipher.exception.CipherException;
+import com.suryadisoft.cipher.kms.KmsGovernor.Operation;
+import io.grpc.Status;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <code>KmsGovernorTest</code> class is a unit-test for {@link KmsGovernor} implementation class.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+@Execution(ExecutionMode.CONCURRENT)
+class KmsGovernorTest {
+
+    static ApiException apiException(final Status.Code code) {
+        return ApiExceptionFactory.createException(new RuntimeException(code.name()), GrpcStatusCode.of(code), true);
+    }
+
+    /**
+     * Test method for {@link KmsGovernor#call(Operation, java.util.function.Supplier)}.
+     */
+    @Test
+    void testCall() {
+        KmsGovernor governor = new KmsGovernor(new KmsGovernorConfig());
+        assertEquals("response", governor.call(Operation.DECRYPT, () -> "response"));
+        assertEquals(1, governor.metrics(Operation.DECRYPT).completed());
+        assertEquals(0, governor.metrics(Operation.ENCRYPT).completed());
+    }
+
+    /**
+     * Test method for the multiplicative decrease of the concurrency limit.
+     */
+    @Test
+    void testResourceExhausted() {
+        KmsGovernor governor = new KmsGovernor(new KmsGovernorConfig(0, 16, 1, 64, 500, 5000));
+        assertThrows(ApiException.class, () -> governor.call(Operation.DECRYPT, () -> {
+            throw apiException(Status.Code.RESOURCE_EXHAUSTED);
+        }));
+        assertEquals(8, governor.metrics(Operation.DECRYPT).limit());
+        assertEquals(1, governor.metrics(Operation.DECRYPT).overloads());
+        assertThrows(ApiException.class, () -> governor.call(Operation.DECRYPT, () -> {
+            throw apiException(Status.Code.INVALID_ARGUMENT);
+        }));
+        assertEquals(8, governor.metrics(Operation.DECRYPT).limit());
+        assertEquals(16, governor.metrics(Operation.ENCRYPT).limit());
+    }
+
+    /**
+     * Test method for the multiplicative decrease applied once per congestion window.
+     */
+    @Test
+    void testDecreaseOncePerWindow() throws InterruptedException {
+        KmsGovernor governor = new KmsGovernor(new KmsGovernorConfig(0, 16, 1, 64, 20, 5000));
+        CountDownLatch started = new CountDownLatch(8);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> governor.call(Operation.DECRYPT, () -> {
+                started.countDown();
+                try {
+                    started.await();
+                    TimeUnit.MILLISECONDS.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "slow";
+            }));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        // The slow calls were in flight together, so the limit is halved once
+        assertEquals(8, governor.metrics(Operation.DECRYPT).overloads());
+        assertEquals(8, governor.metrics(Operation.DECRYPT).limit());
+        // A slow call sent after the decrease halves the limit again
+        governor.call(Operation.DECRYPT, () -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "slow";
+        });
+        assertEquals(4, governor.metrics(Operation.DECRYPT).limit());
+    }
+
+    /**
+     * Test method for the additive increase of the concurrency limit.
+     */
+    @Test
+    void testAdditiveIncrease() {
+        KmsGovernor governor = new KmsGovernor(new KmsGovernorConfig(0, 2, 1, 3, 500, 5000));
+        for (int i = 0; i < 10; i++) {
+            governor.call(Operation.ENCRYPT, () -> "response");
+        }
+        assertEquals(3, governor.metrics(Operation.ENCRYPT).limit());
+    }
+
+    /**
+     * Test method for the bulkhead queue timeout.
+     */
+    @Test
+    void testBulkhead() throws InterruptedException {
+        KmsGovernor governor = new KmsGovernor(new KmsGovernorConfig(0, 1, 1, 1, 10000, 100));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.submit(() -> governor.call(Operation.DECRYPT, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "slow";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertThrows(CipherException.class, () -> governor.call(Operation.DECRYPT, () -> "blocked"));
+        assertEquals(1, governor.metrics(Operation.DECRYPT).rejected());
+        // A separate bulkhead is used for encryptions
+        assertEquals("response", governor.call(Operation.ENCRYPT, () -> "response"));
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test method for the rate limit.
+     */
+    @Test
+    void testRateLimit() {
+        KmsGovernor governor = new KmsGovernor(new KmsGovernorConfig(1, 16, 1, 64, 500, 100));
+        governor.call(Operation.ENCRYPT, () -> "first");
+        assertThrows(CipherException.class, () -> governor.call(Operation.DECRYPT, () -> "second"));
+    }
+}
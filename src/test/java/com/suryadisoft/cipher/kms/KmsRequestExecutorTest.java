@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.kms;
+
+import com.google.api.gax.rpc.ApiException;
+import com.suryadisoft.cipher.exception.CipherException;
+import com.suryadisoft.cipher.kms.KmsGovernor.Operation;
+import io.grpc.Status;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.suryadisoft.cipher.kms.KmsGovernorTest.apiException;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <code>KmsRequestExecutorTest</code> class is a unit-test for {@link KmsRequestExecutor} implementation class.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+@Execution(ExecutionMode.CONCURRENT)
+class KmsRequestExecutorTest {
+
+    private static KmsRequestExecutor executor(final KmsRequestConfig config) {
+        return new KmsRequestExecutor(config, new KmsGovernor(new KmsGovernorConfig()));
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Test method for retries of transient failures.
+     */
+    @Test
+    void testRetry() {
+        KmsRequestExecutor executor = executor(new KmsRequestConfig(10000, false, 20, 3, 1, 5));
+        AtomicInteger calls = new AtomicInteger();
+        assertEquals("response", executor.call(Operation.DECRYPT, () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw apiException(Status.Code.UNAVAILABLE);
+            }
+            return "response";
+        }));
+        assertEquals(3, calls.get());
+
+        calls.set(0);
+        assertThrows(ApiException.class, () -> executor.call(Operation.DECRYPT, () -> {
+            calls.incrementAndGet();
+            throw apiException(Status.Code.PERMISSION_DENIED);
+        }));
+        assertEquals(1, calls.get());
+    }
+
+    /**
+     * Test method for hedged decryptions.
+     */
+    @Test
+    void testHedging() {
+        KmsRequestExecutor executor = executor(new KmsRequestConfig(10000, true, 20, 0, 1, 5));
+        AtomicInteger calls = new AtomicInteger();
+        long start = System.nanoTime();
+        assertEquals("fast", executor.call(Operation.DECRYPT, () -> {
+            if (calls.incrementAndGet() == 1) {
+                sleep(5000);
+                return "slow";
+            }
+            return "fast";
+        }));
+        assertEquals(2, calls.get());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000);
+
+        // Encryptions are never hedged
+        calls.set(0);
+        assertEquals("response", executor.call(Operation.ENCRYPT, () -> {
+            calls.incrementAndGet();
+            sleep(50);
+            return "response";
+        }));
+        assertEquals(1, calls.get());
+    }
+
+    /**
+     * Test method for the call deadline.
+     */
+    @Test
+    void testDeadline() {
+        KmsRequestExecutor executor = executor(new KmsRequestConfig(100, true, 20, 3, 1, 5));
+        long start = System.nanoTime();
+        assertThrows(CipherException.class, () -> executor.call(Operation.DECRYPT, () -> {
+            sleep(5000);
+            return "slow";
+        }));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000);
+    }
+}
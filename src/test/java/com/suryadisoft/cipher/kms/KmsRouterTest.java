@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.kms;
+
+import com.google.api.gax.rpc.ApiException;
+import com.google.api.gax.rpc.StatusCode;
+import com.google.cloud.kms.v1.CryptoKeyName;
+import io.grpc.Status;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.suryadisoft.cipher.kms.KmsGovernorTest.apiException;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <code>KmsRouterTest</code> class is a unit-test for {@link KmsRouter} implementation class.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+@Execution(ExecutionMode.CONCURRENT)
+class KmsRouterTest {
+
+    private static final KmsEndpoint WEST = new KmsEndpoint(CryptoKeyName.of("project", "us-west2", "ring", "key"), null);
+    private static final KmsEndpoint EAST = new KmsEndpoint(CryptoKeyName.of("project", "us-east1", "ring", "key"), null);
+    private static final List<KmsEndpoint> ENDPOINTS = List.of(WEST, EAST);
+
+    private static String respond(final KmsEndpoint endpoint, final long westLatency) {
+        if (endpoint == WEST) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(westLatency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return endpoint.cryptoKeyName().getLocation();
+    }
+
+    /**
+     * Test method for the latency based location selection.
+     */
+    @Test
+    void testFastestLocation() {
+        KmsRouter router = new KmsRouter(new KmsRequestConfig());
+        assertEquals("us-west2", router.call(ENDPOINTS, endpoint -> respond(endpoint, 20)));
+        // Unmeasured locations are tried first
+        assertEquals("us-east1", router.call(ENDPOINTS, endpoint -> respond(endpoint, 20)));
+        assertEquals("us-east1", router.call(ENDPOINTS, endpoint -> respond(endpoint, 20)));
+        assertEquals(List.of(EAST, WEST), router.route(ENDPOINTS));
+        assertTrue(router.latencyNanos(WEST) > router.latencyNanos(EAST));
+    }
+
+    /**
+     * Test method for the failover and ejection of a failing location.
+     */
+    @Test
+    void testFailover() {
+        KmsRouter router = new KmsRouter(new KmsRequestConfig(10000, true, 20, 3, 50, 2000, 1, 60000));
+        assertEquals("us-east1", router.call(ENDPOINTS, endpoint -> {
+            if (endpoint == WEST) {
+                throw apiException(Status.Code.UNAVAILABLE);
+            }
+            return respond(endpoint, 0);
+        }));
+        assertEquals(EAST, router.route(ENDPOINTS).get(0));
+        assertThrows(ApiException.class, () -> router.call(ENDPOINTS, endpoint -> {
+            throw apiException(Status.Code.UNAVAILABLE);
+        }));
+    }
+
+    /**
+     * Test method for a non transient error thrown without failing over.
+     */
+    @Test
+    void testNoFailover() {
+        KmsRouter router = new KmsRouter(new KmsRequestConfig(10000, true, 20, 3, 50, 2000, 1, 60000));
+        List<KmsEndpoint> called = new ArrayList<>();
+        ApiException e = assertThrows(ApiException.class, () -> router.call(ENDPOINTS, endpoint -> {
+            called.add(endpoint);
+            throw apiException(Status.Code.PERMISSION_DENIED);
+        }));
+        assertEquals(StatusCode.Code.PERMISSION_DENIED, e.getStatusCode().getCode());
+        assertEquals(List.of(WEST), called);
+        assertEquals(List.of(WEST, EAST), router.route(ENDPOINTS));
+    }
+
+    /**
+     * Test method for {@link KmsRouter#call(KmsEndpoint, java.util.function.Function)}.
+     */
+    @Test
+    void testCallEndpoint() {
+        KmsRouter router = new KmsRouter(new KmsRequestConfig(10000, true, 20, 3, 50, 2000, 1, 60000));
+        assertEquals("us-west2", router.call(WEST, endpoint -> respond(endpoint, 20)));
+        assertEquals("us-east1", router.call(ENDPOINTS, endpoint -> respond(endpoint, 20)));
+        assertEquals(EAST, router.route(ENDPOINTS).get(0));
+        assertEquals("us-west2", router.call(WEST, endpoint -> respond(endpoint, 0)));
+        assertThrows(ApiException.class, () -> router.call(WEST, endpoint -> {
+            if (endpoint == WEST) {
+                throw apiException(Status.Code.UNAVAILABLE);
+            }
+            return respond(endpoint, 0);
+        }));
+    }
+
+    /**
+     * Test method for the location state shared by the endpoints of other keys in the same locations.
+     */
+    @Test
+    void testSharedLocations() {
+        KmsRouter router = new KmsRouter(new KmsRequestConfig(10000, true, 20, 3, 50, 2000, 1, 60000));
+        router.call(ENDPOINTS, endpoint -> {
+            if (endpoint == WEST) {
+                throw apiException(Status.Code.UNAVAILABLE);
+            }
+            return respond(endpoint, 0);
+        });
+        KmsEndpoint otherWest = new KmsEndpoint(CryptoKeyName.of("project", "us-west2", "ring", "other"), null);
+        KmsEndpoint otherEast = new KmsEndpoint(CryptoKeyName.of("project", "us-east1", "ring", "other"), null);
+        assertEquals(List.of(otherEast, otherWest), router.route(List.of(otherWest, otherEast)));
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.provider;
+
+import com.suryadisoft.cipher.data.CipherString;
+import com.suryadisoft.cipher.exception.CipherException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.suryadisoft.cipher.provider.TestCiphers.localCipher;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * <code>CipherRouterTest</code> class is a unit-test for {@link CipherRouter} implementation class.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+class CipherRouterTest {
+
+    @Test
+    void testKeyIdHeader() {
+        CipherString cipherText = localCipher(true).encrypt("Hello World".getBytes());
+        assertNotNull(cipherText.keyId());
+        assertTrue(cipherText.keyId().startsWith("L"));
+        assertEquals(cipherText, CipherString.valueOf(cipherText.toString()));
+
+        CipherString untagged = localCipher(false).encrypt("Hello World".getBytes());
+        assertNull(untagged.keyId());
+        assertFalse(untagged.toString().contains(":"));
+        assertEquals(untagged, CipherString.valueOf(untagged.toString()));
+    }
+
+    @Test
+    void testDecrypt() {
+        LocalCipher legacyCipher = spy(localCipher(false));
+        LocalCipher oldCipher = spy(localCipher(true));
+        LocalCipher newCipher = spy(localCipher(true));
+        CipherRouter router = new CipherRouter(newCipher, legacyCipher, List.of(oldCipher));
+
+        CipherString legacyText = legacyCipher.encrypt("legacy".getBytes());
+        CipherString oldText = oldCipher.encrypt("old".getBytes());
+        CipherString newText = router.encrypt("new".getBytes());
+        assertEquals(newCipher.keyId(), newText.keyId());
+
+        assertEquals("legacy", new String(router.decrypt(CipherString.valueOf(legacyText.toString()))));
+        assertEquals("old", new String(router.decrypt(CipherString.valueOf(oldText.toString()))));
+        assertEquals("new", new String(router.decrypt(CipherString.valueOf(newText.toString()))));
+        verify(legacyCipher, times(1)).decrypt(any());
+        verify(oldCipher, times(1)).decrypt(any());
+        verify(newCipher, times(1)).decrypt(any());
+
+        // Every data key is already cached by the provider decrypting it
+        assertEquals(0, router.prewarm(List.of(legacyText, oldText, newText), 1));
+        assertThrows(CipherException.class,
+                () -> router.decrypt(localCipher(true).encrypt("unknown".getBytes())));
+    }
+}
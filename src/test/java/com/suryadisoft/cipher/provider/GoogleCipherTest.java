@@ -12,6 +12,8 @@
  */
 package com.suryadisoft.cipher.provider;
 
+import com.google.api.gax.grpc.GrpcStatusCode;
+import com.google.api.gax.rpc.ApiExceptionFactory;
 import com.google.cloud.kms.v1.CryptoKeyName;
 import com.google.cloud.kms.v1.DecryptResponse;
 import com.google.cloud.kms.v1.EncryptResponse;
@@ -21,13 +23,16 @@ import com.suryadisoft.cipher.CipherImpl;
 import com.suryadisoft.cipher.data.CipherKey;
 import com.suryadisoft.cipher.data.CipherString;
 import com.suryadisoft.cipher.data.GoogleKms;
+import com.suryadisoft.cipher.kms.KmsEndpoint;
 import com.suryadisoft.cipher.util.CipherUtil;
+import io.grpc.Status;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
 
 import java.security.NoSuchAlgorithmException;
+import java.util.List;
 import java.util.Properties;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -74,6 +79,78 @@ class GoogleCipherTest {
         assertEquals("Hello World", new String(plainText));
     }
 
+    @Test
+    void testFailover() {
+        final String dataKey = CipherUtil.generateNewKey("AES");
+        final ByteString plainDataKey = ByteString.copyFromUtf8(dataKey);
+        // Every location produces its own ciphertext and only decrypts its own ciphertexts
+        final ByteString westCipherText = ByteString.copyFromUtf8("west:" + dataKey);
+        final ByteString eastCipherText = ByteString.copyFromUtf8("east:" + dataKey);
+        final KeyManagementServiceClient westClient = mock(KeyManagementServiceClient.class);
+        when(westClient.encrypt(isA(CryptoKeyName.class), isA(ByteString.class)))
+                .thenReturn(EncryptResponse.newBuilder().setCiphertext(westCipherText).build());
+        when(westClient.decrypt(isA(CryptoKeyName.class), isA(ByteString.class)))
+                .thenThrow(ApiExceptionFactory.createException(new RuntimeException(), GrpcStatusCode.of(Status.Code.UNAVAILABLE), true));
+        final KeyManagementServiceClient eastClient = mock(KeyManagementServiceClient.class);
+        when(eastClient.encrypt(isA(CryptoKeyName.class), isA(ByteString.class)))
+                .thenReturn(EncryptResponse.newBuilder().setCiphertext(eastCipherText).build());
+        when(eastClient.decrypt(isA(CryptoKeyName.class), isA(ByteString.class)))
+                .thenThrow(ApiExceptionFactory.createException(new RuntimeException(), GrpcStatusCode.of(Status.Code.INVALID_ARGUMENT), false));
+        doReturn(DecryptResponse.newBuilder().setPlaintext(plainDataKey).build())
+                .when(eastClient).decrypt(isA(CryptoKeyName.class), eq(eastCipherText));
+        final Properties properties = new Properties();
+        properties.setProperty("gcpProjectId", "project");
+        properties.setProperty("gcpLocationId", "us-west2,us-east1");
+        properties.setProperty("gcpKeyRingId", "ring");
+        properties.setProperty("gcpKeyId", "key");
+        final GoogleKms googleKms = GoogleKms.valueOf(properties);
+        final GoogleCipher multiLocationCipher = new GoogleCipher(new CipherImpl(), List.of(
+                new KmsEndpoint(googleKms.cryptoKeyNames().get(0), westClient),
+                new KmsEndpoint(googleKms.cryptoKeyNames().get(1), eastClient)), properties);
+        multiLocationCipher.setDataKey(CipherKey.valueOf(dataKey));
+
+        CipherString encrypted = multiLocationCipher.encrypt("Hello World".getBytes());
+        // Data keys are wrapped by every location
+        verify(westClient).encrypt(isA(CryptoKeyName.class), isA(ByteString.class));
+        verify(eastClient).encrypt(isA(CryptoKeyName.class), isA(ByteString.class));
+        assertEquals(2, encrypted.base64DataKey().split("\\.").length);
+        assertEquals("Hello World", new String(multiLocationCipher.decrypt(encrypted)));
+        // The east location unwraps its own wrapped key, the failing west location is never called twice
+        verify(eastClient).decrypt(isA(CryptoKeyName.class), eq(eastCipherText));
+        verify(westClient, atMost(1)).decrypt(isA(CryptoKeyName.class), isA(ByteString.class));
+    }
+
+    @Test
+    void testPartialWrap() {
+        final String dataKey = CipherUtil.generateNewKey("AES");
+        final ByteString westCipherText = ByteString.copyFromUtf8("west:" + dataKey);
+        final KeyManagementServiceClient westClient = mock(KeyManagementServiceClient.class);
+        when(westClient.encrypt(isA(CryptoKeyName.class), isA(ByteString.class)))
+                .thenReturn(EncryptResponse.newBuilder().setCiphertext(westCipherText).build());
+        when(westClient.decrypt(isA(CryptoKeyName.class), eq(westCipherText)))
+                .thenReturn(DecryptResponse.newBuilder().setPlaintext(ByteString.copyFromUtf8(dataKey)).build());
+        final KeyManagementServiceClient eastClient = mock(KeyManagementServiceClient.class);
+        when(eastClient.encrypt(isA(CryptoKeyName.class), isA(ByteString.class)))
+                .thenThrow(ApiExceptionFactory.createException(new RuntimeException(), GrpcStatusCode.of(Status.Code.UNAVAILABLE), true));
+        final Properties properties = new Properties();
+        properties.setProperty("gcpProjectId", "project");
+        properties.setProperty("gcpLocationId", "us-west2,us-east1");
+        properties.setProperty("gcpKeyRingId", "ring");
+        properties.setProperty("gcpKeyId", "key");
+        properties.setProperty("kmsMaxRetries", "0");
+        final GoogleKms googleKms = GoogleKms.valueOf(properties);
+        final GoogleCipher multiLocationCipher = new GoogleCipher(new CipherImpl(), List.of(
+                new KmsEndpoint(googleKms.cryptoKeyNames().get(0), westClient),
+                new KmsEndpoint(googleKms.cryptoKeyNames().get(1), eastClient)), properties);
+        multiLocationCipher.setDataKey(CipherKey.valueOf(dataKey));
+
+        // The failing east location leaves its slot empty and is never asked to unwrap
+        CipherString encrypted = multiLocationCipher.encrypt("Hello World".getBytes());
+        assertTrue(encrypted.base64DataKey().endsWith("."));
+        assertEquals("Hello World", new String(multiLocationCipher.decrypt(encrypted)));
+        verify(eastClient, never()).decrypt(isA(CryptoKeyName.class), isA(ByteString.class));
+    }
+
     @Test
     void testHash() throws NoSuchAlgorithmException {
         String salt = CipherUtil.generateNewSalt();
@@ -63,11 +63,12 @@ class LocalCipherTest {
         byte[] plainText = localCipher.decrypt(cipherText);
         assertNotNull(plainText);
         assertEquals("Hello World", new String(plainText));
-        verify(cipher, times(2)).decrypt(isA(CipherData.class));
+        // The data key is unwrapped by the key wrapper, so only the text is decrypted by the cipher
+        verify(cipher, times(1)).decrypt(isA(CipherData.class), isNull());
         plainText = localCipher.decrypt(cipherText);
         assertNotNull(plainText);
         assertEquals("Hello World", new String(plainText));
-        verify(cipher, times(3)).decrypt(isA(CipherData.class));
+        verify(cipher, times(2)).decrypt(isA(CipherData.class), isNull());
     }
 
     @Test
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.provider;
+
+import com.suryadisoft.cipher.CipherImpl;
+import com.suryadisoft.cipher.util.CipherUtil;
+
+import java.util.Properties;
+
+/**
+ * <code>TestCiphers</code> class creates the {@link LocalCipher} fixtures shared by the unit-tests.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public final class TestCiphers {
+
+    private TestCiphers() {
+    }
+
+    /**
+     * Creates the properties of a local kms with a new master key.
+     *
+     * @param keyIdHeader <code>true</code> to tag the cipher texts with the master key id
+     * @return {@link Properties} configuration
+     */
+    public static Properties properties(final boolean keyIdHeader) {
+        final Properties properties = new Properties();
+        properties.setProperty("masterKey", CipherUtil.generateNewKey("AES"));
+        properties.setProperty("keyIdHeader", String.valueOf(keyIdHeader));
+        return properties;
+    }
+
+    /**
+     * Creates a local kms with a new master key.
+     *
+     * @param keyIdHeader <code>true</code> to tag the cipher texts with the master key id
+     * @return {@link LocalCipher} instance
+     */
+    public static LocalCipher localCipher(final boolean keyIdHeader) {
+        return new LocalCipher(new CipherImpl(), properties(keyIdHeader));
+    }
+}
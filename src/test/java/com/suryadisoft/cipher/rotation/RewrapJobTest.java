@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.rotation;
+
+import com.suryadisoft.cipher.data.CipherString;
+import com.suryadisoft.cipher.exception.CipherException;
+import com.suryadisoft.cipher.provider.CipherProvider;
+import com.suryadisoft.cipher.provider.LocalCipher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static com.suryadisoft.cipher.provider.TestCiphers.localCipher;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * <code>RewrapJobTest</code> class is a unit-test for {@link RewrapJob} implementation class.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+class RewrapJobTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRewrap() {
+        final LocalCipher sourceCipher = localCipher(true);
+        final LocalCipher targetCipher = localCipher(true);
+        final CipherString cipherText = sourceCipher.encrypt("Hello World".getBytes());
+        final List<String> cipherTexts = List.of(cipherText.toString(), "", cipherText.toString(),
+                sourceCipher.encrypt("Bye World".getBytes()).toString());
+
+        final List<String> output = new ArrayList<>();
+        try (RewrapJob rewrapJob = new RewrapJob(sourceCipher, targetCipher, new RewrapConfig(2, 3, 10))) {
+            assertEquals(4, rewrapJob.rewrap(cipherTexts.iterator(), output::add));
+            assertEquals(2, rewrapJob.dataKeyCount());
+        }
+        assertEquals(4, output.size());
+        assertEquals("", output.get(1));
+        final CipherString rewrapped = CipherString.valueOf(output.get(0));
+        assertEquals(cipherText.base64CipherText(), rewrapped.base64CipherText());
+        assertEquals(targetCipher.keyId(), rewrapped.keyId());
+        assertEquals("Hello World", new String(targetCipher.decrypt(rewrapped)));
+        assertEquals("Bye World", new String(targetCipher.decrypt(CipherString.valueOf(output.get(3)))));
+        assertThrows(RuntimeException.class, () -> sourceCipher.decrypt(rewrapped));
+    }
+
+    @Test
+    void testResume() throws IOException {
+        final LocalCipher sourceCipher = localCipher(true);
+        final LocalCipher targetCipher = localCipher(true);
+        final Path inputFile = this.tempDir.resolve("input.txt");
+        final Path outputFile = this.tempDir.resolve("output.txt");
+        final Path checkpointFile = this.tempDir.resolve("rewrap.checkpoint");
+        Files.write(inputFile, IntStream.range(0, 6)
+                .mapToObj(i -> sourceCipher.encrypt(("text" + i).getBytes()).toString()).toList());
+
+        // Fail the 4th data key, after the 1st batch is checkpointed
+        final CipherProvider failingCipher = spy(targetCipher);
+        final AtomicInteger wraps = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (wraps.incrementAndGet() == 4) {
+                throw new CipherException("KMS unavailable");
+            }
+            return invocation.callRealMethod();
+        }).when(failingCipher).wrap(any(), any());
+        try (RewrapJob rewrapJob = new RewrapJob(sourceCipher, failingCipher, new RewrapConfig(1, 2, 10))) {
+            assertThrows(CipherException.class, () -> rewrapJob.rewrap(inputFile, outputFile, checkpointFile));
+        }
+        assertTrue(Files.exists(checkpointFile));
+
+        try (RewrapJob rewrapJob = new RewrapJob(sourceCipher, targetCipher, new RewrapConfig(1, 2, 10))) {
+            assertEquals(4, rewrapJob.rewrap(inputFile, outputFile, checkpointFile));
+        }
+        assertFalse(Files.exists(checkpointFile));
+        final List<String> output = Files.readAllLines(outputFile, StandardCharsets.US_ASCII);
+        assertEquals(6, output.size());
+        for (int i = 0; i < output.size(); i++) {
+            assertEquals("text" + i, new String(targetCipher.decrypt(CipherString.valueOf(output.get(i)))));
+        }
+    }
+}
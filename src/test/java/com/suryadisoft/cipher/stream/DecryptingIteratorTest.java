@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.stream;
+
+import com.suryadisoft.cipher.exception.CipherException;
+import com.suryadisoft.cipher.util.CipherUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <code>DecryptingIteratorTest</code> class is a unit-test for {@link DecryptingIterator} class.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+class DecryptingIteratorTest {
+
+    @Test
+    void testDecryptAll() {
+        final CipherUtil cipherUtil = CipherUtil.getNewInstance();
+        final List<String> plainTexts = IntStream.range(0, 1000).mapToObj(i -> "Hello World " + i).toList();
+        final List<String> cipherTexts = new ArrayList<>(plainTexts.stream().map(cipherUtil::encrypt).toList());
+        cipherTexts.add(null);
+
+        final List<String> decrypted = new ArrayList<>();
+        try (DecryptingIterator iterator = cipherUtil.decryptAll(cipherTexts.iterator())) {
+            iterator.forEachRemaining(plainText -> decrypted.add(plainText == null ? null : new String(plainText)));
+        }
+        assertEquals(1001, decrypted.size());
+        assertEquals(plainTexts, decrypted.subList(0, 1000));
+        assertNull(decrypted.get(1000));
+
+        try (Stream<byte[]> stream = cipherUtil.decryptAll(cipherTexts.stream().limit(1000))) {
+            assertEquals(plainTexts, stream.map(String::new).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void testLookahead() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(4);
+        final AtomicInteger decryptions = new AtomicInteger();
+        final Function<String, byte[]> decryptor = cipherText -> {
+            decryptions.incrementAndGet();
+            started.countDown();
+            return cipherText.getBytes();
+        };
+        final List<String> cipherTexts = IntStream.range(0, 100).mapToObj(i -> "abcdefghij").toList();
+        try (DecryptingIterator iterator = new DecryptingIterator(cipherTexts.iterator(), decryptor,
+                new PrefetchConfig(4, 2, 1000))) {
+            assertTrue(iterator.hasNext());
+            // The first cipher texts are decrypted before they are consumed, the look-ahead bounds how many
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertEquals(4, decryptions.get());
+            assertArrayEquals("abcdefghij".getBytes(), iterator.next());
+        }
+        final AtomicInteger read = new AtomicInteger();
+        final Iterator<String> source = cipherTexts.stream().peek(cipherText -> read.incrementAndGet()).iterator();
+        try (DecryptingIterator iterator = new DecryptingIterator(source, String::getBytes,
+                new PrefetchConfig(100, 2, 25))) {
+            assertTrue(iterator.hasNext());
+            // 3 cipher texts of 10 characters reach the 25 bytes limit
+            assertEquals(3, read.get());
+            iterator.next();
+            assertEquals(4, read.get());
+        }
+    }
+
+    @Test
+    void testDecryptError() {
+        final List<String> cipherTexts = List.of("a", "b", "c");
+        try (DecryptingIterator iterator = new DecryptingIterator(cipherTexts.iterator(), cipherText -> {
+            if (cipherText.equals("b")) {
+                throw new IllegalStateException("Invalid cipher text");
+            }
+            return cipherText.getBytes();
+        }, new PrefetchConfig())) {
+            assertArrayEquals("a".getBytes(), iterator.next());
+            assertThrows(CipherException.class, iterator::next);
+            assertArrayEquals("c".getBytes(), iterator.next());
+            assertFalse(iterator.hasNext());
+        }
+    }
+}
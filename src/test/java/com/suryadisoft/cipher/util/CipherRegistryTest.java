@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2025, Suryadisoft, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the Apache License version 2.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the Apache License version 2 for
+ * more details (a copy is included in the LICENSE file that accompanied this code).
+ */
+package com.suryadisoft.cipher.util;
+
+import com.suryadisoft.cipher.cache.CipherCache;
+import com.suryadisoft.cipher.data.CipherConfig;
+import com.suryadisoft.cipher.exception.CipherException;
+import com.suryadisoft.cipher.provider.CipherProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <code>CipherRegistryTest</code> class is a unit-test for {@link CipherRegistry} implementation class.
+ *
+ * @author Edward Suryadi
+ * @since May 2025
+ */
+public class CipherRegistryTest {
+
+    private static Properties tenantProperties() {
+        final Properties properties = new Properties();
+        properties.setProperty("masterKey", CipherUtil.generateNewKey(new CipherConfig().algorithm()));
+        return properties;
+    }
+
+    @Test
+    void testGetInstance() {
+        final CipherRegistry registry = new CipherRegistry(new Properties());
+        final CipherUtil tenant1 = registry.getInstance("tenant1", CipherProvider.Type.LOCAL, tenantProperties());
+        final CipherUtil tenant2 = registry.getInstance("tenant2", CipherProvider.Type.LOCAL, tenantProperties());
+        assertSame(tenant1, registry.getInstance("tenant1", CipherProvider.Type.LOCAL, tenantProperties()));
+        assertSame(tenant2, registry.getInstance("tenant2"));
+        assertNotSame(tenant1, tenant2);
+        assertEquals(2, registry.size());
+
+        final String cipherText = tenant1.encrypt("Hello World");
+        assertEquals("Hello World", new String(tenant1.decrypt(cipherText)));
+        assertThrows(RuntimeException.class, () -> tenant2.decrypt(cipherText));
+
+        registry.remove("tenant1");
+        assertNull(registry.getInstance("tenant1"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void testFairShare() {
+        final Properties properties = new Properties();
+        properties.setProperty("registryMaximumSize", "1000");
+        properties.setProperty("registryMinimumSize", "100");
+        properties.setProperty("concurrencyLevel", "1");
+        final CipherRegistry registry = new CipherRegistry(properties);
+        final CipherUtil tenant1 = registry.getInstance("tenant1", CipherProvider.Type.LOCAL, tenantProperties());
+        assertEquals(1000, registry.getTenantMaximumSize());
+        assertEquals(1000, tenant1.getCipherProvider().getCipherCache().getCacheConfig().maximumSize());
+
+        final CipherUtil tenant2 = registry.getInstance("tenant2", CipherProvider.Type.LOCAL, tenantProperties());
+        registry.getInstance("tenant3", CipherProvider.Type.LOCAL, tenantProperties());
+        registry.getInstance("tenant4", CipherProvider.Type.LOCAL, tenantProperties());
+        assertEquals(250, registry.getTenantMaximumSize());
+
+        // An idle registry lets a tenant go beyond its fair share
+        decrypt(tenant1, 300);
+        final CipherCache tenant1Cache = tenant1.getCipherProvider().getCipherCache();
+        assertEquals(300, tenant1Cache.size());
+        assertEquals(300, registry.getCipherCache().size());
+
+        // The data keys beyond a fair share weigh more, so the registry never holds more than its maximum size
+        decrypt(tenant2, 800);
+        final CipherCache tenant2Cache = tenant2.getCipherProvider().getCipherCache();
+        assertTrue(tenant2Cache.size() < 800);
+        assertTrue(registry.getCipherCache().size() <= 1000);
+        assertEquals(registry.getCipherCache().size(), tenant1Cache.size() + tenant2Cache.size());
+        assertEquals(800, tenant2Cache.stats().missCount());
+        assertEquals(300, tenant1Cache.stats().missCount());
+
+        for (int i = 5; i <= 20; i++) {
+            registry.getInstance("tenant" + i, CipherProvider.Type.LOCAL, tenantProperties());
+        }
+        assertEquals(100, registry.getTenantMaximumSize());
+    }
+
+    @Test
+    void testSharedCache() {
+        final CipherRegistry registry = new CipherRegistry(new Properties());
+        final CipherUtil tenant1 = registry.getInstance("tenant1", CipherProvider.Type.LOCAL, tenantProperties());
+        final CipherUtil tenant2 = registry.getInstance("tenant2", CipherProvider.Type.LOCAL, tenantProperties());
+        final String cipherText = tenant1.encrypt("Hello World");
+        assertEquals("Hello World", new String(tenant1.decrypt(cipherText)));
+        assertThrows(RuntimeException.class, () -> tenant2.decrypt(cipherText));
+        assertEquals("Hello World", new String(tenant1.decrypt(cipherText)));
+        assertEquals(1, tenant1.getCipherProvider().getCipherCache().stats().hitCount());
+        assertEquals(0, tenant2.getCipherProvider().getCipherCache().size());
+        assertEquals(1, registry.getCipherCache().size());
+    }
+
+    @Test
+    void testRegistryProperties() {
+        final Properties properties = new Properties();
+        properties.setProperty("maximumWeightBytes", "65536");
+        final CipherRegistry registry = new CipherRegistry(properties);
+        assertEquals(65536, registry.getCipherCache().getCacheConfig().maximumWeightBytes());
+
+        final Properties weightProperties = tenantProperties();
+        weightProperties.setProperty("maximumWeightBytes", "4096");
+        assertThrows(CipherException.class,
+                () -> registry.getInstance("tenant1", CipherProvider.Type.LOCAL, weightProperties));
+        final Properties kmsProperties = tenantProperties();
+        kmsProperties.setProperty("kmsRateLimit", "100");
+        assertThrows(CipherException.class,
+                () -> registry.getInstance("tenant1", CipherProvider.Type.LOCAL, kmsProperties));
+        final Properties autoTuneProperties = tenantProperties();
+        autoTuneProperties.setProperty("autoTune", "true");
+        assertThrows(CipherException.class,
+                () -> registry.getInstance("tenant1", CipherProvider.Type.LOCAL, autoTuneProperties));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void testRemove(@TempDir final Path tempDir) {
+        final Properties properties = new Properties();
+        properties.setProperty("registryMaximumSize", "1000");
+        properties.setProperty("registryMinimumSize", "100");
+        final CipherRegistry registry = new CipherRegistry(properties);
+        final Properties warmupProperties = tenantProperties();
+        warmupProperties.setProperty("warmupFile", tempDir.resolve("tenant1-warmup.txt").toString());
+        final CipherUtil tenant1 = registry.getInstance("tenant1", CipherProvider.Type.LOCAL, warmupProperties);
+        assertEquals("Hello World", new String(tenant1.decrypt(tenant1.encrypt("Hello World"))));
+        for (int i = 2; i <= 20; i++) {
+            registry.getInstance("tenant" + i, CipherProvider.Type.LOCAL, tenantProperties());
+        }
+        assertEquals(100, registry.getTenantMaximumSize());
+        final CipherUtil tenant2 = registry.getInstance("tenant2");
+        decrypt(tenant2, 10);
+        assertEquals(11, registry.getCipherCache().size());
+
+        // Closing the removed tenant writes its warmup file and drops its data keys
+        registry.remove("tenant1");
+        assertTrue(Files.exists(tempDir.resolve("tenant1-warmup.txt")));
+        assertEquals(10, registry.getCipherCache().size());
+
+        for (int i = 3; i <= 18; i++) {
+            registry.remove("tenant" + i);
+        }
+        assertEquals(3, registry.size());
+        assertEquals(250, registry.getTenantMaximumSize());
+        assertEquals(10, tenant2.getCipherProvider().getCipherCache().size());
+    }
+
+    private static void decrypt(final CipherUtil cipherUtil, final int count) {
+        for (int i = 0; i < count; i++) {
+            assertEquals("Hello World " + i, new String(cipherUtil.decrypt(cipherUtil.encrypt("Hello World " + i))));
+        }
+    }
+}
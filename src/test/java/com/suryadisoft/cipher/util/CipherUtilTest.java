@@ -12,13 +12,26 @@
  */
 package com.suryadisoft.cipher.util;
 
+import com.suryadisoft.cipher.CipherImpl;
+import com.suryadisoft.cipher.data.CipherString;
+import com.suryadisoft.cipher.provider.LocalCipher;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Properties;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 /**
  * <code>CipherUtilTest</code> class is a unit-test for {@link CipherUtil} implementation class.
@@ -55,4 +68,35 @@ public class CipherUtilTest {
         assertEquals(hash1, hash2);
         assertNotEquals(hash1, hash3);
     }
+
+    @Test
+    void testHashAll(@TempDir final Path tempDir) throws IOException, NoSuchAlgorithmException {
+        String salt = CipherUtil.generateNewSalt();
+        CipherUtil cipherUtil = CipherUtil.getInstance();
+        String hash = cipherUtil.hash("Hello World", salt);
+        assertEquals(List.of(hash, cipherUtil.hash("Hello", salt)), cipherUtil.hashAll(List.of("Hello World", "Hello"), salt));
+
+        byte[] bytes = "Hello World".getBytes(StandardCharsets.UTF_8);
+        assertEquals(hash, cipherUtil.hash(ByteBuffer.wrap(bytes), salt));
+        assertEquals(hash, cipherUtil.hash(Files.write(tempDir.resolve("hello.txt"), bytes), salt));
+    }
+
+    @Test
+    void testDecryptCached() {
+        Properties properties = new Properties();
+        properties.setProperty("masterKey", CipherUtil.generateNewKey("AES"));
+        properties.setProperty("plainTextCacheSize", "100");
+        LocalCipher cipherProvider = spy(new LocalCipher(new CipherImpl(), properties));
+        CipherUtil cipherUtil = CipherUtil.getNewInstance(cipherProvider, properties);
+        String cipherText = cipherUtil.encrypt("Hello World");
+        assertEquals("Hello World", new String(cipherUtil.decrypt(cipherText)));
+        assertEquals("Hello World", new String(cipherUtil.decrypt(cipherText)));
+        verify(cipherProvider, times(1)).decrypt(any(CipherString.class));
+
+        // Bypasses the plain text cache
+        assertEquals("Hello World", new String(cipherUtil.decrypt(cipherText, false)));
+        assertEquals("Hello World", new String(cipherUtil.decrypt(cipherText, false)));
+        verify(cipherProvider, times(3)).decrypt(any(CipherString.class));
+        assertNull(cipherUtil.decrypt(null));
+    }
 }